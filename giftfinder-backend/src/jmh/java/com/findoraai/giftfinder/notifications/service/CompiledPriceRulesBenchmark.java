@@ -0,0 +1,65 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk evaluation throughput of {@link CompiledPriceRules}. One operation evaluates
+ * {@code ruleCount} rules, so with the default parameter the score reads as million-rule
+ * evaluations per second.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=CompiledPriceRulesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledPriceRulesBenchmark {
+
+    @Param({"1000000"})
+    private int ruleCount;
+
+    @Param({"4"})
+    private int rulesPerProduct;
+
+    private CompiledPriceRules rules;
+    private int[] triggered;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int productCount = ruleCount / rulesPerProduct;
+        PriceAlertRule.RuleType[] types = PriceAlertRule.RuleType.values();
+
+        rules = new CompiledPriceRules(productCount, ruleCount);
+        for (int p = 0; p < productCount; p++) {
+            long previous = 1_000 + random.nextLong(1_000_000);
+            // Most prices are unchanged, a few move either way
+            long current = random.nextInt(10) == 0 ? previous * (80 + random.nextInt(40)) / 100 : previous;
+            long lowest = previous * (70 + random.nextInt(30)) / 100;
+            boolean wasAvailable = random.nextInt(50) != 0;
+            int slot = rules.addProduct(previous, current, lowest, wasAvailable, true);
+
+            for (int r = 0; r < rulesPerProduct; r++) {
+                PriceAlertRule.RuleType type = types[random.nextInt(types.length)];
+                long param = switch (type) {
+                    case PERCENT_DROP -> 500 + random.nextInt(1_500);
+                    case TARGET_PRICE -> previous * (75 + random.nextInt(20)) / 100;
+                    default -> 0L;
+                };
+                rules.addRule(slot, (byte) type.ordinal(), param);
+            }
+        }
+        triggered = new int[rules.ruleCount()];
+    }
+
+    @Benchmark
+    public int evaluate() {
+        return rules.evaluate(triggered);
+    }
+}
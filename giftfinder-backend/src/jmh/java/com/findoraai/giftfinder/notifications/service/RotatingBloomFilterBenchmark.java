@@ -0,0 +1,81 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of the {@link RotatingBloomFilter} behind {@link NotificationDedupFilter}, with
+ * {@code entryCount} notifications spread over the 24-hour window in buckets of
+ * {@code bucketHours}. A lookup checks every live bucket, so fewer, larger buckets answer faster
+ * at the cost of keeping expired entries up to one bucket longer. The setup prints the filter's
+ * memory and measured false positive rate.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=RotatingBloomFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RotatingBloomFilterBenchmark {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int KEY_MASK = 1023;
+
+    @Param({"10000000"})
+    private int entryCount;
+
+    @Param({"1", "6"})
+    private int bucketHours;
+
+    private RotatingBloomFilter filter;
+    private long now;
+    private String[] presentKeys;
+    private String[] absentKeys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        now = System.currentTimeMillis();
+        long bucketMillis = bucketHours * HOUR_MILLIS;
+        filter = new RotatingBloomFilter(bucketMillis, DAY_MILLIS + bucketMillis, entryCount / 24 * bucketHours, 0.01);
+        for (int i = 0; i < entryCount; i++) {
+            filter.add(key(i), now - DAY_MILLIS + (long) i * DAY_MILLIS / entryCount, now);
+        }
+
+        presentKeys = new String[KEY_MASK + 1];
+        absentKeys = new String[KEY_MASK + 1];
+        for (int i = 0; i <= KEY_MASK; i++) {
+            presentKeys[i] = key((int) ((long) i * entryCount / (KEY_MASK + 1)));
+            absentKeys[i] = key(entryCount + i);
+        }
+
+        int probes = 1_000_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(key(entryCount + i), now)) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%n%,d entries in %,d KiB (%.1f bits each), false positive rate %.4f%n",
+            filter.entryCount(), filter.memoryBytes() / 1024, filter.memoryBytes() * 8.0 / entryCount,
+            (double) falsePositives / probes);
+    }
+
+    @Benchmark
+    public boolean absentKey() {
+        return filter.mightContain(absentKeys[next++ & KEY_MASK], now);
+    }
+
+    @Benchmark
+    public boolean presentKey() {
+        return filter.mightContain(presentKeys[next++ & KEY_MASK], now);
+    }
+
+    private static String key(int i) {
+        return (i % 100_000) + "|REMINDER|" + i + "|EMAIL";
+    }
+}
@@ -0,0 +1,94 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one email with {@link TemplateService} against the string replacement it replaced,
+ * kept below (without its logging) as {@link #legacyProcessTemplate}.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=TemplateServiceBenchmark -Pjmh.profilers=gc} to
+ * compare the garbage per email as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateServiceBenchmark {
+
+    @Param({"reminder-email", "price-drop-email"})
+    private String templateName;
+
+    private TemplateService templateService;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setUp() {
+        templateService = new TemplateService(false, Duration.ofSeconds(2));
+        data = new HashMap<>();
+        data.put("userName", "Alex");
+        data.put("appUrl", "http://localhost:5173");
+        if (templateName.equals("reminder-email")) {
+            data.put("eventName", "Mum's Birthday");
+            data.put("eventDate", "November 03, 2026");
+            data.put("daysUntil", 7);
+            data.put("recipientName", "Mum");
+        } else {
+            data.put("headline", "Price Drop Alert");
+            data.put("summary", "Great news! A product you've been watching has dropped in price by 25.0%.");
+            data.put("productTitle", "Wireless Headphones <Noise Cancelling>");
+            data.put("productUrl", "https://example.com/p/123?ref=gf&utm=mail");
+            data.put("productImageUrl", "https://example.com/img/123.jpg");
+            data.put("oldPrice", "199.99");
+            data.put("newPrice", "149.99");
+            data.put("currency", "USD");
+            data.put("dropPercentage", "25.0");
+            data.put("savingsAmount", "50.00");
+        }
+    }
+
+    @Benchmark
+    public String compiled() {
+        return templateService.processTemplate(templateName, data);
+    }
+
+    @Benchmark
+    public String legacy() throws IOException {
+        return legacyProcessTemplate(templateName, data);
+    }
+
+    private static String legacyProcessTemplate(String templateName, Map<String, Object> data) throws IOException {
+        ClassPathResource resource = new ClassPathResource("templates/email/" + templateName + ".html");
+        String result = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue() != null ? entry.getValue().toString() : "";
+            result = result.replace("{{" + key + "}}", value);
+            String conditionalStart = "{{#" + key + "}}";
+            String conditionalEnd = "{{/" + key + "}}";
+            if (entry.getValue() != null && !value.isEmpty()) {
+                result = result.replace(conditionalStart, "");
+                result = result.replace(conditionalEnd, "");
+            } else {
+                int startIdx = result.indexOf(conditionalStart);
+                while (startIdx != -1) {
+                    int endIdx = result.indexOf(conditionalEnd, startIdx);
+                    if (endIdx == -1) break;
+                    result = result.substring(0, startIdx) + result.substring(endIdx + conditionalEnd.length());
+                    startIdx = result.indexOf(conditionalStart);
+                }
+            }
+        }
+        return result.replaceAll("\\{\\{[^}]+\\}\\}", "");
+    }
+}
@@ -1,14 +1,42 @@
 package com.findoraai.giftfinder.admin.controller;
 
+import com.findoraai.giftfinder.admin.dto.ChannelStatusResponse;
+import com.findoraai.giftfinder.admin.dto.DedupFilterResponse;
+import com.findoraai.giftfinder.admin.dto.EventConsumerStatusResponse;
+import com.findoraai.giftfinder.admin.dto.JobCheckpointResponse;
+import com.findoraai.giftfinder.admin.dto.JobRunResponse;
+import com.findoraai.giftfinder.admin.dto.JobRuntimeResponse;
 import com.findoraai.giftfinder.admin.dto.JobStatusResponse;
+import com.findoraai.giftfinder.admin.dto.LeaderLeaseResponse;
+import com.findoraai.giftfinder.admin.dto.OutboxMessageResponse;
+import com.findoraai.giftfinder.admin.dto.PreferenceCacheResponse;
+import com.findoraai.giftfinder.admin.dto.PushHubResponse;
 import com.findoraai.giftfinder.admin.dto.ReminderQueueResponse;
+import com.findoraai.giftfinder.admin.dto.SmtpPoolResponse;
+import com.findoraai.giftfinder.notifications.channel.ChannelDispatcher;
+import com.findoraai.giftfinder.notifications.model.EventConsumerOffset;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
 import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.push.PushHub;
 import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import com.findoraai.giftfinder.notifications.service.NotificationDedupFilter;
+import com.findoraai.giftfinder.notifications.service.NotificationOutboxService;
+import com.findoraai.giftfinder.notifications.service.NotificationPreferencesCache;
+import com.findoraai.giftfinder.notifications.service.PriceChangeEventService;
+import com.findoraai.giftfinder.notifications.service.SmtpConnectionPool;
+import com.findoraai.giftfinder.scheduler.CheckpointedJobRunner;
+import com.findoraai.giftfinder.scheduler.JobRuntime;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import com.findoraai.giftfinder.scheduler.repository.JobCheckpointRepository;
+import com.findoraai.giftfinder.scheduler.repository.JobRunRepository;
+import com.findoraai.giftfinder.scheduler.repository.LeaderLeaseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -21,16 +49,117 @@ import java.util.stream.Collectors;
 public class AdminController {
 
     private final ReminderRepository reminderRepository;
+    private final PriceChangeEventService priceChangeEventService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationPreferencesCache preferencesCache;
+    private final NotificationDedupFilter dedupFilter;
+    private final SmtpConnectionPool smtpConnectionPool;
+    private final ChannelDispatcher channelDispatcher;
+    private final PushHub pushHub;
+    private final CheckpointedJobRunner jobRunner;
+    private final JobRuntime jobRuntime;
+    private final JobRunRepository jobRunRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final LeaderLeaseRepository leaderLeaseRepository;
 
     @GetMapping("/job-status")
-    public ResponseEntity<Map<String, String>> getJobStatus() {
-        // Simple status endpoint - in production, track actual job executions
-        return ResponseEntity.ok(Map.of(
-            "reminderGenerationJob", "Active",
-            "reminderSendJob", "Active",
-            "priceCheckJob", "Active",
-            "schedulerStatus", "Running"
-        ));
+    public ResponseEntity<List<JobStatusResponse>> getJobStatus() {
+        List<JobStatusResponse> statuses = jobRunner.jobNames().stream()
+            .map(jobName -> jobRunRepository.findFirstByJobNameOrderByStartedAtDesc(jobName)
+                .map(run -> new JobStatusResponse(
+                    jobName,
+                    run.getStatus().name(),
+                    run.getProcessedCount(),
+                    run.getSuccessCount(),
+                    run.getFailureCount(),
+                    run.getStartedAt(),
+                    run.getFinishedAt() != null
+                        ? Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis() : null
+                ))
+                .orElse(new JobStatusResponse(jobName, "NEVER_RUN", 0L, 0L, 0L, null, null)))
+            .collect(Collectors.toList());
+
+        return ResponseEntity.ok(statuses);
+    }
+
+    @GetMapping("/job-runtime")
+    public ResponseEntity<List<JobRuntimeResponse>> getJobRuntime() {
+        return ResponseEntity.ok(jobRuntime.getStats().stream()
+            .map(stats -> new JobRuntimeResponse(
+                stats.jobName(),
+                stats.settings().overlap().name(),
+                stats.settings().misfire().name(),
+                stats.settings().maxConcurrent(),
+                stats.settings().virtualThreads(),
+                stats.running(),
+                stats.queued(),
+                stats.triggered(),
+                stats.completed(),
+                stats.failed(),
+                stats.skippedOverlap(),
+                stats.skippedMisfire(),
+                stats.ranLate(),
+                stats.timedOut(),
+                stats.lastQueueWaitMs(),
+                stats.lastRunMs(),
+                stats.avgQueueWaitMs(),
+                stats.avgRunMs(),
+                stats.lastStartedAt(),
+                stats.lastFinishedAt()
+            ))
+            .collect(Collectors.toList()));
+    }
+
+    @PostMapping("/jobs/{jobName}/cancel")
+    public ResponseEntity<Map<String, Integer>> cancelJob(@PathVariable String jobName) {
+        return ResponseEntity.ok(Map.of("interrupted", jobRuntime.cancel(jobName)));
+    }
+
+    @GetMapping("/job-runs")
+    public ResponseEntity<List<JobRunResponse>> getJobRuns(
+            @RequestParam(required = false) String jobName,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, 200)));
+        List<JobRun> runs = jobName != null
+            ? jobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, page)
+            : jobRunRepository.findAllByOrderByStartedAtDesc(page);
+
+        return ResponseEntity.ok(runs.stream()
+            .map(run -> new JobRunResponse(
+                run.getId(),
+                run.getJobName(),
+                run.getNodeId(),
+                run.getStatus(),
+                run.getBusinessDate(),
+                run.getCursor(),
+                run.getChunksCompleted(),
+                run.getProcessedCount(),
+                run.getSuccessCount(),
+                run.getFailureCount(),
+                run.getResumeCount(),
+                run.getStartedAt(),
+                run.getHeartbeatAt(),
+                run.getFinishedAt(),
+                run.getErrorMessage()
+            ))
+            .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/job-runs/{id}/checkpoints")
+    public ResponseEntity<List<JobCheckpointResponse>> getJobCheckpoints(@PathVariable Long id) {
+        JobRun run = jobRunRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Job run not found"));
+
+        return ResponseEntity.ok(jobCheckpointRepository.findByJobRunOrderByChunkNumberAsc(run).stream()
+            .map(checkpoint -> new JobCheckpointResponse(
+                checkpoint.getChunkNumber(),
+                checkpoint.getCursor(),
+                checkpoint.getProcessedCount(),
+                checkpoint.getSuccessCount(),
+                checkpoint.getFailureCount(),
+                checkpoint.getCommittedAt()
+            ))
+            .collect(Collectors.toList()));
     }
 
     @GetMapping("/reminders/queue")
@@ -52,7 +181,7 @@ public class AdminController {
                 r.getUser().getId(),
                 r.getUser().getEmail(),
                 r.getImportantDate().getName(),
-                r.getImportantDate().getDate(),
+                r.getOccurrenceDate(),
                 r.getScheduledDate(),
                 r.getDaysBefore(),
                 r.getStatus(),
@@ -76,7 +205,7 @@ public class AdminController {
                 r.getUser().getId(),
                 r.getUser().getEmail(),
                 r.getImportantDate().getName(),
-                r.getImportantDate().getDate(),
+                r.getOccurrenceDate(),
                 r.getScheduledDate(),
                 r.getDaysBefore(),
                 r.getStatus(),
@@ -94,6 +223,7 @@ public class AdminController {
         Map<String, Long> stats = Map.of(
             "total", (long) allReminders.size(),
             "pending", allReminders.stream().filter(r -> r.getStatus() == Reminder.ReminderStatus.PENDING).count(),
+            "sending", allReminders.stream().filter(r -> r.getStatus() == Reminder.ReminderStatus.SENDING).count(),
             "sent", allReminders.stream().filter(r -> r.getStatus() == Reminder.ReminderStatus.SENT).count(),
             "failed", allReminders.stream().filter(r -> r.getStatus() == Reminder.ReminderStatus.FAILED).count(),
             "cancelled", allReminders.stream().filter(r -> r.getStatus() == Reminder.ReminderStatus.CANCELLED).count()
@@ -101,4 +231,167 @@ public class AdminController {
 
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/leaders")
+    public ResponseEntity<List<LeaderLeaseResponse>> getLeaders() {
+        return ResponseEntity.ok(leaderLeaseRepository.findAll().stream()
+            .map(lease -> new LeaderLeaseResponse(
+                lease.getName(),
+                lease.getHolder(),
+                lease.getFencingToken(),
+                lease.getAcquiredAt(),
+                lease.getRenewedAt()
+            ))
+            .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/event-consumers")
+    public ResponseEntity<List<EventConsumerStatusResponse>> getEventConsumers() {
+        long head = priceChangeEventService.getHeadOffset();
+        List<EventConsumerStatusResponse> consumers = priceChangeEventService.getOffsets().stream()
+            .map(offset -> toConsumerStatus(offset, head))
+            .collect(Collectors.toList());
+
+        return ResponseEntity.ok(consumers);
+    }
+
+    @PostMapping("/event-consumers/{name}/replay")
+    public ResponseEntity<EventConsumerStatusResponse> replayEventConsumer(
+            @PathVariable String name,
+            @RequestParam(required = false, defaultValue = "0") long fromOffset) {
+        EventConsumerOffset offset = priceChangeEventService.replay(name, fromOffset);
+        return ResponseEntity.ok(toConsumerStatus(offset, priceChangeEventService.getHeadOffset()));
+    }
+
+    @GetMapping("/preference-cache")
+    public ResponseEntity<PreferenceCacheResponse> getPreferenceCache() {
+        NotificationPreferencesCache.CacheStats stats = preferencesCache.getStats();
+        return ResponseEntity.ok(new PreferenceCacheResponse(
+            stats.size(),
+            stats.maxSize(),
+            stats.hits(),
+            stats.misses(),
+            stats.loads(),
+            stats.invalidations()
+        ));
+    }
+
+    @GetMapping("/dedup-filter")
+    public ResponseEntity<DedupFilterResponse> getDedupFilter() {
+        NotificationDedupFilter.FilterStats stats = dedupFilter.getStats();
+        return ResponseEntity.ok(new DedupFilterResponse(
+            stats.enabled(),
+            stats.ready(),
+            stats.entries(),
+            stats.memoryBytes(),
+            stats.tailedId(),
+            stats.checks(),
+            stats.definitelyNotSent(),
+            stats.possiblySent()
+        ));
+    }
+
+    @GetMapping("/smtp-pool")
+    public ResponseEntity<SmtpPoolResponse> getSmtpPool() {
+        SmtpConnectionPool.PoolStats stats = smtpConnectionPool.getStats();
+        return ResponseEntity.ok(new SmtpPoolResponse(
+            stats.enabled(),
+            stats.size(),
+            stats.inUse(),
+            stats.idle(),
+            stats.opened(),
+            stats.closed(),
+            stats.validationFailures(),
+            stats.sent(),
+            stats.failed()
+        ));
+    }
+
+    @GetMapping("/channels")
+    public ResponseEntity<List<ChannelStatusResponse>> getChannels() {
+        List<ChannelStatusResponse> channels = channelDispatcher.getStats().stream()
+            .map(stats -> new ChannelStatusResponse(
+                stats.channel().name(),
+                stats.settings().stub(),
+                stats.settings().workers(),
+                stats.settings().queueCapacity(),
+                stats.settings().rate(),
+                stats.circuit(),
+                stats.retryAfter().toMillis(),
+                stats.activeBatches(),
+                stats.queuedBatches(),
+                stats.sent(),
+                stats.failed(),
+                stats.rejected(),
+                stats.circuitOpened()
+            ))
+            .toList();
+        return ResponseEntity.ok(channels);
+    }
+
+    @GetMapping("/push")
+    public ResponseEntity<PushHubResponse> getPushHub() {
+        PushHub.HubStats stats = pushHub.getStats();
+        return ResponseEntity.ok(new PushHubResponse(
+            stats.enabled(),
+            stats.connections(),
+            stats.users(),
+            stats.maxConnections(),
+            stats.bufferSize(),
+            stats.opened(),
+            stats.refused(),
+            stats.delivered(),
+            stats.dropped(),
+            stats.failed()
+        ));
+    }
+
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<Map<String, Long>> getOutboxStats() {
+        Map<String, Long> stats = notificationOutboxService.getStatusCounts().entrySet().stream()
+            .collect(Collectors.toMap(entry -> entry.getKey().name().toLowerCase(), Map.Entry::getValue));
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/outbox/dead")
+    public ResponseEntity<List<OutboxMessageResponse>> getDeadOutboxMessages(
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return ResponseEntity.ok(notificationOutboxService.getDeadMessages(limit).stream()
+            .map(this::toOutboxMessage)
+            .collect(Collectors.toList()));
+    }
+
+    @PostMapping("/outbox/{id}/retry")
+    public ResponseEntity<OutboxMessageResponse> retryOutboxMessage(@PathVariable Long id) {
+        return ResponseEntity.ok(toOutboxMessage(notificationOutboxService.requeueDead(id)));
+    }
+
+    private OutboxMessageResponse toOutboxMessage(OutboxMessage message) {
+        return new OutboxMessageResponse(
+            message.getId(),
+            message.getUserId(),
+            message.getReminderId(),
+            message.getNotificationType(),
+            message.getReferenceId(),
+            message.getChannel(),
+            message.getRecipient(),
+            message.getSubject(),
+            message.getEventDate(),
+            message.getStatus(),
+            message.getAttempts(),
+            message.getNextAttemptAt(),
+            message.getLastError(),
+            message.getUpdatedAt()
+        );
+    }
+
+    private EventConsumerStatusResponse toConsumerStatus(EventConsumerOffset offset, long head) {
+        return new EventConsumerStatusResponse(
+            offset.getConsumerName(),
+            offset.getLastOffset(),
+            head,
+            Math.max(0, head - offset.getLastOffset()),
+            offset.getUpdatedAt()
+        );
+    }
 }
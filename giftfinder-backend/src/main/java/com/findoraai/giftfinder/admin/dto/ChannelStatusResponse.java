@@ -0,0 +1,17 @@
+package com.findoraai.giftfinder.admin.dto;
+
+public record ChannelStatusResponse(
+    String channel,
+    Boolean stub,
+    Integer workers,
+    Integer queueCapacity,
+    Double rate,
+    String circuit,
+    Long retryAfterMs,
+    Integer activeBatches,
+    Integer queuedBatches,
+    Long sent,
+    Long failed,
+    Long rejected,
+    Long circuitOpened
+) {}
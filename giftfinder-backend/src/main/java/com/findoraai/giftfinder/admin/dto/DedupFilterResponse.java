@@ -0,0 +1,12 @@
+package com.findoraai.giftfinder.admin.dto;
+
+public record DedupFilterResponse(
+    Boolean enabled,
+    Boolean ready,
+    Long entries,
+    Long memoryBytes,
+    Long tailedLogId,
+    Long checks,
+    Long definitelyNotSent,
+    Long possiblySent
+) {}
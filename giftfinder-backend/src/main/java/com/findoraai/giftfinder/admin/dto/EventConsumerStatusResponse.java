@@ -0,0 +1,11 @@
+package com.findoraai.giftfinder.admin.dto;
+
+import java.time.LocalDateTime;
+
+public record EventConsumerStatusResponse(
+    String consumerName,
+    Long lastOffset,
+    Long headOffset,
+    Long lag,
+    LocalDateTime updatedAt
+) {}
@@ -0,0 +1,12 @@
+package com.findoraai.giftfinder.admin.dto;
+
+import java.time.LocalDateTime;
+
+public record JobCheckpointResponse(
+    Integer chunkNumber,
+    Long cursor,
+    Integer processedCount,
+    Integer successCount,
+    Integer failureCount,
+    LocalDateTime committedAt
+) {}
@@ -0,0 +1,24 @@
+package com.findoraai.giftfinder.admin.dto;
+
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record JobRunResponse(
+    Long id,
+    String jobName,
+    String nodeId,
+    JobRun.RunStatus status,
+    LocalDate businessDate,
+    Long cursor,
+    Integer chunksCompleted,
+    Long processedCount,
+    Long successCount,
+    Long failureCount,
+    Integer resumeCount,
+    LocalDateTime startedAt,
+    LocalDateTime heartbeatAt,
+    LocalDateTime finishedAt,
+    String errorMessage
+) {}
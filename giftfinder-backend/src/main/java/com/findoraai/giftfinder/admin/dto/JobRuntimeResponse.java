@@ -0,0 +1,26 @@
+package com.findoraai.giftfinder.admin.dto;
+
+import java.time.LocalDateTime;
+
+public record JobRuntimeResponse(
+    String jobName,
+    String overlapPolicy,
+    String misfirePolicy,
+    Integer maxConcurrent,
+    Boolean virtualThreads,
+    Integer running,
+    Integer queued,
+    Long triggered,
+    Long completed,
+    Long failed,
+    Long skippedOverlap,
+    Long skippedMisfire,
+    Long ranLate,
+    Long timedOut,
+    Long lastQueueWaitMs,
+    Long lastRunMs,
+    Long avgQueueWaitMs,
+    Long avgRunMs,
+    LocalDateTime lastStartedAt,
+    LocalDateTime lastFinishedAt
+) {}
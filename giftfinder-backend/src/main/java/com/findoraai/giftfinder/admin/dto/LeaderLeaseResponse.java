@@ -0,0 +1,11 @@
+package com.findoraai.giftfinder.admin.dto;
+
+import java.time.LocalDateTime;
+
+public record LeaderLeaseResponse(
+    String name,
+    String holder,
+    Long fencingToken,
+    LocalDateTime acquiredAt,
+    LocalDateTime renewedAt
+) {}
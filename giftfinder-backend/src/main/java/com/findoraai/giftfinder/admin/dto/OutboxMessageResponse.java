@@ -0,0 +1,25 @@
+package com.findoraai.giftfinder.admin.dto;
+
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record OutboxMessageResponse(
+    Long id,
+    Long userId,
+    Long reminderId,
+    NotificationLog.NotificationType notificationType,
+    String referenceId,
+    Reminder.NotificationChannel channel,
+    String recipient,
+    String subject,
+    LocalDate eventDate,
+    OutboxMessage.OutboxStatus status,
+    Integer attempts,
+    LocalDateTime nextAttemptAt,
+    String lastError,
+    LocalDateTime updatedAt
+) {}
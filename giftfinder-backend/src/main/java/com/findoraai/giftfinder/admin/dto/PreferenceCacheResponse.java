@@ -0,0 +1,10 @@
+package com.findoraai.giftfinder.admin.dto;
+
+public record PreferenceCacheResponse(
+    Integer size,
+    Integer maxSize,
+    Long hits,
+    Long misses,
+    Long loads,
+    Long invalidations
+) {}
@@ -0,0 +1,14 @@
+package com.findoraai.giftfinder.admin.dto;
+
+public record PushHubResponse(
+    Boolean enabled,
+    Integer connections,
+    Integer users,
+    Integer maxConnections,
+    Integer bufferSize,
+    Long opened,
+    Long refused,
+    Long delivered,
+    Long dropped,
+    Long failed
+) {}
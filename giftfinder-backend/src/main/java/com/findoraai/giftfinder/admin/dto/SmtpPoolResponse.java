@@ -0,0 +1,13 @@
+package com.findoraai.giftfinder.admin.dto;
+
+public record SmtpPoolResponse(
+    Boolean enabled,
+    Integer size,
+    Integer inUse,
+    Integer idle,
+    Long opened,
+    Long closed,
+    Long validationFailures,
+    Long sent,
+    Long failed
+) {}
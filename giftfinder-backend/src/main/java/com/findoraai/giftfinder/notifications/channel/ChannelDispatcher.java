@@ -0,0 +1,237 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends outbox messages through their channel's {@link ChannelSender}, isolating the channels
+ * from each other: every channel has its own worker threads, a bounded queue of batches waiting
+ * for them, a rate limiter and a circuit breaker, so a slow or failing provider only backs up its
+ * own messages. A full queue or open circuit rejects a batch instead of blocking the caller.
+ * <p>
+ * Each channel is configured under {@code notifications.channels.<channel>}:
+ * <ul>
+ *   <li>{@code workers}: batches sent at once (default 4)</li>
+ *   <li>{@code queue-capacity}: batches waiting for a worker (default 8)</li>
+ *   <li>{@code batch-size}: messages per batch (default 10)</li>
+ *   <li>{@code rate}: messages per second, 0 for no limit (default 0)</li>
+ *   <li>{@code failure-threshold}: consecutive transient failures that open the circuit (default 5)</li>
+ *   <li>{@code open-duration}: time the circuit stays open before a trial batch (default PT30S)</li>
+ *   <li>{@code stub}: log messages instead of sending them, with {@code stub-latency} per message
+ *       and {@code stub-failure-rate} of them failing (default false, PT0.05S, 0); stubbed messages
+ *       are recorded as sent, so this is for local runs only</li>
+ * </ul>
+ * A channel without a sender that is not stubbed cannot deliver anything: notifications for it are
+ * queued as email instead (see {@link #deliveryChannel}), and messages already queued for it fail
+ * permanently rather than being recorded as sent.
+ * Workers are platform threads: JavaMail blocks on its socket inside {@code synchronized} methods,
+ * which pins virtual threads to their carriers on Java 21.
+ */
+@Component
+@Slf4j
+public class ChannelDispatcher {
+
+    public record ChannelSettings(int workers,
+                                  int queueCapacity,
+                                  int batchSize,
+                                  double rate,
+                                  int failureThreshold,
+                                  Duration openDuration,
+                                  boolean stub) {}
+
+    public record ChannelStats(Reminder.NotificationChannel channel,
+                               ChannelSettings settings,
+                               String circuit,
+                               int activeBatches,
+                               int queuedBatches,
+                               long sent,
+                               long failed,
+                               long rejected,
+                               long circuitOpened,
+                               Duration retryAfter) {}
+
+    private final Map<Reminder.NotificationChannel, Channel> channels = new EnumMap<>(Reminder.NotificationChannel.class);
+
+    public ChannelDispatcher(Environment environment, List<ChannelSender> senders) {
+        Map<Reminder.NotificationChannel, ChannelSender> byChannel = senders.stream()
+            .collect(Collectors.toMap(ChannelSender::channel, Function.identity()));
+        for (Reminder.NotificationChannel channel : Reminder.NotificationChannel.values()) {
+            String prefix = "notifications.channels." + channel.name().toLowerCase() + ".";
+            ChannelSender sender = byChannel.get(channel);
+            ChannelSettings settings = new ChannelSettings(
+                Math.max(1, environment.getProperty(prefix + "workers", Integer.class, 4)),
+                Math.max(0, environment.getProperty(prefix + "queue-capacity", Integer.class, 8)),
+                Math.max(1, environment.getProperty(prefix + "batch-size", Integer.class, 10)),
+                environment.getProperty(prefix + "rate", Double.class, 0.0),
+                Math.max(1, environment.getProperty(prefix + "failure-threshold", Integer.class, 5)),
+                environment.getProperty(prefix + "open-duration", Duration.class, Duration.ofSeconds(30)),
+                environment.getProperty(prefix + "stub", Boolean.class, false)
+            );
+            if (settings.stub()) {
+                sender = new StubChannelSender(channel,
+                    environment.getProperty(prefix + "stub-latency", Duration.class, Duration.ofMillis(50)),
+                    environment.getProperty(prefix + "stub-failure-rate", Double.class, 0.0));
+                log.warn("{} notifications are stubbed: only logged, but recorded as sent", channel);
+            } else if (sender == null) {
+                log.info("{} has no sender; its notifications are sent as email", channel);
+            }
+            channels.put(channel, new Channel(channel, settings, sender));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(channel -> channel.executor.shutdownNow());
+    }
+
+    /**
+     * Number of messages the channel can take now without rejecting them: the free workers and
+     * queue slots in batches, one batch while its circuit is half-open, none while it is open.
+     */
+    public int capacity(Reminder.NotificationChannel channel) {
+        Channel target = channels.get(channel);
+        if (!target.breaker.isAvailable()) {
+            return 0;
+        }
+        if (target.breaker.getState() == CircuitBreaker.State.HALF_OPEN) {
+            return target.settings.batchSize();
+        }
+        ThreadPoolExecutor executor = target.executor;
+        int freeBatches = target.settings.workers() - executor.getActiveCount()
+            + executor.getQueue().remainingCapacity();
+        return Math.max(0, freeBatches) * target.settings.batchSize();
+    }
+
+    /**
+     * The channel to queue notifications for {@code channel} on: the channel itself if it has a
+     * sender or is stubbed, otherwise email, which every user has.
+     */
+    public Reminder.NotificationChannel deliveryChannel(Reminder.NotificationChannel channel) {
+        return channels.get(channel).sender != null ? channel : Reminder.NotificationChannel.EMAIL;
+    }
+
+    public int batchSize(Reminder.NotificationChannel channel) {
+        return channels.get(channel).settings.batchSize();
+    }
+
+    /**
+     * Queue a batch of messages for the channel's workers.
+     * @return The failure of each message once sent, null where it was delivered, as returned by
+     *     {@link ChannelSender#send}; a {@link ChannelUnavailableException} for every message if the
+     *     channel's queue was full or its circuit open. A {@link RecipientUnreachableException} names
+     *     the channel to send the message through instead
+     */
+    public CompletableFuture<List<RuntimeException>> dispatch(Reminder.NotificationChannel channel,
+                                                              List<OutboxMessage> messages) {
+        Channel target = channels.get(channel);
+        try {
+            return CompletableFuture.supplyAsync(() -> target.send(messages), target.executor);
+        } catch (RejectedExecutionException e) {
+            target.rejected.addAndGet(messages.size());
+            return CompletableFuture.completedFuture(Collections.nCopies(messages.size(),
+                new ChannelUnavailableException(channel + " queue is full", Duration.ofSeconds(1))));
+        }
+    }
+
+    public List<ChannelStats> getStats() {
+        return channels.values().stream().map(Channel::stats).toList();
+    }
+
+    private static final class Channel {
+        private final Reminder.NotificationChannel channel;
+        private final ChannelSettings settings;
+        private final ChannelSender sender;
+        private final ThreadPoolExecutor executor;
+        private final RateLimiter rateLimiter;
+        private final CircuitBreaker breaker;
+
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        Channel(Reminder.NotificationChannel channel, ChannelSettings settings, ChannelSender sender) {
+            this.channel = channel;
+            this.settings = settings;
+            this.sender = sender;
+            // A queue capacity of 0 still needs a queue to construct the executor; it is never offered to
+            this.executor = new ThreadPoolExecutor(settings.workers(), settings.workers(), 0, TimeUnit.MILLISECONDS,
+                settings.queueCapacity() > 0
+                    ? new ArrayBlockingQueue<>(settings.queueCapacity())
+                    : new SynchronousQueue<>(),
+                Thread.ofPlatform().name(channel.name().toLowerCase() + "-sender-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+            this.rateLimiter = new RateLimiter(settings.rate());
+            this.breaker = new CircuitBreaker(settings.failureThreshold(), settings.openDuration());
+        }
+
+        List<RuntimeException> send(List<OutboxMessage> messages) {
+            if (sender == null) {
+                // Queued before the channel lost its sender; it will not get one back by retrying
+                failed.addAndGet(messages.size());
+                return Collections.nCopies(messages.size(),
+                    new IllegalArgumentException("No " + channel + " sender is configured"));
+            }
+            if (!breaker.tryAcquire()) {
+                // Opened while the batch was queued
+                rejected.addAndGet(messages.size());
+                return Collections.nCopies(messages.size(),
+                    new ChannelUnavailableException(channel + " circuit is open", breaker.getRetryAfter()));
+            }
+
+            List<RuntimeException> failures;
+            try {
+                rateLimiter.acquire(messages.size());
+                failures = sender.send(messages);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                breaker.release();
+                return Collections.nCopies(messages.size(),
+                    new ChannelUnavailableException(channel + " sender was interrupted", Duration.ZERO));
+            } catch (RuntimeException e) {
+                failures = Collections.nCopies(messages.size(), e);
+            }
+
+            int delivered = 0;
+            int transientFailures = 0;
+            for (RuntimeException failure : failures) {
+                if (failure == null) {
+                    delivered++;
+                } else if (!(failure instanceof IllegalArgumentException || failure instanceof ChannelUnavailableException
+                        || failure instanceof RecipientUnreachableException)) {
+                    transientFailures++;
+                }
+            }
+            sent.addAndGet(delivered);
+            failed.addAndGet(messages.size() - delivered);
+            if (breaker.record(delivered, transientFailures)) {
+                log.warn("{} circuit opened after repeated failures; retrying in {}", channel, settings.openDuration());
+            }
+            return failures;
+        }
+
+        ChannelStats stats() {
+            return new ChannelStats(channel, settings, breaker.getState().name(),
+                executor.getActiveCount(), executor.getQueue().size(),
+                sent.get(), failed.get(), rejected.get(), breaker.getOpenedCount(), breaker.getRetryAfter());
+        }
+    }
+}
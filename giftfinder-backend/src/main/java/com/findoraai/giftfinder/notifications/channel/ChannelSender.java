@@ -0,0 +1,24 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+
+import java.util.List;
+
+/**
+ * Delivers outbox messages through one notification channel. Implementations are Spring beans
+ * picked up by {@link ChannelDispatcher}, which calls them from the channel's own workers.
+ */
+public interface ChannelSender {
+
+    Reminder.NotificationChannel channel();
+
+    /**
+     * Send the messages in order.
+     * @return The failure of each message, null where it was delivered: an IllegalArgumentException
+     *     if the message can never be delivered, e.g. an invalid address, a
+     *     {@link RecipientUnreachableException} if it should go through another channel, or any
+     *     other exception if delivery may succeed on retry
+     */
+    List<RuntimeException> send(List<OutboxMessage> messages);
+}
@@ -0,0 +1,21 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import java.time.Duration;
+
+/**
+ * A message was not handed to its channel, because the channel's queue was full or its circuit
+ * open. It was never attempted, so it does not count as a delivery attempt.
+ */
+public class ChannelUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ChannelUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
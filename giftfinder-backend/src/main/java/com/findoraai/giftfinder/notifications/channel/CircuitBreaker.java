@@ -0,0 +1,129 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import java.time.Duration;
+
+/**
+ * Stops sending through a channel after {@code failureThreshold} messages in a row failed with
+ * errors that may be transient, so a broken provider is not hammered while messages pile up
+ * behind it. Once {@code openDuration} has passed, a single trial batch is let through: if any of
+ * it is delivered the circuit closes again, otherwise it stays open for another period. Permanent
+ * failures, such as an invalid address, say nothing about the channel and are not counted.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+    private long opened;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return Whether a batch may be sent now; in the half-open state only the first caller may
+     */
+    synchronized boolean tryAcquire() {
+        return switch (currentState()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Whether {@link #tryAcquire} would succeed, without taking the trial.
+     */
+    synchronized boolean isAvailable() {
+        State current = currentState();
+        return current == State.CLOSED || current == State.HALF_OPEN && !trialInFlight;
+    }
+
+    /**
+     * Record the outcome of a batch let through by {@link #tryAcquire}.
+     * @param delivered Messages delivered
+     * @param transientFailures Messages that failed with an error that may be transient
+     * @return Whether this outcome opened the circuit
+     */
+    synchronized boolean record(int delivered, int transientFailures) {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            if (delivered > 0 || transientFailures == 0) {
+                close();
+                return false;
+            }
+            open();
+            return true;
+        }
+        if (state != State.CLOSED) {
+            // Opened by another batch while this one was in flight
+            return false;
+        }
+        if (delivered > 0) {
+            consecutiveFailures = 0;
+        }
+        consecutiveFailures += transientFailures;
+        if (consecutiveFailures >= failureThreshold) {
+            open();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Give back a batch let through by {@link #tryAcquire} that was never sent, without recording an
+     * outcome: a half-open circuit lets the next batch through as its trial instead.
+     */
+    synchronized void release() {
+        trialInFlight = false;
+    }
+
+    synchronized State getState() {
+        return currentState();
+    }
+
+    /**
+     * Time until the circuit lets a trial batch through, zero if it is not open.
+     */
+    synchronized Duration getRetryAfter() {
+        return currentState() == State.OPEN
+            ? Duration.ofNanos(openNanos - (System.nanoTime() - openedAtNanos))
+            : Duration.ZERO;
+    }
+
+    synchronized long getOpenedCount() {
+        return opened;
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        opened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+}
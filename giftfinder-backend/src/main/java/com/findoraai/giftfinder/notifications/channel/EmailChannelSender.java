@@ -0,0 +1,77 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.service.SmtpConnectionPool;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Sends messages as HTML email, each batch in order over one pooled SMTP connection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailChannelSender implements ChannelSender {
+
+    private final JavaMailSender mailSender;
+    private final SmtpConnectionPool smtpConnectionPool;
+
+    @Value("${spring.mail.username:noreply@giftfinder.com}")
+    private String fromEmail;
+
+    @Override
+    public Reminder.NotificationChannel channel() {
+        return Reminder.NotificationChannel.EMAIL;
+    }
+
+    @Override
+    public List<RuntimeException> send(List<OutboxMessage> messages) {
+        List<RuntimeException> failures = new ArrayList<>(messages.size());
+        List<MimeMessage> mimeMessages = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            try {
+                mimeMessages.add(createMessage(message.getRecipient(), message.getSubject(), message.getBody()));
+                failures.add(null);
+            } catch (MessagingException e) {
+                failures.add(new IllegalArgumentException("Invalid message: " + e.getMessage(), e));
+            }
+        }
+
+        Iterator<MailException> sendFailures = smtpConnectionPool.send(mimeMessages).iterator();
+        for (int i = 0; i < messages.size(); i++) {
+            if (failures.get(i) != null) {
+                continue;
+            }
+            MailException failure = sendFailures.next();
+            if (failure != null) {
+                failures.set(i, failure);
+            } else {
+                log.info("Email sent successfully to {} for {}", messages.get(i).getRecipient(), messages.get(i).getReferenceId());
+            }
+        }
+        return failures;
+    }
+
+    private MimeMessage createMessage(String to, String subject, String htmlContent) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(htmlContent, true);
+        return message;
+    }
+}
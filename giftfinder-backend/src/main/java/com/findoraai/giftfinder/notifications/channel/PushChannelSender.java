@@ -0,0 +1,57 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.push.PushBus;
+import com.findoraai.giftfinder.notifications.push.PushEvent;
+import com.findoraai.giftfinder.notifications.push.PushPresenceTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pushes messages to the user's connected clients through the {@link PushBus}. Only messages of
+ * users with a connection to some instance (see {@link PushPresenceTracker}) are published and
+ * count as delivered; the others are sent as email instead, which carries the same body. A
+ * client that disconnects between the check and the publish misses the message.
+ */
+@Component
+@RequiredArgsConstructor
+public class PushChannelSender implements ChannelSender {
+
+    private final PushBus pushBus;
+    private final PushPresenceTracker presenceTracker;
+
+    @Override
+    public Reminder.NotificationChannel channel() {
+        return Reminder.NotificationChannel.PUSH;
+    }
+
+    @Override
+    public List<RuntimeException> send(List<OutboxMessage> messages) {
+        try {
+            Set<Long> connected = presenceTracker.findConnected(
+                messages.stream().map(OutboxMessage::getUserId).distinct().toList());
+            List<RuntimeException> failures = new ArrayList<>(messages.size());
+            List<PushBus.Delivery> deliveries = new ArrayList<>(messages.size());
+            for (OutboxMessage message : messages) {
+                if (connected.contains(message.getUserId())) {
+                    deliveries.add(new PushBus.Delivery(message.getUserId(), PushEvent.of(message)));
+                    failures.add(null);
+                } else {
+                    failures.add(new RecipientUnreachableException("User has no push connection",
+                        Reminder.NotificationChannel.EMAIL));
+                }
+            }
+            pushBus.publish(deliveries);
+            return failures;
+        } catch (DataAccessException e) {
+            return Collections.nCopies(messages.size(), e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket allowing {@code rate} messages per second on average, with bursts of up to one
+ * second's worth. A caller taking more than is stored reserves the shortfall and sleeps until it
+ * has accrued, so concurrent callers queue up behind each other instead of all retrying at once.
+ */
+final class RateLimiter {
+
+    private final double rate;
+    private final double maxStored;
+    private final double permitsPerNano;
+    private double stored;
+    private long lastRefillNanos = System.nanoTime();
+
+    /**
+     * @param rate Messages per second, 0 or less for no limit
+     */
+    RateLimiter(double rate) {
+        this.rate = rate;
+        this.maxStored = Math.max(1, rate);
+        this.permitsPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.stored = maxStored;
+    }
+
+    void acquire(int permits) throws InterruptedException {
+        if (rate <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            stored = Math.min(maxStored, stored + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+            stored -= permits;
+            waitNanos = stored >= 0 ? 0 : (long) (-stored / permitsPerNano);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.Reminder;
+
+/**
+ * A message's channel works, but cannot reach its recipient now, e.g. a push for a user without
+ * the app open. The message is moved to the fallback channel instead of being retried, and does
+ * not count as a delivery attempt or against the channel's circuit.
+ */
+public class RecipientUnreachableException extends RuntimeException {
+
+    private final Reminder.NotificationChannel fallback;
+
+    public RecipientUnreachableException(String message, Reminder.NotificationChannel fallback) {
+        super(message);
+        this.fallback = fallback;
+    }
+
+    public Reminder.NotificationChannel getFallback() {
+        return fallback;
+    }
+}
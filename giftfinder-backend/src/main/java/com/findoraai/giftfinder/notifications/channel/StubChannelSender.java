@@ -0,0 +1,58 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stands in for a channel configured with {@code stub: true}: logs each message instead of
+ * sending it, after a configurable latency, and fails a configurable share of them, so the
+ * dispatcher can be exercised locally. Logged messages are reported as delivered.
+ */
+@Slf4j
+class StubChannelSender implements ChannelSender {
+
+    private final Reminder.NotificationChannel channel;
+    private final Duration latency;
+    private final double failureRate;
+
+    StubChannelSender(Reminder.NotificationChannel channel, Duration latency, double failureRate) {
+        this.channel = channel;
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public Reminder.NotificationChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public List<RuntimeException> send(List<OutboxMessage> messages) {
+        List<RuntimeException> failures = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                // Shutting down; the rest were never sent
+                Thread.currentThread().interrupt();
+                while (failures.size() < messages.size()) {
+                    failures.add(new ChannelUnavailableException(channel + " sender was interrupted", Duration.ZERO));
+                }
+                break;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                failures.add(new IllegalStateException("Simulated " + channel + " failure"));
+            } else {
+                log.info("[{} stub] To {}: {}", channel, message.getRecipient(), message.getSubject());
+                failures.add(null);
+            }
+        }
+        return failures;
+    }
+}
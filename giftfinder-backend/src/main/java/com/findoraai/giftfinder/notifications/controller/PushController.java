@@ -0,0 +1,82 @@
+package com.findoraai.giftfinder.notifications.controller;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.auth.repository.UserRepository;
+import com.findoraai.giftfinder.config.security.JwtService;
+import com.findoraai.giftfinder.notifications.dto.PushTicketResponse;
+import com.findoraai.giftfinder.notifications.push.PushHub;
+import com.findoraai.giftfinder.notifications.push.PushStreamTickets;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/push")
+@RequiredArgsConstructor
+public class PushController {
+
+    private final PushHub pushHub;
+    private final PushStreamTickets streamTickets;
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+
+    /**
+     * Issue a single-use ticket for {@link #stream}, for clients that cannot send the JWT as a
+     * header there, such as browsers' EventSource.
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<PushTicketResponse> issueTicket(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return resolveUser(userDetails, authorization)
+            .map(user -> ResponseEntity.ok(new PushTicketResponse(streamTickets.issue(user.getId()),
+                streamTickets.getTtl().toSeconds())))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    /**
+     * Stream the user's push events as server-sent events. The user is identified by the JWT
+     * header or by a ticket from {@link #issueTicket}; the JWT itself is never accepted in the
+     * URL, where access logs would record it.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(value = "ticket", required = false) String ticket) {
+        Optional<Long> userId = ticket != null
+            ? streamTickets.redeem(ticket)
+            : resolveUser(userDetails, authorization).map(User::getId);
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return pushHub.connect(userId.get())
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build());
+    }
+
+    private Optional<User> resolveUser(UserDetails userDetails, String authorization) {
+        if (userDetails != null) {
+            return userRepository.findByEmail(userDetails.getUsername());
+        }
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        try {
+            return userRepository.findByEmail(jwtService.getSubject(authorization.substring("Bearer ".length())));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.findoraai.giftfinder.notifications.controller;
 
 import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceAlertRuleRequest;
+import com.findoraai.giftfinder.notifications.dto.PriceAlertRuleResponse;
+import com.findoraai.giftfinder.notifications.dto.PriceHistoryChartResponse;
+import com.findoraai.giftfinder.notifications.dto.PriceStatsResponse;
 import com.findoraai.giftfinder.notifications.dto.SavedProductRequest;
 import com.findoraai.giftfinder.notifications.dto.SavedProductResponse;
+import com.findoraai.giftfinder.notifications.service.PriceAlertRuleService;
+import com.findoraai.giftfinder.notifications.service.PriceChartService;
+import com.findoraai.giftfinder.notifications.service.PriceStatsService;
 import com.findoraai.giftfinder.notifications.service.SavedProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,6 +29,9 @@ import java.util.List;
 public class SavedProductController {
 
     private final SavedProductService savedProductService;
+    private final PriceStatsService priceStatsService;
+    private final PriceChartService priceChartService;
+    private final PriceAlertRuleService priceAlertRuleService;
 
     @GetMapping
     public ResponseEntity<List<SavedProductResponse>> getUserProducts(
@@ -38,6 +50,56 @@ public class SavedProductController {
         return ResponseEntity.ok(product);
     }
 
+    @GetMapping("/{id}/price-stats")
+    public ResponseEntity<PriceStatsResponse> getPriceStats(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        PriceStatsResponse stats = priceStatsService.getStats(id, user);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<PriceHistoryChartResponse> getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "200") int points,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        PriceHistoryChartResponse history = priceChartService.getPriceHistory(id, user, points, from, to);
+        return ResponseEntity.ok(history);
+    }
+
+    @GetMapping("/{id}/alert-rules")
+    public ResponseEntity<List<PriceAlertRuleResponse>> getAlertRules(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        List<PriceAlertRuleResponse> rules = priceAlertRuleService.getRules(id, user);
+        return ResponseEntity.ok(rules);
+    }
+
+    @PostMapping("/{id}/alert-rules")
+    public ResponseEntity<PriceAlertRuleResponse> createAlertRule(
+            @PathVariable Long id,
+            @Valid @RequestBody PriceAlertRuleRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        PriceAlertRuleResponse rule = priceAlertRuleService.createRule(id, request, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(rule);
+    }
+
+    @DeleteMapping("/{id}/alert-rules/{ruleId}")
+    public ResponseEntity<Void> deleteAlertRule(
+            @PathVariable Long id,
+            @PathVariable Long ruleId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = (User) userDetails;
+        priceAlertRuleService.deleteRule(id, ruleId, user);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping
     public ResponseEntity<SavedProductResponse> saveProduct(
             @Valid @RequestBody SavedProductRequest request,
@@ -11,6 +11,7 @@ public record ImportantDateResponse(
     ImportantDate.DateType type,
     LocalDate date,
     Boolean recurring,
+    LocalDate nextOccurrence,
     String description,
     Long recipientId,
     String recipientName,
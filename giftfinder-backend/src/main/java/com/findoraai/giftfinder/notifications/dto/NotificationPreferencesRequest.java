@@ -4,6 +4,7 @@ import com.findoraai.giftfinder.notifications.model.Reminder;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.LocalTime;
 import java.util.List;
 
 public record NotificationPreferencesRequest(
@@ -17,5 +18,14 @@ public record NotificationPreferencesRequest(
     List<Integer> reminderDaysBefore,
     
     @NotNull(message = "Preferred channel is required")
-    Reminder.NotificationChannel preferredChannel
+    Reminder.NotificationChannel preferredChannel,
+
+    String timezone,
+
+    LocalTime deliveryWindowStart,
+
+    LocalTime deliveryWindowEnd,
+
+    // Left unchanged when null; 0 turns digest mode off
+    Integer digestWindowMinutes
 ) {}
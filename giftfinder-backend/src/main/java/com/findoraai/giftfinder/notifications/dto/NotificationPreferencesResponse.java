@@ -3,6 +3,7 @@ package com.findoraai.giftfinder.notifications.dto;
 import com.findoraai.giftfinder.notifications.model.Reminder;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 public record NotificationPreferencesResponse(
@@ -11,6 +12,10 @@ public record NotificationPreferencesResponse(
     Boolean priceDropAlertsEnabled,
     List<Integer> reminderDaysBefore,
     Reminder.NotificationChannel preferredChannel,
+    String timezone,
+    LocalTime deliveryWindowStart,
+    LocalTime deliveryWindowEnd,
+    Integer digestWindowMinutes,
     LocalDateTime createdAt,
     LocalDateTime updatedAt
 ) {}
@@ -0,0 +1,22 @@
+package com.findoraai.giftfinder.notifications.dto;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record PriceAlertRuleRequest(
+    @NotNull(message = "Rule type is required")
+    PriceAlertRule.RuleType type,
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Threshold must be greater than 0")
+    @DecimalMax(value = "100.0", message = "Threshold must be at most 100")
+    BigDecimal thresholdPercent,
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Target price must be greater than 0")
+    BigDecimal targetPrice,
+
+    Boolean enabled
+) {}
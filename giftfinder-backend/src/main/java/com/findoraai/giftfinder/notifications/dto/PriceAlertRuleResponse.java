@@ -0,0 +1,17 @@
+package com.findoraai.giftfinder.notifications.dto;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PriceAlertRuleResponse(
+    Long id,
+    Long savedProductId,
+    PriceAlertRule.RuleType type,
+    BigDecimal thresholdPercent,
+    BigDecimal targetPrice,
+    Boolean enabled,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {}
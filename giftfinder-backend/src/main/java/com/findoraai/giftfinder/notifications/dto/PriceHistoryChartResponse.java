@@ -0,0 +1,13 @@
+package com.findoraai.giftfinder.notifications.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PriceHistoryChartResponse(
+    Long savedProductId,
+    String currency,
+    LocalDateTime from,
+    LocalDateTime to,
+    Long totalPoints,
+    List<PricePointResponse> points
+) {}
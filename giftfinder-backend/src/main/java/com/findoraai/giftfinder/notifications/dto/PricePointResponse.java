@@ -0,0 +1,9 @@
+package com.findoraai.giftfinder.notifications.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PricePointResponse(
+    LocalDateTime checkedAt,
+    BigDecimal price
+) {}
@@ -0,0 +1,26 @@
+package com.findoraai.giftfinder.notifications.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PriceStatsResponse(
+    Long savedProductId,
+    String currency,
+    BigDecimal currentPrice,
+    Long sampleCount,
+    BigDecimal allTimeLow,
+    BigDecimal allTimeHigh,
+    BigDecimal ewmaPrice,
+    WindowStats last30Days,
+    WindowStats last90Days,
+    Boolean goodDeal,
+    LocalDateTime lastCheckedAt
+) {
+    public record WindowStats(
+        Integer days,
+        BigDecimal lowestPrice,
+        BigDecimal highestPrice,
+        BigDecimal averagePrice,
+        Long sampleCount
+    ) {}
+}
@@ -0,0 +1,6 @@
+package com.findoraai.giftfinder.notifications.dto;
+
+public record PushTicketResponse(
+    String ticket,
+    long expiresInSeconds
+) {}
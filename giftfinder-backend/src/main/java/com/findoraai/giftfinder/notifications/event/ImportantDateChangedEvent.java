@@ -0,0 +1,17 @@
+package com.findoraai.giftfinder.notifications.event;
+
+/**
+ * Published inside the transaction that creates, updates or deletes an important date. Deletion
+ * is published before the date is removed, so its reminders can be removed first.
+ */
+public record ImportantDateChangedEvent(
+    Long importantDateId,
+    Long userId,
+    ChangeType changeType
+) {
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
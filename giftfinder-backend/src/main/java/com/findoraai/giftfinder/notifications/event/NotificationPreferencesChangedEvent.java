@@ -0,0 +1,8 @@
+package com.findoraai.giftfinder.notifications.event;
+
+/**
+ * Published inside the transaction that updates a user's notification preferences.
+ */
+public record NotificationPreferencesChangedEvent(
+    Long userId
+) {}
@@ -0,0 +1,63 @@
+package com.findoraai.giftfinder.notifications.event;
+
+import com.findoraai.giftfinder.notifications.model.PriceChangeEvent;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import com.findoraai.giftfinder.notifications.service.PriceAlertRuleEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates alert rules against the price change stream; the alerts that fire are delivered
+ * by {@link com.findoraai.giftfinder.notifications.service.PriceAlertNotifier}, whose
+ * 24-hour dedup keeps redelivered batches from sending twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertEventConsumer implements PriceChangeEventConsumer {
+
+    private final SavedProductRepository savedProductRepository;
+    private final PriceAlertRuleEngine ruleEngine;
+
+    @Override
+    public String name() {
+        return "price-alerts";
+    }
+
+    @Override
+    public void handle(List<PriceChangeEvent> events) {
+        List<Long> productIds = events.stream().map(PriceChangeEvent::getSavedProductId).distinct().toList();
+        Map<Long, SavedProduct> products = savedProductRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(SavedProduct::getId, Function.identity()));
+
+        List<PriceAlertRuleEngine.Observation> observations = new ArrayList<>(events.size());
+        for (PriceChangeEvent event : events) {
+            SavedProduct product = products.get(event.getSavedProductId());
+            // Products deleted since the change was detected no longer alert
+            if (product == null || !product.getPriceTrackingEnabled()) {
+                continue;
+            }
+            observations.add(new PriceAlertRuleEngine.Observation(
+                product,
+                event.getPreviousPrice(),
+                event.getCurrentPrice(),
+                event.getLowestPrice(),
+                event.getPreviouslyAvailable(),
+                event.getAvailable()
+            ));
+        }
+
+        int triggered = ruleEngine.evaluate(observations).size();
+        if (triggered > 0) {
+            log.info("Price alert consumer triggered {} alerts from {} events", triggered, events.size());
+        }
+    }
+}
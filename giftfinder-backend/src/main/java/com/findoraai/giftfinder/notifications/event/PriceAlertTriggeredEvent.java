@@ -0,0 +1,21 @@
+package com.findoraai.giftfinder.notifications.event;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Published once per product whose alert rules fired during a price check, covering every rule
+ * that fired on the same change, so they result in one notification.
+ *
+ * @param ruleTypes Types of the rules that fired
+ * @param targetPrice Lowest target price reached, if a TARGET_PRICE rule fired
+ */
+public record PriceAlertTriggeredEvent(
+    Long savedProductId,
+    Set<PriceAlertRule.RuleType> ruleTypes,
+    BigDecimal previousPrice,
+    BigDecimal currentPrice,
+    BigDecimal targetPrice
+) {}
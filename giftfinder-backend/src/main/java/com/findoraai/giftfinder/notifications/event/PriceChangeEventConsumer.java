@@ -0,0 +1,23 @@
+package com.findoraai.giftfinder.notifications.event;
+
+import com.findoraai.giftfinder.notifications.model.PriceChangeEvent;
+
+import java.util.List;
+
+/**
+ * An independent reader of the price change stream. Each consumer keeps its own offset and is
+ * drained on its own thread, so a slow consumer never delays detection or other consumers.
+ * Delivery is at-least-once: a batch whose handler throws is redelivered on the next poll,
+ * and a replay re-delivers everything after the chosen offset, so handlers must be idempotent.
+ */
+public interface PriceChangeEventConsumer {
+    /**
+     * @return Stable name under which the consumer's offset is stored
+     */
+    String name();
+
+    /**
+     * Process a batch of events in offset order, inside the transaction that advances the offset.
+     */
+    void handle(List<PriceChangeEvent> events);
+}
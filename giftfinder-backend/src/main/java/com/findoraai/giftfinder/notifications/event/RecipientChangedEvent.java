@@ -0,0 +1,10 @@
+package com.findoraai.giftfinder.notifications.event;
+
+/**
+ * Published inside the transaction that updates or deletes a recipient. Deletion is published
+ * before the recipient is removed.
+ */
+public record RecipientChangedEvent(
+    Long recipientId,
+    Long userId
+) {}
@@ -0,0 +1,88 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A notification held back for the user's next digest email. While a user has digest mode on,
+ * their email notifications are buffered here instead of queued in the outbox, and merged into
+ * one outbox message once the oldest has waited the user's digest window. Merged items stay,
+ * linked to that message, until it is delivered, and are then logged one by one like the
+ * notifications they stand for.
+ */
+@Entity
+@Table(name = "notification_digest_items", indexes = {
+    @Index(name = "idx_digest_item_due", columnList = "due_at"),
+    @Index(name = "idx_digest_item_reference", columnList = "user_id,reference_id"),
+    @Index(name = "idx_digest_item_outbox_message", columnList = "outbox_message_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DigestItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long reminderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationLog.NotificationType notificationType;
+
+    @Column(nullable = false)
+    private String referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Reminder.NotificationChannel channel;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    /**
+     * The notification's own email, sent as is if it turns out to be the only item of its digest.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String body;
+
+    /**
+     * The notification rendered as one entry of a digest email.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String fragment;
+
+    @Column(nullable = false)
+    private LocalDate eventDate;
+
+    /**
+     * When the user's digest is sent; every item of one digest shares the first item's.
+     */
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    /**
+     * The digest message the item was merged into, null while it is still buffered.
+     */
+    private Long outboxMessageId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,34 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last event ID processed by a named consumer of the price change stream.
+ */
+@Entity
+@Table(name = "event_consumer_offsets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventConsumerOffset {
+
+    @Id
+    private String consumerName;
+
+    @Column(nullable = false)
+    private Long lastOffset;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
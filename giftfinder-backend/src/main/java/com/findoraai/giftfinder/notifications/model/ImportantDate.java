@@ -8,7 +8,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "important_dates")
+@Table(name = "important_dates", indexes = {
+    @Index(name = "idx_important_date_next_occurrence", columnList = "next_occurrence")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,6 +43,13 @@ public class ImportantDate {
     @Column(nullable = false)
     private Boolean recurring;
 
+    /**
+     * Next occurrence on or after today, maintained on write and rolled forward by
+     * ImportantDateRepository.rollForwardOccurrences once a recurring occurrence has passed.
+     */
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
     private String description;
 
     @Column(nullable = false)
@@ -56,6 +65,19 @@ public class ImportantDate {
         CUSTOM
     }
 
+    /**
+     * First occurrence on or after the given day: the date itself unless it recurs, otherwise its
+     * next anniversary. February 29 falls on February 28 in common years.
+     */
+    public LocalDate occurrenceOnOrAfter(LocalDate day) {
+        if (!Boolean.TRUE.equals(recurring) || !date.isBefore(day)) {
+            return date;
+        }
+        int years = day.getYear() - date.getYear();
+        LocalDate occurrence = date.plusYears(years);
+        return occurrence.isBefore(day) ? date.plusYears(years + 1) : occurrence;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -63,10 +85,12 @@ public class ImportantDate {
         if (recurring == null) {
             recurring = false;
         }
+        nextOccurrence = occurrenceOnOrAfter(LocalDate.now());
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        nextOccurrence = occurrenceOnOrAfter(LocalDate.now());
     }
 }
@@ -6,10 +6,13 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * Partitioned by week of sent_at; the partitions, indexes and foreign key are managed by
+ * {@link com.findoraai.giftfinder.notifications.service.NotificationLogPartitions}, as Hibernate
+ * does not see them on partitioned tables and would add them again on every startup.
+ */
 @Entity
-@Table(name = "notification_log", indexes = {
-    @Index(name = "idx_notification_log_dedup", columnList = "user_id,notification_type,reference_id,channel,sent_at")
-})
+@Table(name = "notification_log")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +25,7 @@ public class NotificationLog {
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     @Enumerated(EnumType.STRING)
@@ -51,7 +54,12 @@ public class NotificationLog {
 
     public enum NotificationType {
         REMINDER,
-        PRICE_DROP
+        PRICE_DROP,
+        /**
+         * Several notifications merged into one email, see {@link DigestItem}. Only used for outbox
+         * messages; each merged notification is logged under its own type.
+         */
+        DIGEST
     }
 
     public enum NotificationStatus {
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,6 +18,10 @@ import java.util.List;
 @Builder
 public class NotificationPreferences {
 
+    public static final String DEFAULT_TIMEZONE = "UTC";
+    public static final LocalTime DEFAULT_WINDOW_START = LocalTime.of(9, 0);
+    public static final LocalTime DEFAULT_WINDOW_END = LocalTime.of(12, 0);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,7 +37,8 @@ public class NotificationPreferences {
     private Boolean priceDropAlertsEnabled;
 
     @ElementCollection
-    @CollectionTable(name = "reminder_days_before", joinColumns = @JoinColumn(name = "preference_id"))
+    @CollectionTable(name = "reminder_days_before", joinColumns = @JoinColumn(name = "preference_id"),
+        indexes = @Index(name = "idx_reminder_days_before_preference", columnList = "preference_id"))
     @Column(name = "days_before")
     @Builder.Default
     private List<Integer> reminderDaysBefore = new ArrayList<>();
@@ -41,6 +47,24 @@ public class NotificationPreferences {
     @Column(nullable = false)
     private Reminder.NotificationChannel preferredChannel;
 
+    /**
+     * IANA time zone reminders are delivered in, e.g. America/Argentina/Buenos_Aires.
+     */
+    private String timezone;
+
+    /**
+     * Local time of day reminders are spread across, on their scheduled date.
+     */
+    private LocalTime deliveryWindowStart;
+
+    private LocalTime deliveryWindowEnd;
+
+    /**
+     * Minutes email notifications are collected for before they are sent together as one digest;
+     * null sends each on its own.
+     */
+    private Integer digestWindowMinutes;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -63,10 +87,23 @@ public class NotificationPreferences {
         if (reminderDaysBefore == null || reminderDaysBefore.isEmpty()) {
             reminderDaysBefore = new ArrayList<>(List.of(14, 7, 2));
         }
+        applyDeliveryDefaults();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        applyDeliveryDefaults();
+    }
+
+    // Keep in sync with the fallbacks of ReminderRepository.SEND_AT, used for rows saved before
+    private void applyDeliveryDefaults() {
+        if (timezone == null) {
+            timezone = DEFAULT_TIMEZONE;
+        }
+        if (deliveryWindowStart == null || deliveryWindowEnd == null) {
+            deliveryWindowStart = DEFAULT_WINDOW_START;
+            deliveryWindowEnd = DEFAULT_WINDOW_END;
+        }
     }
 }
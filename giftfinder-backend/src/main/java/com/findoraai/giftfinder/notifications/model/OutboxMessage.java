@@ -0,0 +1,105 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A rendered notification waiting to be delivered. Messages are written in the same transaction
+ * as the change that triggers them and delivered afterwards by the outbox workers, which retry
+ * failures with backoff and give up into DEAD. User and reminder are kept as plain IDs so
+ * queued messages survive their deletion.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next_attempt", columnList = "status,next_attempt_at"),
+    @Index(name = "idx_outbox_channel_due", columnList = "channel,status,next_attempt_at"),
+    @Index(name = "idx_outbox_reference", columnList = "user_id,reference_id"),
+    @Index(name = "idx_outbox_status_sent", columnList = "status,sent_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long reminderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationLog.NotificationType notificationType;
+
+    @Column(nullable = false)
+    private String referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Reminder.NotificationChannel channel;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String body;
+
+    /**
+     * Date of the event the message is about; messages for nearer events are delivered first.
+     */
+    @Column(nullable = false)
+    private LocalDate eventDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * When a PENDING message is next due, or when the lease of a SENDING one expires.
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime sentAt;
+
+    public enum OutboxStatus {
+        PENDING,
+        SENDING,
+        SENT,
+        DEAD
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "price_alert_rules", indexes = {
+    @Index(name = "idx_price_alert_rule_product", columnList = "saved_product_id,enabled")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceAlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saved_product_id", nullable = false)
+    private SavedProduct savedProduct;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RuleType type;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal thresholdPercent;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal targetPrice;
+
+    @Column(nullable = false)
+    private Boolean enabled;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum RuleType {
+        PERCENT_DROP,
+        TARGET_PRICE,
+        ALL_TIME_LOW,
+        BACK_IN_STOCK
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (enabled == null) {
+            enabled = true;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,64 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only journal of detected price changes. The ID doubles as the stream offset that
+ * consumers track in {@link EventConsumerOffset}. Product and user are kept as plain IDs so
+ * the journal survives deletion of the products it describes. Events every consumer has
+ * processed are deleted once older than the replay window.
+ */
+@Entity
+@Table(name = "price_change_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long savedProductId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String productId;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal previousPrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal currentPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal lowestPrice;
+
+    @Column(nullable = false)
+    private String currency;
+
+    @Column(nullable = false)
+    private Boolean previouslyAvailable;
+
+    @Column(nullable = false)
+    private Boolean available;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (detectedAt == null) {
+            detectedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row per product and day; rolling 30/90-day windows are folded from at most 90 of these.
+ */
+@Entity
+@Table(name = "price_daily_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_price_daily_aggregate_product_day", columnNames = {"saved_product_id", "bucket_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saved_product_id", nullable = false)
+    private SavedProduct savedProduct;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal sumPrice;
+
+    @Column(nullable = false)
+    private Integer sampleCount;
+}
@@ -0,0 +1,64 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running price aggregates for a saved product, updated incrementally every time a
+ * {@link PriceHistory} row is written so statistics never require a scan over price_history.
+ */
+@Entity
+@Table(name = "price_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saved_product_id", nullable = false, unique = true)
+    private SavedProduct savedProduct;
+
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal allTimeLow;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal allTimeHigh;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal lastPrice;
+
+    @Column(nullable = false, precision = 14, scale = 4)
+    private BigDecimal ewmaPrice;
+
+    /**
+     * EWMA of the relative price change between consecutive observations (0.05 = 5%).
+     */
+    private Double volatility;
+
+    @Column(nullable = false)
+    private LocalDateTime firstCheckedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastCheckedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
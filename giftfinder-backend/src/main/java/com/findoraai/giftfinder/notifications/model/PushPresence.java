@@ -0,0 +1,35 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user holding at least one push connection to an instance, kept by that instance's
+ * PushPresenceTracker until it expires.
+ */
+@Entity
+@Table(name = "push_presence", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_push_presence_user_instance", columnNames = {"user_id", "instance_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PushPresence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String instanceId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
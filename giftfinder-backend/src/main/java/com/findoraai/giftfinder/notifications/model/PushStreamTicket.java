@@ -0,0 +1,29 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single-use ticket for opening a push stream, see PushStreamTickets. Only the ticket's
+ * SHA-256 is stored.
+ */
+@Entity
+@Table(name = "push_stream_tickets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PushStreamTicket {
+
+    @Id
+    private String ticketHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -4,13 +4,19 @@ import com.findoraai.giftfinder.auth.model.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "reminders", indexes = {
     @Index(name = "idx_reminder_user_scheduled_date", columnList = "user_id,scheduled_date"),
-    @Index(name = "idx_reminder_status_scheduled_date", columnList = "status,scheduled_date")
+    @Index(name = "idx_reminder_status_scheduled_date", columnList = "status,scheduled_date"),
+    @Index(name = "idx_reminder_status_send_at", columnList = "status,send_at")
+}, uniqueConstraints = {
+    // Conflict target of set-based generation, see ReminderRepository.insertRemindersForDates
+    @UniqueConstraint(name = "uk_reminder_date_days_scheduled",
+        columnNames = {"important_date_id", "days_before", "scheduled_date"})
 })
 @Getter
 @Setter
@@ -37,6 +43,12 @@ public class Reminder {
     @Column(nullable = false)
     private Integer daysBefore;
 
+    /**
+     * When to deliver, inside the user's delivery window in their time zone on the scheduled
+     * date; assigned by ReminderRepository.assignSendAt before the reminder can be sent.
+     */
+    private Instant sendAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ReminderStatus status;
@@ -55,6 +67,7 @@ public class Reminder {
 
     public enum ReminderStatus {
         PENDING,
+        SENDING,
         SENT,
         FAILED,
         CANCELLED
@@ -66,6 +79,14 @@ public class Reminder {
         WHATSAPP
     }
 
+    /**
+     * Occurrence of the important date this reminder is for, which for recurring dates differs
+     * from the stored date.
+     */
+    public LocalDate getOccurrenceDate() {
+        return scheduledDate.plusDays(daysBefore);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
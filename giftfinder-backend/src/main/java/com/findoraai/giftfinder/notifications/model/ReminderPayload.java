@@ -0,0 +1,56 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The email of a pending reminder, rendered ahead of its send window by ReminderPayloadJob so
+ * sending only queues it. Body and digest fragment are stored gzip-compressed. A payload is only
+ * used while its render version matches the current templates, it was rendered for the day the
+ * reminder is sent and its source hash still matches the reminder's user, date and recipient; it
+ * is deleted when the reminder's date or recipient changes and once the reminder is queued.
+ */
+@Entity
+@Table(name = "reminder_payloads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReminderPayload {
+
+    @Id
+    private Long reminderId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false)
+    private byte[] body;
+
+    @Column(nullable = false)
+    private byte[] fragment;
+
+    /**
+     * Days until the event as rendered, valid when the reminder is sent on its scheduled date.
+     */
+    @Column(nullable = false)
+    private Integer daysUntil;
+
+    @Column(nullable = false)
+    private Integer renderVersion;
+
+    /**
+     * Hash of the user, date and recipient fields rendered into the payload; null for payloads
+     * rendered before it was stored, which are never used.
+     */
+    private Integer sourceHash;
+
+    @Column(nullable = false)
+    private LocalDateTime renderedAt;
+}
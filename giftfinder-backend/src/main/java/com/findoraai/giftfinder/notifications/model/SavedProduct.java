@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "saved_products", indexes = {
     @Index(name = "idx_saved_product_user", columnList = "user_id"),
-    @Index(name = "idx_saved_product_tracking", columnList = "price_tracking_enabled")
+    @Index(name = "idx_saved_product_tracking", columnList = "price_tracking_enabled"),
+    @Index(name = "idx_saved_product_next_check", columnList = "price_tracking_enabled,next_check_at")
 })
 @Getter
 @Setter
@@ -57,6 +58,8 @@ public class SavedProduct {
     @Column(precision = 5, scale = 2)
     private BigDecimal priceDropThresholdPercent;
 
+    private LocalDateTime nextCheckAt;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -73,6 +76,9 @@ public class SavedProduct {
         if (priceDropThresholdPercent == null) {
             priceDropThresholdPercent = new BigDecimal("10.00");
         }
+        if (nextCheckAt == null) {
+            nextCheckAt = createdAt;
+        }
     }
 
     @PreUpdate
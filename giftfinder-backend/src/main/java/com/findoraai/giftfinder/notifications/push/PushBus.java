@@ -0,0 +1,160 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries push events to the instances holding the users' connections over Postgres
+ * LISTEN/NOTIFY. Events are published on {@value #CHANNEL} inside the caller's transaction, so
+ * they reach clients exactly when it commits and never for a rolled-back change; every instance
+ * listens on one dedicated connection and hands them to its {@link PushHub}, which drops those
+ * of users not connected to it. Each event is serialized once, however many clients receive it.
+ * <p>
+ * Push is best effort: events published while an instance was not listening, or while the user
+ * had no connection, are not replayed. Notifications are still sent through their own channel.
+ */
+@Component
+@Slf4j
+public class PushBus {
+
+    public static final String CHANNEL = "push_events";
+
+    public record Delivery(Long userId, PushEvent event) {}
+
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PushHub hub;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PushBus(DataSource dataSource, JdbcTemplate jdbcTemplate, PushHub hub) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hub = hub;
+    }
+
+    public void publish(Long userId, PushEvent event) {
+        publish(List.of(new Delivery(userId, event)));
+    }
+
+    /**
+     * Publish the events in one statement, in the caller's transaction if there is one.
+     */
+    public void publish(List<Delivery> deliveries) {
+        if (!hub.isEnabled() || deliveries.isEmpty()) {
+            return;
+        }
+        List<String> payloads = new ArrayList<>(deliveries.size());
+        for (Delivery delivery : deliveries) {
+            String payload = toPayload(delivery.userId(), delivery.event());
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                payload = toPayload(delivery.userId(), delivery.event().withoutDetails());
+            }
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                log.warn("Push event {} for user {} is too large to publish", delivery.event().referenceId(), delivery.userId());
+                continue;
+            }
+            payloads.add(payload);
+        }
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.queryForObject(
+            "SELECT count(pg_notify('" + CHANNEL + "', payload)) FROM unnest(?::text[]) AS payload",
+            Long.class, (Object) payloads.toArray(String[]::new));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        if (!hub.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("push-event-listener").daemon().start(this::listenLoop);
+    }
+
+    @PreDestroy
+    void stopListening() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * "userId type json", so the listener routes the event without parsing it
+     */
+    private static String toPayload(Long userId, PushEvent event) {
+        try {
+            return userId + " " + event.type() + " " + MAPPER.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Push event cannot be serialized", e);
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for push events");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Push event listener failed, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        int userEnd = payload.indexOf(' ');
+        int typeEnd = payload.indexOf(' ', userEnd + 1);
+        if (userEnd < 0 || typeEnd < 0) {
+            log.warn("Ignoring malformed push event: {}", payload);
+            return;
+        }
+        hub.deliver(Long.valueOf(payload.substring(0, userEnd)),
+            payload.substring(userEnd + 1, typeEnd), payload.substring(typeEnd + 1));
+    }
+}
@@ -0,0 +1,35 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+
+import java.time.Instant;
+
+/**
+ * A notification pushed live to the user's connected clients, sent to them as JSON.
+ *
+ * @param type Notification type, e.g. REMINDER or PRICE_DROP; also the server-sent event name
+ * @param referenceId The notification's reference ID, the same as its email's
+ * @param sentAt ISO-8601 instant the event was published
+ */
+public record PushEvent(
+    String type,
+    String referenceId,
+    String title,
+    String message,
+    String url,
+    String imageUrl,
+    String sentAt
+) {
+
+    public static PushEvent of(OutboxMessage message) {
+        return new PushEvent(message.getNotificationType().name(), message.getReferenceId(),
+            message.getSubject(), null, null, null, Instant.now().toString());
+    }
+
+    /**
+     * The same event without its optional text, for when it is too large to publish
+     */
+    PushEvent withoutDetails() {
+        return new PushEvent(type, referenceId, title, null, url, null, sentAt);
+    }
+}
@@ -0,0 +1,269 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds this instance's server-sent event connections and writes push events to them. Every
+ * connection has a bounded buffer of events waiting to be written: when a slow client lets it
+ * fill up, the oldest event is dropped, so one client never holds up the others or grows memory.
+ * An idle connection holds no thread; a virtual thread writes a connection's buffer out whenever
+ * it has events, and blocking on a slow client's socket only parks it. What an idle connection
+ * does hold is Tomcat's request and response buffers, about 100 KB of heap. Which users are
+ * connected is shared with the other instances through the {@link PushPresenceTracker}.
+ * <p>
+ * Configured under {@code notifications.push}:
+ * <ul>
+ *   <li>{@code enabled}: accept connections and push events (default true)</li>
+ *   <li>{@code max-connections}: connections per instance, further ones are refused (default 10000)</li>
+ *   <li>{@code max-connections-per-user}: a user's oldest connection is closed beyond this (default 5)</li>
+ *   <li>{@code buffer-size}: events waiting per connection (default 32)</li>
+ *   <li>{@code heartbeat-interval}: comment sent to every connection to detect dead ones (default PT30S)</li>
+ *   <li>{@code max-lifetime}: connections are closed after this; clients reconnect with a new ticket (default PT30M)</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class PushHub {
+
+    public record HubStats(boolean enabled,
+                           int connections,
+                           int users,
+                           int maxConnections,
+                           int bufferSize,
+                           long opened,
+                           long refused,
+                           long delivered,
+                           long dropped,
+                           long failed) {}
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> CONNECTED =
+        SseEmitter.event().comment("connected").build();
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+        SseEmitter.event().comment("heartbeat").build();
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService writers =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("push-writer-", 0).factory());
+
+    private final PushPresenceTracker presenceTracker;
+    private final boolean enabled;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final int bufferSize;
+    private final Duration maxLifetime;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public PushHub(PushPresenceTracker presenceTracker,
+                   @Value("${notifications.push.enabled:true}") boolean enabled,
+                   @Value("${notifications.push.max-connections:10000}") int maxConnections,
+                   @Value("${notifications.push.max-connections-per-user:5}") int maxConnectionsPerUser,
+                   @Value("${notifications.push.buffer-size:32}") int bufferSize,
+                   @Value("${notifications.push.max-lifetime:PT30M}") Duration maxLifetime) {
+        this.presenceTracker = presenceTracker;
+        this.enabled = enabled;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxLifetime = maxLifetime;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Open a connection for the user, closing their oldest one if they already have the maximum.
+     * @return The connection's emitter, or empty if push is disabled or this instance is full
+     */
+    public Optional<SseEmitter> connect(Long userId) {
+        if (!enabled) {
+            refused.incrementAndGet();
+            return Optional.empty();
+        }
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            refused.incrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(maxLifetime.toMillis());
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+
+        List<Connection> userConnections = connections.compute(userId, (id, existing) -> {
+            List<Connection> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(connection);
+            return list;
+        });
+        opened.incrementAndGet();
+        if (userConnections.size() == 1) {
+            presenceTracker.connected(userId);
+        }
+        if (userConnections.size() > maxConnectionsPerUser) {
+            userConnections.stream()
+                .min(Comparator.comparingLong(Connection::openedAt))
+                .ifPresent(Connection::close);
+        }
+        // Commits the response, so clients and proxies see the stream open right away
+        connection.offer(CONNECTED);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Queue the event on each of the user's connections to this instance, if any. It is built
+     * once and shared by all of them.
+     * @param type Event name
+     * @param json The {@link PushEvent} serialized as JSON
+     */
+    public void deliver(Long userId, String type, String json) {
+        List<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event().name(type).data(json).build();
+        userConnections.forEach(connection -> connection.offer(event));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.push.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        connections.values().forEach(userConnections ->
+            userConnections.forEach(connection -> connection.offer(HEARTBEAT)));
+        if (enabled) {
+            presenceTracker.refresh(List.copyOf(connections.keySet()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        writers.shutdownNow();
+    }
+
+    public HubStats getStats() {
+        return new HubStats(enabled, connectionCount.get(), connections.size(), maxConnections, bufferSize,
+            opened.get(), refused.get(), delivered.get(), dropped.get(), failed.get());
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.markClosed()) {
+            return;
+        }
+        connectionCount.decrementAndGet();
+        List<Connection> remaining = connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        if (remaining == null) {
+            // Should the user reconnect meanwhile, the next heartbeat restores their presence
+            presenceTracker.disconnected(connection.userId);
+        }
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> buffer = new ArrayDeque<>();
+        private boolean writing;
+        private boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        long openedAt() {
+            return openedAt;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped.incrementAndGet();
+                }
+                buffer.addLast(event);
+                if (writing) {
+                    return;
+                }
+                writing = true;
+            }
+            writers.execute(this::write);
+        }
+
+        private void write() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                synchronized (this) {
+                    event = closed ? null : buffer.pollFirst();
+                    if (event == null) {
+                        writing = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                    if (event != HEARTBEAT && event != CONNECTED) {
+                        delivered.incrementAndGet();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away
+                    failed.incrementAndGet();
+                    log.debug("Push connection of user {} failed: {}", userId, e.getMessage());
+                    close();
+                    return;
+                }
+            }
+        }
+
+        synchronized boolean markClosed() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer.clear();
+            return true;
+        }
+
+        void close() {
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("Closing push connection of user {} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
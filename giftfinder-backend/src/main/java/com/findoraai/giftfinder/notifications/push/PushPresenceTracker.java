@@ -0,0 +1,102 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Records in push_presence which users hold a push connection to this instance, so whichever
+ * instance sends a push can tell whether it reaches anyone. A user's row is written when their
+ * first connection here opens and deleted when their last one closes. Every heartbeat rewrites
+ * this instance's rows from its connections and extends them to two heartbeat intervals, so a
+ * row lost to a racing reconnect comes back and the rows of an instance that died expire. All
+ * times are the database's, so instances' clocks do not matter.
+ * <p>
+ * Errors only leave the rows as they were: users wrongly missing are sent email instead, and
+ * rows wrongly left expire.
+ */
+@Component
+@Slf4j
+public class PushPresenceTracker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public PushPresenceTracker(JdbcTemplate jdbcTemplate,
+                               @Value("${notifications.push.heartbeat-interval:PT30S}") Duration heartbeatInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = Math.max(1, heartbeatInterval.multipliedBy(2).toSeconds());
+    }
+
+    /**
+     * The users among those given that hold a connection to any instance.
+     */
+    public Set<Long> findConnected(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT DISTINCT user_id FROM push_presence WHERE user_id = ANY(?::bigint[]) AND expires_at > now()",
+            Long.class, (Object) userIds.toArray(Long[]::new)));
+    }
+
+    void connected(Long userId) {
+        try {
+            upsert(List.of(userId));
+        } catch (DataAccessException e) {
+            log.warn("Recording push connection of user {} failed: {}", userId, e.getMessage());
+        }
+    }
+
+    void disconnected(Long userId) {
+        try {
+            jdbcTemplate.update("DELETE FROM push_presence WHERE user_id = ? AND instance_id = ?", userId, instanceId);
+        } catch (DataAccessException e) {
+            log.warn("Removing push connection of user {} failed: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Replace this instance's rows with the given users and drop every instance's expired rows.
+     */
+    void refresh(Collection<Long> userIds) {
+        try {
+            upsert(userIds);
+            jdbcTemplate.update("DELETE FROM push_presence WHERE instance_id = ? AND NOT (user_id = ANY(?::bigint[]))",
+                instanceId, (Object) userIds.toArray(Long[]::new));
+            jdbcTemplate.update("DELETE FROM push_presence WHERE expires_at <= now()");
+        } catch (DataAccessException e) {
+            log.warn("Refreshing push presence failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void removeAll() {
+        try {
+            jdbcTemplate.update("DELETE FROM push_presence WHERE instance_id = ?", instanceId);
+        } catch (DataAccessException e) {
+            log.warn("Removing push presence failed: {}", e.getMessage());
+        }
+    }
+
+    private void upsert(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO push_presence (user_id, instance_id, expires_at) " +
+                "SELECT user_id, ?, now() + make_interval(secs => ?) FROM unnest(?::bigint[]) AS user_id " +
+                "ON CONFLICT (user_id, instance_id) DO UPDATE SET expires_at = EXCLUDED.expires_at",
+            instanceId, ttlSeconds, (Object) userIds.toArray(Long[]::new));
+    }
+}
@@ -0,0 +1,75 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Short-lived, single-use tickets that open a push stream. Browsers' EventSource cannot send an
+ * Authorization header, and a JWT in the stream URL would be written to access logs and proxy
+ * logs where it stays valid for a day; a ticket in the URL is useless once the stream opened or
+ * its lifetime ({@code notifications.push.ticket-ttl}, default PT30S) passed. Tickets are kept
+ * in push_stream_tickets, so any instance can redeem one another issued.
+ */
+@Component
+public class PushStreamTickets {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+
+    public PushStreamTickets(JdbcTemplate jdbcTemplate,
+                             @Value("${notifications.push.ticket-ttl:PT30S}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Issue a ticket for the user, dropping expired ones.
+     */
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        jdbcTemplate.update("DELETE FROM push_stream_tickets WHERE expires_at <= now()");
+        jdbcTemplate.update("INSERT INTO push_stream_tickets (ticket_hash, user_id, expires_at) " +
+            "VALUES (?, ?, now() + make_interval(secs => ?))", hash(ticket), userId, ttl.toMillis() / 1000.0);
+        return ticket;
+    }
+
+    /**
+     * Redeem a ticket; each one is only accepted once.
+     * @return The user the ticket was issued to, or empty if it is unknown, used or expired
+     */
+    public Optional<Long> redeem(String ticket) {
+        List<Long> userIds = jdbcTemplate.queryForList(
+            "DELETE FROM push_stream_tickets WHERE ticket_hash = ? RETURNING CASE WHEN expires_at > now() THEN user_id END",
+            Long.class, hash(ticket));
+        return userIds.stream().filter(Objects::nonNull).findFirst();
+    }
+
+    private static String hash(String ticket) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(ticket.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
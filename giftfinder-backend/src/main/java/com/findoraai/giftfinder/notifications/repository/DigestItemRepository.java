@@ -0,0 +1,50 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.DigestItem;
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DigestItemRepository extends JpaRepository<DigestItem, Long> {
+
+    Optional<DigestItem> findFirstByUserIdAndOutboxMessageIdIsNullOrderByDueAt(Long userId);
+
+    @Query("SELECT i.userId FROM DigestItem i WHERE i.outboxMessageId IS NULL AND i.dueAt <= :now " +
+        "GROUP BY i.userId ORDER BY MIN(i.dueAt)")
+    List<Long> findDueUserIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM DigestItem i WHERE i.userId = :userId AND i.outboxMessageId IS NULL " +
+        "ORDER BY i.eventDate, i.id")
+    List<DigestItem> lockBuffered(@Param("userId") Long userId);
+
+    List<DigestItem> findByOutboxMessageIdOrderById(Long outboxMessageId);
+
+    @Modifying
+    @Query("DELETE FROM DigestItem i WHERE i.outboxMessageId = :outboxMessageId")
+    int deleteByOutboxMessageId(@Param("outboxMessageId") Long outboxMessageId);
+
+    /**
+     * Whether the notification is buffered, or merged into a digest still waiting for delivery.
+     */
+    @Query("SELECT COUNT(i) > 0 FROM DigestItem i WHERE i.userId = :userId " +
+        "AND i.notificationType = :type AND i.referenceId = :referenceId AND i.channel = :channel " +
+        "AND (i.outboxMessageId IS NULL OR EXISTS (SELECT 1 FROM OutboxMessage m WHERE m.id = i.outboxMessageId " +
+        "AND m.status IN ('PENDING', 'SENDING')))")
+    boolean existsUndelivered(@Param("userId") Long userId,
+                              @Param("type") NotificationLog.NotificationType type,
+                              @Param("referenceId") String referenceId,
+                              @Param("channel") Reminder.NotificationChannel channel);
+}
@@ -0,0 +1,21 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.EventConsumerOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EventConsumerOffsetRepository extends JpaRepository<EventConsumerOffset, String> {
+    /**
+     * Lock a consumer's offset row so only one node processes that consumer's next batch.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM EventConsumerOffset o WHERE o.consumerName = :name")
+    Optional<EventConsumerOffset> findForUpdate(@Param("name") String name);
+}
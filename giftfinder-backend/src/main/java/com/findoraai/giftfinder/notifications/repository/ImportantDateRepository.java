@@ -3,20 +3,61 @@ package com.findoraai.giftfinder.notifications.repository;
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.model.ImportantDate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ImportantDateRepository extends JpaRepository<ImportantDate, Long> {
     List<ImportantDate> findByUser(User user);
     
-    @Query("SELECT d FROM ImportantDate d WHERE d.user = :user AND FUNCTION('MONTH', d.date) = FUNCTION('MONTH', :date) AND FUNCTION('DAY', d.date) = FUNCTION('DAY', :date)")
+    /**
+     * Dates of the user occurring on the given day, including anniversaries of recurring dates.
+     */
+    @Query("SELECT d FROM ImportantDate d WHERE d.user = :user AND d.nextOccurrence = :date")
     List<ImportantDate> findUpcomingDates(@Param("user") User user, @Param("date") LocalDate date);
     
-    @Query("SELECT d FROM ImportantDate d WHERE d.date BETWEEN :startDate AND :endDate")
+    /**
+     * Dates occurring in the range, by a range scan of the next-occurrence index.
+     */
+    @Query("SELECT d FROM ImportantDate d WHERE d.nextOccurrence BETWEEN :startDate AND :endDate")
     List<ImportantDate> findDatesBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Move the next occurrence of recurring dates whose occurrence has passed to their next
+     * anniversary (February 29 falls on February 28 in common years, like
+     * {@link ImportantDate#occurrenceOnOrAfter}), and fill it in for rows that have none yet.
+     * @return Number of dates updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE important_dates SET next_occurrence = CASE " +
+        "WHEN NOT recurring OR date >= :today THEN date " +
+        "WHEN CAST(date + make_interval(years => CAST(date_part('year', CAST(:today AS date)) - date_part('year', date) AS int)) AS date) >= :today " +
+        "THEN CAST(date + make_interval(years => CAST(date_part('year', CAST(:today AS date)) - date_part('year', date) AS int)) AS date) " +
+        "ELSE CAST(date + make_interval(years => CAST(date_part('year', CAST(:today AS date)) - date_part('year', date) AS int) + 1) AS date) END " +
+        "WHERE next_occurrence IS NULL OR (recurring AND next_occurrence < :today)", nativeQuery = true)
+    int rollForwardOccurrences(@Param("today") LocalDate today);
+
+    /**
+     * Nearest date in the range for each user, as (userId, date) pairs.
+     */
+    @Query("SELECT d.user.id, MIN(d.nextOccurrence) FROM ImportantDate d WHERE d.user.id IN :userIds AND d.nextOccurrence BETWEEN :startDate AND :endDate GROUP BY d.user.id")
+    List<Object[]> findNearestDateByUser(@Param("userIds") Collection<Long> userIds,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Nearest date in the range for each recipient, as (recipientId, date) pairs.
+     */
+    @Query("SELECT d.recipient.id, MIN(d.nextOccurrence) FROM ImportantDate d WHERE d.recipient.id IN :recipientIds AND d.nextOccurrence BETWEEN :startDate AND :endDate GROUP BY d.recipient.id")
+    List<Object[]> findNearestDateByRecipient(@Param("recipientIds") Collection<Long> recipientIds,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
 }
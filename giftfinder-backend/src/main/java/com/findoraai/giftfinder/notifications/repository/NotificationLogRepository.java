@@ -3,10 +3,14 @@ package com.findoraai.giftfinder.notifications.repository;
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.model.NotificationLog;
 import com.findoraai.giftfinder.notifications.model.Reminder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,11 +24,29 @@ public interface NotificationLogRepository extends JpaRepository<NotificationLog
         LocalDateTime sentAt
     );
     
-    boolean existsByUserAndNotificationTypeAndReferenceIdAndChannelAndSentAtAfter(
-        User user, 
+    /**
+     * Bounded on both sides so that only the partitions overlapping the window are scanned.
+     */
+    boolean existsByUserAndNotificationTypeAndReferenceIdAndChannelAndSentAtBetween(
+        User user,
         NotificationLog.NotificationType notificationType,
         String referenceId,
         Reminder.NotificationChannel channel,
-        LocalDateTime sentAt
+        LocalDateTime from,
+        LocalDateTime to
     );
+
+    @Query("SELECT MIN(l.id) FROM NotificationLog l WHERE l.sentAt >= :since")
+    Optional<Long> findFirstIdSentSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT COALESCE(MAX(l.id), 0) FROM NotificationLog l")
+    long findHeadId();
+
+    /**
+     * Dedup keys of the entries after the given ID, in ID order: id, user ID, type, reference ID,
+     * channel, sent at.
+     */
+    @Query("SELECT l.id, l.user.id, l.notificationType, l.referenceId, l.channel, l.sentAt " +
+           "FROM NotificationLog l WHERE l.id > :afterId ORDER BY l.id")
+    List<Object[]> findDedupKeysAfter(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -2,12 +2,30 @@ package com.findoraai.giftfinder.notifications.repository;
 
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.model.NotificationPreferences;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NotificationPreferencesRepository extends JpaRepository<NotificationPreferences, Long> {
+    String INVALIDATION_CHANNEL = "preference_invalidations";
+
     Optional<NotificationPreferences> findByUser(User user);
+
+    @EntityGraph(attributePaths = "reminderDaysBefore")
+    @Query("SELECT p FROM NotificationPreferences p WHERE p.user.id IN :userIds")
+    List<NotificationPreferences> findWithDaysByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Tell every instance the user's preferences changed; delivered when the current transaction commits.
+     */
+    @Query(value = "SELECT CAST(pg_notify('" + INVALIDATION_CHANNEL + "', CAST(:userId AS text)) AS text)",
+        nativeQuery = true)
+    String notifyChanged(@Param("userId") Long userId);
 }
@@ -0,0 +1,122 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Lock the channel's due messages no other worker holds, nearest event first. SENDING messages
+     * whose lease expired are due again, as their worker is presumed dead.
+     */
+    @Query(value = "SELECT id FROM notification_outbox " +
+        "WHERE channel = :channel AND status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+        "ORDER BY event_date, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("channel") String channel, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'SENDING', m.attempts = m.attempts + 1, " +
+        "m.nextAttemptAt = :leaseUntil, m.updatedAt = :now WHERE m.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * The update methods below only apply to the attempt that claimed the message, so a worker
+     * whose lease expired cannot overwrite the outcome of the attempt that took over.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'SENT', m.sentAt = :now, m.lastError = NULL, m.updatedAt = :now " +
+        "WHERE m.id = :id AND m.status = 'SENDING' AND m.attempts = :attempts")
+    int markSent(@Param("id") Long id, @Param("attempts") int attempts, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'PENDING', m.nextAttemptAt = :nextAttemptAt, " +
+        "m.lastError = :error, m.updatedAt = :now " +
+        "WHERE m.id = :id AND m.status = 'SENDING' AND m.attempts = :attempts")
+    int scheduleRetry(@Param("id") Long id,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("error") String error,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Hand the message back without counting the attempt, for one that never reached its channel.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'PENDING', m.attempts = m.attempts - 1, " +
+        "m.nextAttemptAt = :nextAttemptAt, m.updatedAt = :now " +
+        "WHERE m.id = :id AND m.status = 'SENDING' AND m.attempts = :attempts")
+    int defer(@Param("id") Long id,
+              @Param("attempts") int attempts,
+              @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'PENDING', m.channel = :channel, m.attempts = m.attempts - 1, " +
+        "m.nextAttemptAt = :now, m.updatedAt = :now " +
+        "WHERE m.id = :id AND m.status = 'SENDING' AND m.attempts = :attempts")
+    int reroute(@Param("id") Long id,
+                @Param("attempts") int attempts,
+                @Param("channel") Reminder.NotificationChannel channel,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'DEAD', m.lastError = :error, m.updatedAt = :now " +
+        "WHERE m.id = :id AND m.status = 'SENDING' AND m.attempts = :attempts")
+    int markDead(@Param("id") Long id,
+                 @Param("attempts") int attempts,
+                 @Param("error") String error,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'PENDING', m.attempts = 0, m.nextAttemptAt = :now, " +
+        "m.updatedAt = :now WHERE m.id = :id AND m.status = 'DEAD'")
+    int requeueDead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete up to {@code limit} messages sent before the cutoff, oldest first. DEAD messages are
+     * kept until an admin retries them.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notification_outbox WHERE id IN (SELECT id FROM notification_outbox " +
+        "WHERE status = 'SENT' AND sent_at < :before ORDER BY sent_at LIMIT :limit)", nativeQuery = true)
+    int deleteSentBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    boolean existsByUserIdAndNotificationTypeAndReferenceIdAndChannelAndStatusIn(
+        Long userId,
+        NotificationLog.NotificationType notificationType,
+        String referenceId,
+        Reminder.NotificationChannel channel,
+        Collection<OutboxMessage.OutboxStatus> statuses
+    );
+
+    List<OutboxMessage> findByStatusOrderByUpdatedAtDesc(OutboxMessage.OutboxStatus status, Pageable pageable);
+
+    @Query("SELECT m.status, COUNT(m) FROM OutboxMessage m GROUP BY m.status")
+    List<Object[]> countByStatus();
+
+    @Query(value = "SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+        "WHERE conname = 'notification_outbox_notification_type_check'", nativeQuery = true)
+    String findNotificationTypeCheck();
+
+    @Modifying
+    @Transactional
+    @Query(value = "ALTER TABLE notification_outbox DROP CONSTRAINT IF EXISTS notification_outbox_notification_type_check, " +
+        "ADD CONSTRAINT notification_outbox_notification_type_check " +
+        "CHECK (notification_type IN ('REMINDER', 'PRICE_DROP', 'DIGEST'))", nativeQuery = true)
+    void replaceNotificationTypeCheck();
+}
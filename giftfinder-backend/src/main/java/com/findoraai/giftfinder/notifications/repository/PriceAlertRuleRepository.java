@@ -0,0 +1,18 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PriceAlertRuleRepository extends JpaRepository<PriceAlertRule, Long> {
+    List<PriceAlertRule> findBySavedProduct(SavedProduct savedProduct);
+
+    List<PriceAlertRule> findBySavedProductInAndEnabled(Collection<SavedProduct> savedProducts, Boolean enabled);
+
+    void deleteBySavedProduct(SavedProduct savedProduct);
+}
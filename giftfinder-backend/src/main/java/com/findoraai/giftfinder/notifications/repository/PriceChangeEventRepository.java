@@ -0,0 +1,30 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.PriceChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PriceChangeEventRepository extends JpaRepository<PriceChangeEvent, Long> {
+    List<PriceChangeEvent> findByIdGreaterThanOrderByIdAsc(Long offset, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM PriceChangeEvent e")
+    long findHeadOffset();
+
+    /**
+     * Delete up to {@code limit} events that every consumer has processed and that were detected
+     * before the cutoff, oldest first. Nothing is deleted while no consumer is registered.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM price_change_events WHERE id IN (SELECT id FROM price_change_events " +
+        "WHERE id <= (SELECT MIN(last_offset) FROM event_consumer_offsets) AND detected_at < :before " +
+        "ORDER BY id LIMIT :limit)", nativeQuery = true)
+    int deleteConsumedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
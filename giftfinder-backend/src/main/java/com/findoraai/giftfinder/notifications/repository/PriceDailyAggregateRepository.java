@@ -0,0 +1,48 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.PriceDailyAggregate;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceDailyAggregateRepository extends JpaRepository<PriceDailyAggregate, Long> {
+    Optional<PriceDailyAggregate> findBySavedProductAndBucketDate(SavedProduct savedProduct, LocalDate bucketDate);
+
+    List<PriceDailyAggregate> findBySavedProductAndBucketDateGreaterThanEqual(SavedProduct savedProduct, LocalDate from);
+
+    void deleteBySavedProduct(SavedProduct savedProduct);
+
+    /**
+     * Add an observation to the product's bucket for the day, creating it if needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO price_daily_aggregates (saved_product_id, bucket_date, min_price, max_price, sum_price, sample_count) " +
+        "VALUES (:productId, :day, :price, :price, :price, 1) " +
+        "ON CONFLICT (saved_product_id, bucket_date) DO UPDATE SET " +
+        "min_price = LEAST(price_daily_aggregates.min_price, EXCLUDED.min_price), " +
+        "max_price = GREATEST(price_daily_aggregates.max_price, EXCLUDED.max_price), " +
+        "sum_price = price_daily_aggregates.sum_price + EXCLUDED.sum_price, " +
+        "sample_count = price_daily_aggregates.sample_count + 1", nativeQuery = true)
+    int addToBucket(@Param("productId") Long productId, @Param("day") LocalDate day, @Param("price") BigDecimal price);
+
+    /**
+     * Recompute all of the product's buckets from its price history.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO price_daily_aggregates (saved_product_id, bucket_date, min_price, max_price, sum_price, sample_count) " +
+        "SELECT saved_product_id, CAST(checked_at AS date), MIN(price), MAX(price), SUM(price), COUNT(*) " +
+        "FROM price_history WHERE saved_product_id = :productId GROUP BY saved_product_id, CAST(checked_at AS date) " +
+        "ON CONFLICT (saved_product_id, bucket_date) DO UPDATE SET " +
+        "min_price = EXCLUDED.min_price, max_price = EXCLUDED.max_price, " +
+        "sum_price = EXCLUDED.sum_price, sample_count = EXCLUDED.sample_count", nativeQuery = true)
+    int rebuildBuckets(@Param("productId") Long productId);
+}
@@ -1,14 +1,21 @@
 package com.findoraai.giftfinder.notifications.repository;
 
+import com.findoraai.giftfinder.notifications.dto.PricePointResponse;
 import com.findoraai.giftfinder.notifications.model.PriceHistory;
 import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long> {
@@ -21,4 +28,38 @@ public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long
         List<PriceHistory> results = findTopByProduct(product);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
+
+    long countBySavedProduct(SavedProduct savedProduct);
+
+    /**
+     * Number of observations of each of the given products, as (savedProductId, count) pairs.
+     */
+    @Query("SELECT ph.savedProduct.id, COUNT(ph) FROM PriceHistory ph WHERE ph.savedProduct.id IN :productIds GROUP BY ph.savedProduct.id")
+    List<Object[]> countByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT COUNT(ph) FROM PriceHistory ph WHERE ph.savedProduct = :product AND ph.checkedAt BETWEEN :from AND :to")
+    long countByProductBetween(@Param("product") SavedProduct product,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    /**
+     * Stream (checkedAt, price) pairs in chronological order. Rows are fetched from the server cursor
+     * in fetch-size batches and are not attached to the persistence context, so memory use does not
+     * grow with the length of the history. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.findoraai.giftfinder.notifications.dto.PricePointResponse(ph.checkedAt, ph.price) " +
+           "FROM PriceHistory ph WHERE ph.savedProduct = :product AND ph.checkedAt BETWEEN :from AND :to " +
+           "ORDER BY ph.checkedAt ASC, ph.id ASC")
+    Stream<PricePointResponse> streamPointsBetween(@Param("product") SavedProduct product,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Stream the product's whole history in chronological order, like {@link #streamPointsBetween}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.findoraai.giftfinder.notifications.dto.PricePointResponse(ph.checkedAt, ph.price) " +
+           "FROM PriceHistory ph WHERE ph.savedProduct = :product ORDER BY ph.checkedAt ASC, ph.id ASC")
+    Stream<PricePointResponse> streamPoints(@Param("product") SavedProduct product);
 }
@@ -0,0 +1,36 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.PriceStats;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceStatsRepository extends JpaRepository<PriceStats, Long> {
+    Optional<PriceStats> findBySavedProduct(SavedProduct savedProduct);
+
+    /**
+     * Create the product's row with no observations unless it exists, so concurrent first
+     * observations converge on one row to lock.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO price_stats (saved_product_id, sample_count, all_time_low, all_time_high, " +
+        "last_price, ewma_price, volatility, first_checked_at, last_checked_at, updated_at) " +
+        "VALUES (:productId, 0, :price, :price, :price, :price, 0, :checkedAt, :checkedAt, :checkedAt) " +
+        "ON CONFLICT (saved_product_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("productId") Long productId,
+                       @Param("price") BigDecimal price,
+                       @Param("checkedAt") LocalDateTime checkedAt);
+
+    List<PriceStats> findBySavedProductIn(List<SavedProduct> savedProducts);
+
+    void deleteBySavedProduct(SavedProduct savedProduct);
+}
@@ -0,0 +1,46 @@
+package com.findoraai.giftfinder.notifications.repository;
+
+import com.findoraai.giftfinder.notifications.model.ReminderPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ReminderPayloadRepository extends JpaRepository<ReminderPayload, Long> {
+
+    /**
+     * Pending reminders scheduled up to the given day without a payload of the current render
+     * version, soonest first.
+     */
+    @Query(value = "SELECT r.id FROM reminders r " +
+        "LEFT JOIN reminder_payloads p ON p.reminder_id = r.id " +
+        "WHERE r.status = 'PENDING' AND r.scheduled_date <= :until " +
+        "AND (p.reminder_id IS NULL OR p.render_version <> :renderVersion) " +
+        "ORDER BY r.scheduled_date, r.id LIMIT :limit", nativeQuery = true)
+    List<Long> findUnrenderedReminderIds(@Param("until") LocalDate until,
+                                         @Param("renderVersion") int renderVersion,
+                                         @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM reminder_payloads p USING reminders r " +
+        "WHERE r.id = p.reminder_id AND r.important_date_id = :importantDateId", nativeQuery = true)
+    int deleteByImportantDateId(@Param("importantDateId") Long importantDateId);
+
+    @Modifying
+    @Query(value = "DELETE FROM reminder_payloads p USING reminders r, important_dates d " +
+        "WHERE r.id = p.reminder_id AND d.id = r.important_date_id AND d.recipient_id = :recipientId", nativeQuery = true)
+    int deleteByRecipientId(@Param("recipientId") Long recipientId);
+
+    /**
+     * Delete the payloads of reminders no longer pending: sent elsewhere, cancelled or deleted.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM reminder_payloads p WHERE NOT EXISTS " +
+        "(SELECT 1 FROM reminders r WHERE r.id = p.reminder_id AND r.status = 'PENDING')", nativeQuery = true)
+    int deleteObsolete();
+}
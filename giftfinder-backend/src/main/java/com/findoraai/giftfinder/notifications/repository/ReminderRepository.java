@@ -3,12 +3,18 @@ package com.findoraai.giftfinder.notifications.repository;
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.model.ImportantDate;
 import com.findoraai.giftfinder.notifications.model.Reminder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +26,174 @@ public interface ReminderRepository extends JpaRepository<Reminder, Long> {
     
     @Query("SELECT r FROM Reminder r WHERE r.scheduledDate <= :date AND r.status = :status")
     List<Reminder> findDueReminders(@Param("date") LocalDate date, @Param("status") Reminder.ReminderStatus status);
+
+    /**
+     * The reminders with their user, important date and its recipient, in one query.
+     */
+    @Query("SELECT r FROM Reminder r JOIN FETCH r.user JOIN FETCH r.importantDate d LEFT JOIN FETCH d.recipient " +
+        "WHERE r.id IN :ids")
+    List<Reminder> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs of the pending reminders due in [from, to), earliest first.
+     */
+    @Query("SELECT r.id FROM Reminder r WHERE r.status = 'PENDING' AND r.sendAt >= :from AND r.sendAt < :to ORDER BY r.sendAt, r.id")
+    List<Long> findPendingIdsInShard(@Param("from") Instant from, @Param("to") Instant to, Pageable pageable);
+
+    /**
+     * Move a reminder between statuses if it is still in the expected one.
+     * @return 1 if this call moved it, 0 if it was in another status
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reminder r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") Reminder.ReminderStatus from,
+                   @Param("to") Reminder.ReminderStatus to,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reminder r SET r.status = 'SENT', r.sentAt = :now, r.updatedAt = :now WHERE r.id = :id AND r.status = 'SENDING'")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT pg_get_constraintdef(oid) FROM pg_constraint WHERE conname = 'reminders_status_check'",
+        nativeQuery = true)
+    String findStatusCheck();
+
+    @Modifying
+    @Transactional
+    @Query(value = "ALTER TABLE reminders DROP CONSTRAINT IF EXISTS reminders_status_check, " +
+        "ADD CONSTRAINT reminders_status_check " +
+        "CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED', 'CANCELLED'))", nativeQuery = true)
+    void replaceStatusCheck();
+
+    /**
+     * Shards of {@code shardSeconds} (counted from the epoch) holding pending reminders due before
+     * the given instant, including overdue ones.
+     */
+    @Query(value = "SELECT DISTINCT CAST(floor(EXTRACT(EPOCH FROM send_at) / :shardSeconds) AS bigint) AS shard " +
+        "FROM reminders WHERE status = 'PENDING' AND send_at < :before ORDER BY shard", nativeQuery = true)
+    List<Long> findPendingShards(@Param("shardSeconds") long shardSeconds, @Param("before") Instant before);
     
-    Optional<Reminder> findByUserAndImportantDateAndDaysBeforeAndScheduledDate(
+    Optional<Reminder> findByUserAndImportantDateAndDaysBeforeEqualsAndScheduledDate(
         User user, ImportantDate importantDate, Integer daysBefore, LocalDate scheduledDate);
     
-    boolean existsByUserAndImportantDateAndDaysBeforeAndScheduledDate(
+    boolean existsByUserAndImportantDateAndDaysBeforeEqualsAndScheduledDate(
         User user, ImportantDate importantDate, Integer daysBefore, LocalDate scheduledDate);
+
+    /**
+     * Reminders every important date should have, as the FROM clause of the native queries below:
+     * one row per date {@code d} and days before {@code days.days_before} configured in its owner's
+     * preferences {@code p} (14, 7 and 2 days when none are set), while reminders are enabled.
+     */
+    String DATE_REMINDER_DAYS = "FROM important_dates d " +
+        "JOIN notification_preferences p ON p.user_id = d.user_id AND p.reminders_enabled = true " +
+        "CROSS JOIN LATERAL (" +
+        "  SELECT DISTINCT r.days_before FROM reminder_days_before r WHERE r.preference_id = p.id " +
+        "  UNION ALL " +
+        "  SELECT dflt.days_before FROM unnest(ARRAY[14, 7, 2]) AS dflt(days_before) " +
+        "  WHERE NOT EXISTS (SELECT 1 FROM reminder_days_before r2 WHERE r2.preference_id = p.id)" +
+        ") days ";
+
+    String INSERT_DATE_REMINDERS = "INSERT INTO reminders (user_id, important_date_id, scheduled_date, days_before, status, channel, created_at, updated_at) " +
+        "SELECT d.user_id, d.id, d.next_occurrence - days.days_before, days.days_before, 'PENDING', p.preferred_channel, :now, :now " +
+        DATE_REMINDER_DAYS;
+
+    /**
+     * Existing reminders are kept, except cancelled ones, which are expected again and revived.
+     */
+    String ON_REMINDER_CONFLICT = "ON CONFLICT (important_date_id, days_before, scheduled_date) DO UPDATE " +
+        "SET status = 'PENDING', channel = EXCLUDED.channel, send_at = NULL, updated_at = EXCLUDED.updated_at " +
+        "WHERE reminders.status = 'CANCELLED'";
+
+    /**
+     * Create the missing reminders of every date occurring between the two dates, in one
+     * statement: each date is joined with its owner's preferences and reminder days (see
+     * {@link #DATE_REMINDER_DAYS}), reminders scheduled before {@code earliestScheduled} are left
+     * out, and reminders that already exist are kept by the
+     * (important_date_id, days_before, scheduled_date) unique key, cancelled ones being revived
+     * (see {@link #ON_REMINDER_CONFLICT}).
+     * @return Number of reminders inserted or revived
+     */
+    @Modifying
+    @Query(value = INSERT_DATE_REMINDERS +
+        "WHERE d.next_occurrence BETWEEN :occurrenceFrom AND :occurrenceTo " +
+        "AND d.next_occurrence - days.days_before >= :earliestScheduled " +
+        ON_REMINDER_CONFLICT, nativeQuery = true)
+    int insertRemindersForDates(@Param("occurrenceFrom") LocalDate occurrenceFrom,
+                                @Param("occurrenceTo") LocalDate occurrenceTo,
+                                @Param("earliestScheduled") LocalDate earliestScheduled,
+                                @Param("now") LocalDateTime now);
+
+    /**
+     * Create the missing reminders of the user's dates in the ID range occurring between the two
+     * dates, like {@link #insertRemindersForDates}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_DATE_REMINDERS +
+        "WHERE d.user_id = :userId " +
+        "AND d.next_occurrence BETWEEN :startDate AND :endDate " +
+        "AND d.id BETWEEN :fromId AND :toId " +
+        "AND d.next_occurrence - days.days_before >= :startDate " +
+        ON_REMINDER_CONFLICT, nativeQuery = true)
+    int insertRemindersForUser(@Param("userId") Long userId,
+                               @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate,
+                               @Param("fromId") Long fromId,
+                               @Param("toId") Long toId,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Cancel the pending reminders of the user's dates in the ID range that no longer match the
+     * date's next occurrence or the user's preferences.
+     * @return Number of reminders cancelled
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE reminders rem SET status = 'CANCELLED', updated_at = :now " +
+        "FROM important_dates owner " +
+        "WHERE rem.important_date_id = owner.id AND rem.status = 'PENDING' " +
+        "AND owner.user_id = :userId AND owner.id BETWEEN :fromId AND :toId " +
+        "AND NOT EXISTS (SELECT 1 " + DATE_REMINDER_DAYS +
+        "  WHERE d.id = owner.id AND days.days_before = rem.days_before " +
+        "  AND d.next_occurrence - days.days_before = rem.scheduled_date)", nativeQuery = true)
+    int cancelStaleReminders(@Param("userId") Long userId,
+                             @Param("fromId") Long fromId,
+                             @Param("toId") Long toId,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * Delivery instant of reminder {@code rem} for its owner's preferences {@code p}: the scheduled
+     * date at the start of the delivery window in the user's time zone, plus a per-user offset
+     * that spreads users evenly across the window. The fallbacks match the defaults of
+     * NotificationPreferences.
+     */
+    String SEND_AT = "(CAST(rem.scheduled_date + COALESCE(p.delivery_window_start, TIME '09:00') + make_interval(mins => " +
+        "CAST(mod(rem.user_id, GREATEST(1, CAST(EXTRACT(EPOCH FROM COALESCE(p.delivery_window_end, TIME '12:00') " +
+        "- COALESCE(p.delivery_window_start, TIME '09:00')) / 60 AS bigint))) AS int)) AS timestamp) " +
+        "AT TIME ZONE COALESCE(p.timezone, 'UTC'))";
+
+    /**
+     * Give pending reminders created without a delivery instant their {@link #SEND_AT}.
+     * @return Number of reminders updated
+     */
+    @Modifying
+    @Query(value = "UPDATE reminders rem SET send_at = " + SEND_AT + " " +
+        "FROM notification_preferences p " +
+        "WHERE p.user_id = rem.user_id AND rem.status = 'PENDING' AND rem.send_at IS NULL", nativeQuery = true)
+    int assignSendAt();
+
+    /**
+     * Move the user's pending reminders to their preferred channel and delivery window.
+     * @return Number of reminders updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE reminders rem SET channel = p.preferred_channel, send_at = " + SEND_AT + ", updated_at = :now " +
+        "FROM notification_preferences p " +
+        "WHERE p.user_id = rem.user_id AND rem.user_id = :userId AND rem.status = 'PENDING'", nativeQuery = true)
+    int syncPendingReminders(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.importantDate.id = :importantDateId")
+    int deleteByImportantDateId(@Param("importantDateId") Long importantDateId);
 }
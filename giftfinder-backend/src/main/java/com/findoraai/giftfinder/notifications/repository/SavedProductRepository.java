@@ -2,9 +2,16 @@ package com.findoraai.giftfinder.notifications.repository;
 
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +24,38 @@ public interface SavedProductRepository extends JpaRepository<SavedProduct, Long
     List<SavedProduct> findByPriceTrackingEnabled(Boolean priceTrackingEnabled);
     
     Optional<SavedProduct> findByUserAndProductId(User user, String productId);
+
+    List<SavedProduct> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Tracked products whose next check is due, most overdue first (served by idx_saved_product_next_check).
+     */
+    @Query("SELECT p FROM SavedProduct p WHERE p.priceTrackingEnabled = true AND p.nextCheckAt <= :now ORDER BY p.nextCheckAt ASC")
+    List<SavedProduct> findDueForPriceCheck(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Lock a batch of due products, skipping rows another node is claiming right now.
+     */
+    @Query(value = "SELECT id FROM saved_products WHERE price_tracking_enabled = true AND next_check_at <= :now " +
+        "ORDER BY next_check_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueForPriceCheck(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Push the next check of claimed products to the end of their lease, so no other node picks
+     * them up while they are being checked; a node that dies releases them when the lease expires.
+     */
+    @Modifying
+    @Query("UPDATE SavedProduct p SET p.nextCheckAt = :leaseUntil WHERE p.id IN :ids")
+    int leaseUntil(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SavedProduct p SET p.nextCheckAt = :now WHERE p.priceTrackingEnabled = true AND p.nextCheckAt IS NULL")
+    int backfillNextCheckAt(@Param("now") LocalDateTime now);
+
+    /**
+     * Number of users saving each of the given products, as (productId, count) pairs.
+     */
+    @Query("SELECT p.productId, COUNT(p) FROM SavedProduct p WHERE p.productId IN :productIds GROUP BY p.productId")
+    List<Object[]> countSaversByProductId(@Param("productIds") Collection<String> productIds);
 }
@@ -0,0 +1,163 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * A chunk of price observations and the alert rules attached to them, flattened into primitive
+ * arrays so the whole chunk can be evaluated in one branch-light loop without touching entities,
+ * BigDecimal or boxing. Prices are stored as long cents; unknown prices are {@link #UNKNOWN}.
+ */
+public final class CompiledPriceRules {
+
+    public static final long UNKNOWN = -1L;
+
+    private static final byte PERCENT_DROP = (byte) PriceAlertRule.RuleType.PERCENT_DROP.ordinal();
+    private static final byte TARGET_PRICE = (byte) PriceAlertRule.RuleType.TARGET_PRICE.ordinal();
+    private static final byte ALL_TIME_LOW = (byte) PriceAlertRule.RuleType.ALL_TIME_LOW.ordinal();
+    private static final byte BACK_IN_STOCK = (byte) PriceAlertRule.RuleType.BACK_IN_STOCK.ordinal();
+    private static final PriceAlertRule.RuleType[] RULE_TYPES = PriceAlertRule.RuleType.values();
+
+    // Observations, indexed by product slot
+    private long[] previousCents;
+    private long[] currentCents;
+    private long[] lowestCents;
+    private boolean[] previouslyAvailable;
+    private boolean[] available;
+    private int productCount;
+
+    // Rules, indexed by rule slot
+    private int[] ruleProduct;
+    private byte[] ruleType;
+    private long[] ruleParam;
+    private int ruleCount;
+
+    public CompiledPriceRules(int productCapacity, int ruleCapacity) {
+        previousCents = new long[productCapacity];
+        currentCents = new long[productCapacity];
+        lowestCents = new long[productCapacity];
+        previouslyAvailable = new boolean[productCapacity];
+        available = new boolean[productCapacity];
+        ruleProduct = new int[ruleCapacity];
+        ruleType = new byte[ruleCapacity];
+        ruleParam = new long[ruleCapacity];
+    }
+
+    /**
+     * @param previous Last recorded price, or null on the first observation
+     * @param current Price observed now
+     * @param lowest All-time low before this observation, or null if unknown
+     * @return Product slot to reference from {@link #addRule}
+     */
+    public int addProduct(BigDecimal previous, BigDecimal current, BigDecimal lowest,
+                          boolean wasAvailable, boolean isAvailable) {
+        return addProduct(toCents(previous), toCents(current), toCents(lowest), wasAvailable, isAvailable);
+    }
+
+    public int addProduct(long previous, long current, long lowest, boolean wasAvailable, boolean isAvailable) {
+        if (productCount == currentCents.length) {
+            int capacity = Math.max(16, productCount * 2);
+            previousCents = Arrays.copyOf(previousCents, capacity);
+            currentCents = Arrays.copyOf(currentCents, capacity);
+            lowestCents = Arrays.copyOf(lowestCents, capacity);
+            previouslyAvailable = Arrays.copyOf(previouslyAvailable, capacity);
+            available = Arrays.copyOf(available, capacity);
+        }
+        previousCents[productCount] = previous;
+        currentCents[productCount] = current;
+        lowestCents[productCount] = lowest;
+        previouslyAvailable[productCount] = wasAvailable;
+        available[productCount] = isAvailable;
+        return productCount++;
+    }
+
+    /**
+     * @param product Product slot returned by {@link #addProduct}
+     * @param type Rule type
+     * @param thresholdPercent Drop threshold for PERCENT_DROP rules
+     * @param targetPrice Target price for TARGET_PRICE rules
+     * @return Rule slot, reported back by {@link #evaluate}
+     */
+    public int addRule(int product, PriceAlertRule.RuleType type, BigDecimal thresholdPercent, BigDecimal targetPrice) {
+        long param = switch (type) {
+            // Percent thresholds are kept in basis points: 10.00% -> 1000
+            case PERCENT_DROP -> thresholdPercent != null ? toCents(thresholdPercent) : 0L;
+            case TARGET_PRICE -> toCents(targetPrice);
+            case ALL_TIME_LOW, BACK_IN_STOCK -> 0L;
+        };
+        return addRule(product, (byte) type.ordinal(), param);
+    }
+
+    public int addRule(int product, byte type, long param) {
+        if (ruleCount == ruleType.length) {
+            int capacity = Math.max(16, ruleCount * 2);
+            ruleProduct = Arrays.copyOf(ruleProduct, capacity);
+            ruleType = Arrays.copyOf(ruleType, capacity);
+            ruleParam = Arrays.copyOf(ruleParam, capacity);
+        }
+        ruleProduct[ruleCount] = product;
+        ruleType[ruleCount] = type;
+        ruleParam[ruleCount] = param;
+        return ruleCount++;
+    }
+
+    /**
+     * Evaluate every rule against its product's observation.
+     * @param triggered Output buffer receiving the slots of the rules that fired; must hold {@link #ruleCount()} entries
+     * @return Number of slots written to {@code triggered}
+     */
+    public int evaluate(int[] triggered) {
+        final long[] previous = previousCents;
+        final long[] current = currentCents;
+        final long[] lowest = lowestCents;
+        final boolean[] wasAvailable = previouslyAvailable;
+        final boolean[] isAvailable = available;
+        final int[] products = ruleProduct;
+        final byte[] types = ruleType;
+        final long[] params = ruleParam;
+
+        int fired = 0;
+        for (int r = 0; r < ruleCount; r++) {
+            int p = products[r];
+            long prev = previous[p];
+            long cur = current[p];
+            byte type = types[r];
+            boolean hit;
+            if (type == PERCENT_DROP) {
+                // (prev - cur) / prev * 100 >= bp / 100, rearranged to stay in integer arithmetic
+                hit = prev > 0 && cur < prev && (prev - cur) * 10_000 >= params[r] * prev;
+            } else if (type == TARGET_PRICE) {
+                // Fires when the price crosses below the target, not on every check below it
+                hit = isAvailable[p] && cur <= params[r] && (prev == UNKNOWN || prev > params[r] || !wasAvailable[p]);
+            } else if (type == ALL_TIME_LOW) {
+                hit = isAvailable[p] && lowest[p] != UNKNOWN && cur < lowest[p];
+            } else if (type == BACK_IN_STOCK) {
+                hit = !wasAvailable[p] && isAvailable[p];
+            } else {
+                hit = false;
+            }
+            triggered[fired] = r;
+            fired += hit ? 1 : 0;
+        }
+        return fired;
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    public int productOf(int rule) {
+        return ruleProduct[rule];
+    }
+
+    public PriceAlertRule.RuleType typeOf(int rule) {
+        return RULE_TYPES[ruleType[rule]];
+    }
+
+    public static long toCents(BigDecimal value) {
+        return value == null ? UNKNOWN : value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,152 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Mustache-style template parsed once into segments and rendered in a single pass. Supported
+ * tags: {@code {{name}}} (HTML escaped), {@code {{{name}}}} (raw), and sections
+ * {@code {{#name}}...{{/name}}} rendered when the value is present, or {@code {{^name}}...{{/name}}}
+ * when it is not. A value is absent when it is null, an empty string or collection, or false.
+ * Missing variables render as nothing.
+ */
+public final class CompiledTemplate {
+
+    private sealed interface Segment permits Text, Variable, Section {}
+
+    private record Text(String text) implements Segment {}
+
+    private record Variable(String name, boolean escape) implements Segment {}
+
+    private record Section(String name, boolean inverted, Segment[] children) implements Segment {}
+
+    private final Segment[] segments;
+    private final int sourceLength;
+
+    private CompiledTemplate(Segment[] segments, int sourceLength) {
+        this.segments = segments;
+        this.sourceLength = sourceLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a tag or section is not closed
+     */
+    public static CompiledTemplate parse(String source) {
+        List<List<Segment>> stack = new ArrayList<>();
+        List<String> open = new ArrayList<>();
+        List<Boolean> inverted = new ArrayList<>();
+        List<Segment> current = new ArrayList<>();
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int start = source.indexOf("{{", pos);
+            if (start < 0) {
+                current.add(new Text(source.substring(pos)));
+                break;
+            }
+            if (start > pos) {
+                current.add(new Text(source.substring(pos, start)));
+            }
+            boolean triple = source.startsWith("{{{", start);
+            String close = triple ? "}}}" : "}}";
+            int end = source.indexOf(close, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + start);
+            }
+            String tag = source.substring(start + (triple ? 3 : 2), end).trim();
+            pos = end + close.length();
+
+            if (triple) {
+                current.add(new Variable(tag, false));
+            } else if (tag.startsWith("#") || tag.startsWith("^")) {
+                stack.add(current);
+                open.add(tag.substring(1).trim());
+                inverted.add(tag.charAt(0) == '^');
+                current = new ArrayList<>();
+            } else if (tag.startsWith("/")) {
+                String name = tag.substring(1).trim();
+                if (open.isEmpty() || !open.getLast().equals(name)) {
+                    throw new IllegalArgumentException("Unexpected {{/" + name + "}} at offset " + start);
+                }
+                Section section = new Section(open.removeLast(), inverted.removeLast(), current.toArray(Segment[]::new));
+                current = stack.removeLast();
+                current.add(section);
+            } else if (!tag.startsWith("!")) {
+                current.add(new Variable(tag, true));
+            }
+        }
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + open.getLast() + "}}");
+        }
+        return new CompiledTemplate(current.toArray(Segment[]::new), source.length());
+    }
+
+    /**
+     * Render into the given buffer.
+     */
+    public void render(Map<String, ?> data, StringBuilder out) {
+        out.ensureCapacity(out.length() + sourceLength + sourceLength / 4);
+        render(segments, data, out);
+    }
+
+    public String render(Map<String, ?> data) {
+        StringBuilder out = new StringBuilder(sourceLength + sourceLength / 4);
+        render(segments, data, out);
+        return out.toString();
+    }
+
+    private static void render(Segment[] segments, Map<String, ?> data, StringBuilder out) {
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Text text -> out.append(text.text());
+                case Variable variable -> {
+                    Object value = data.get(variable.name());
+                    if (value == null) {
+                        continue;
+                    }
+                    if (variable.escape()) {
+                        escapeHtml(value.toString(), out);
+                    } else {
+                        out.append(value);
+                    }
+                }
+                case Section section -> {
+                    if (isPresent(data.get(section.name())) != section.inverted()) {
+                        render(section.children(), data, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isPresent(Object value) {
+        return switch (value) {
+            case null -> false;
+            case Boolean flag -> flag;
+            case CharSequence text -> !text.isEmpty();
+            case Collection<?> collection -> !collection.isEmpty();
+            default -> true;
+        };
+    }
+
+    static void escapeHtml(String value, StringBuilder out) {
+        int copied = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(value, copied, i).append(entity);
+                copied = i + 1;
+            }
+        }
+        out.append(value, copied, value.length());
+    }
+}
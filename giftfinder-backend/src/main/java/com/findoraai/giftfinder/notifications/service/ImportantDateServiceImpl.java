@@ -3,11 +3,13 @@ package com.findoraai.giftfinder.notifications.service;
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.dto.ImportantDateRequest;
 import com.findoraai.giftfinder.notifications.dto.ImportantDateResponse;
+import com.findoraai.giftfinder.notifications.event.ImportantDateChangedEvent;
 import com.findoraai.giftfinder.notifications.model.ImportantDate;
 import com.findoraai.giftfinder.notifications.model.Recipient;
 import com.findoraai.giftfinder.notifications.repository.ImportantDateRepository;
 import com.findoraai.giftfinder.notifications.repository.RecipientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,7 @@ public class ImportantDateServiceImpl implements ImportantDateService {
 
     private final ImportantDateRepository importantDateRepository;
     private final RecipientRepository recipientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -66,6 +69,8 @@ public class ImportantDateServiceImpl implements ImportantDateService {
             .build();
         
         date = importantDateRepository.save(date);
+        eventPublisher.publishEvent(new ImportantDateChangedEvent(
+            date.getId(), user.getId(), ImportantDateChangedEvent.ChangeType.CREATED));
         return toResponse(date);
     }
 
@@ -97,6 +102,8 @@ public class ImportantDateServiceImpl implements ImportantDateService {
         date.setDescription(request.description());
         
         date = importantDateRepository.save(date);
+        eventPublisher.publishEvent(new ImportantDateChangedEvent(
+            date.getId(), user.getId(), ImportantDateChangedEvent.ChangeType.UPDATED));
         return toResponse(date);
     }
 
@@ -110,6 +117,8 @@ public class ImportantDateServiceImpl implements ImportantDateService {
             throw new IllegalArgumentException("Important date does not belong to user");
         }
         
+        eventPublisher.publishEvent(new ImportantDateChangedEvent(
+            date.getId(), user.getId(), ImportantDateChangedEvent.ChangeType.DELETED));
         importantDateRepository.delete(date);
     }
 
@@ -120,6 +129,7 @@ public class ImportantDateServiceImpl implements ImportantDateService {
             date.getType(),
             date.getDate(),
             date.getRecurring(),
+            date.getNextOccurrence(),
             date.getDescription(),
             date.getRecipient() != null ? date.getRecipient().getId() : null,
             date.getRecipient() != null ? date.getRecipient().getName() : null,
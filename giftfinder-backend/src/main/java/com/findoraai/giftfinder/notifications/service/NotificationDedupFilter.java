@@ -0,0 +1,212 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.repository.NotificationLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory front for {@link NotificationService#wasRecentlySent}: a {@link RotatingBloomFilter}
+ * of the notifications logged within the dedup window, so the common "never sent" case is
+ * answered without a query and only possible hits reach the database.
+ * <p>
+ * Entries logged on this instance are added as they are written. Everything else, including the
+ * window as it was at startup, comes from tailing notification_log by ID; gaps in the IDs are
+ * waited for like those of price change events. Until the tail has caught up, or whenever it
+ * has not caught up within the max staleness, every key is reported as possibly sent.
+ * <p>
+ * Notifications other instances logged after the last tail reached the head are not in the
+ * filter, so a "not sent" answer can miss at most the max staleness of their entries; that
+ * defaults to a couple of tail intervals. Callers claim the work before checking, so this lag
+ * does not let two instances send the same notification.
+ */
+@Component
+@Slf4j
+public class NotificationDedupFilter {
+
+    public record FilterStats(boolean enabled, boolean ready, long entries, long memoryBytes, long tailedId,
+                              long checks, long definitelyNotSent, long possiblySent) {}
+
+    private static final Duration WINDOW = Duration.ofDays(1);
+
+    private final NotificationLogRepository notificationLogRepository;
+    private final RotatingBloomFilter filter;
+    private final boolean enabled;
+    private final long bucketMillis;
+    private final Duration tailInterval;
+    private final Duration gapTimeout;
+    private final long maxStalenessNanos;
+    private final int pageSize;
+
+    /**
+     * Tailing runs on its own thread; the initial load of a full window may take a while.
+     */
+    private final ScheduledExecutorService tail = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("notification-dedup-tail").daemon().factory());
+
+    private volatile long tailedId = -1;
+    private volatile long caughtUpAtNanos;
+    private volatile boolean caughtUp;
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong definitelyNotSent = new AtomicLong();
+
+    public NotificationDedupFilter(NotificationLogRepository notificationLogRepository,
+                                   @Value("${notifications.dedup-filter.enabled:true}") boolean enabled,
+                                   @Value("${notifications.dedup-filter.bucket:PT6H}") Duration bucket,
+                                   @Value("${notifications.dedup-filter.expected-per-bucket:600000}") int expectedPerBucket,
+                                   @Value("${notifications.dedup-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                   @Value("${notifications.dedup-filter.tail-interval:PT2S}") Duration tailInterval,
+                                   @Value("${notifications.dedup-filter.gap-timeout:PT1M}") Duration gapTimeout,
+                                   @Value("${notifications.dedup-filter.max-staleness:PT5S}") Duration maxStaleness,
+                                   @Value("${notifications.dedup-filter.page-size:10000}") int pageSize) {
+        if (maxStaleness.compareTo(tailInterval) <= 0) {
+            throw new IllegalArgumentException("Dedup filter max-staleness must be longer than its tail-interval");
+        }
+        this.notificationLogRepository = notificationLogRepository;
+        this.enabled = enabled;
+        this.bucketMillis = bucket.toMillis();
+        // One extra bucket keeps the partly expired oldest bucket whole
+        this.filter = new RotatingBloomFilter(bucketMillis, WINDOW.toMillis() + bucketMillis,
+            expectedPerBucket, falsePositiveRate);
+        this.tailInterval = tailInterval;
+        this.gapTimeout = gapTimeout;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startTailing() {
+        if (!enabled) {
+            return;
+        }
+        tail.scheduleWithFixedDelay(this::tailSafely, 0, tailInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTailing() {
+        tail.shutdownNow();
+    }
+
+    /**
+     * @return false only if no such notification within the dedup window was logged by this instance
+     *         or read by a tail that reached the head of the log less than the max staleness ago
+     */
+    public boolean mightHaveBeenSent(Long userId, NotificationLog.NotificationType type, String referenceId,
+                                     Reminder.NotificationChannel channel) {
+        if (!isReady()) {
+            return true;
+        }
+        checks.incrementAndGet();
+        if (filter.mightContain(key(userId, type, referenceId, channel), System.currentTimeMillis())) {
+            return true;
+        }
+        definitelyNotSent.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Add a notification logged by this instance, ahead of the tail.
+     */
+    public void record(Long userId, NotificationLog.NotificationType type, String referenceId,
+                       Reminder.NotificationChannel channel, LocalDateTime sentAt) {
+        if (enabled) {
+            long now = System.currentTimeMillis();
+            filter.add(key(userId, type, referenceId, channel), toMillis(sentAt), now);
+        }
+    }
+
+    public FilterStats getStats() {
+        long checked = checks.get();
+        long notSent = definitelyNotSent.get();
+        return new FilterStats(enabled, isReady(), filter.entryCount(), filter.memoryBytes(), tailedId,
+            checked, notSent, checked - notSent);
+    }
+
+    private boolean isReady() {
+        return enabled && caughtUp && System.nanoTime() - caughtUpAtNanos < maxStalenessNanos;
+    }
+
+    private void tailSafely() {
+        try {
+            tailToHead();
+        } catch (Exception e) {
+            log.warn("Notification dedup filter tail failed: {}", e.getMessage());
+        }
+    }
+
+    private void tailToHead() {
+        if (tailedId < 0) {
+            LocalDateTime since = LocalDateTime.now().minus(WINDOW).minus(Duration.ofMillis(bucketMillis));
+            tailedId = notificationLogRepository.findFirstIdSentSince(since)
+                .map(id -> id - 1)
+                .orElseGet(notificationLogRepository::findHeadId);
+            log.info("Loading notification dedup filter from log ID {}", tailedId);
+        }
+        boolean reachedHead = false;
+        while (!reachedHead && !Thread.currentThread().isInterrupted()) {
+            List<Object[]> rows = notificationLogRepository.findDedupKeysAfter(tailedId, PageRequest.of(0, pageSize));
+            long now = System.currentTimeMillis();
+            for (Object[] row : rows) {
+                filter.add(key((Long) row[1], (NotificationLog.NotificationType) row[2], (String) row[3],
+                    (Reminder.NotificationChannel) row[4]), toMillis((LocalDateTime) row[5]), now);
+            }
+            long settled = settledId(rows, tailedId);
+            reachedHead = rows.size() < pageSize;
+            if (settled == tailedId && !reachedHead) {
+                // A full page behind an open gap; read on next time
+                return;
+            }
+            tailedId = settled;
+        }
+        if (!reachedHead) {
+            return;
+        }
+        if (!caughtUp) {
+            log.info("Notification dedup filter loaded {} entries ({} KiB) up to log ID {}",
+                filter.entryCount(), filter.memoryBytes() / 1024, tailedId);
+        }
+        caughtUp = true;
+        caughtUpAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Rows after a gap are already in the filter, but the tail stays in front of the gap until the
+     * row after it is older than the gap timeout, as the missing ID may still commit.
+     */
+    private long settledId(List<Object[]> rows, long afterId) {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(gapTimeout);
+        long settled = afterId;
+        for (Object[] row : rows) {
+            long id = (Long) row[0];
+            if (id != settled + 1 && ((LocalDateTime) row[5]).isAfter(settledBefore)) {
+                break;
+            }
+            settled = id;
+        }
+        return settled;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String key(Long userId, NotificationLog.NotificationType type, String referenceId,
+                              Reminder.NotificationChannel channel) {
+        return userId + "|" + type + "|" + referenceId + "|" + channel;
+    }
+}
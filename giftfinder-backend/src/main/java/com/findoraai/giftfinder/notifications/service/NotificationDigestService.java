@@ -0,0 +1,35 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationDigestService {
+    /**
+     * Users whose digest is due, longest waiting first.
+     */
+    List<Long> findDueUserIds(int limit);
+
+    /**
+     * Merge the user's buffered notifications into one outbox message, dropping those already
+     * sent within the dedup window. A lone remaining notification is queued as its own email.
+     * @return Number of notifications queued
+     */
+    int flush(Long userId);
+
+    /**
+     * Complete the reminders of a delivered digest and log each of its notifications.
+     */
+    void recordSent(OutboxMessage digest, LocalDateTime now);
+
+    /**
+     * Fail the reminders of a dead digest and log each of its notifications as failed.
+     */
+    void recordDead(OutboxMessage digest, String error, LocalDateTime now);
+
+    /**
+     * Move the reminders of a dead digest given another set of attempts back to SENDING.
+     */
+    void recordRequeued(OutboxMessage digest, LocalDateTime now);
+}
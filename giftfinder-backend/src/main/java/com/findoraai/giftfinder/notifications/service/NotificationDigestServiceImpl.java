@@ -0,0 +1,202 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.auth.repository.UserRepository;
+import com.findoraai.giftfinder.notifications.model.DigestItem;
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.repository.DigestItemRepository;
+import com.findoraai.giftfinder.notifications.repository.OutboxMessageRepository;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestServiceImpl implements NotificationDigestService {
+
+    private final DigestItemRepository digestItemRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ReminderRepository reminderRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TemplateService templateService;
+
+    @Value("${app.base-url:http://localhost:5173}")
+    private String appBaseUrl;
+
+    /**
+     * Schema updates leave the notification type check constraint created with the table, which
+     * predates DIGEST; replace it once so digests can be queued.
+     */
+    @PostConstruct
+    void allowDigestType() {
+        String check = outboxMessageRepository.findNotificationTypeCheck();
+        if (check != null && !check.contains("'DIGEST'")) {
+            outboxMessageRepository.replaceNotificationTypeCheck();
+            log.info("Replaced notification_outbox_notification_type_check to allow the DIGEST type");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findDueUserIds(int limit) {
+        return digestItemRepository.findDueUserIds(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public int flush(Long userId) {
+        List<DigestItem> items = digestItemRepository.lockBuffered(userId);
+        if (items.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            digestItemRepository.deleteAll(items);
+            return 0;
+        }
+
+        List<DigestItem> pending = new ArrayList<>(items.size());
+        for (DigestItem item : items) {
+            if (notificationService.wasRecentlySent(user, item.getNotificationType(), item.getReferenceId(), item.getChannel())) {
+                // Sent on its own meanwhile, e.g. queued before digest mode was turned on
+                if (item.getReminderId() != null) {
+                    reminderRepository.markSent(item.getReminderId(), now);
+                }
+                digestItemRepository.delete(item);
+            } else {
+                pending.add(item);
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        if (pending.size() == 1) {
+            DigestItem item = pending.getFirst();
+            outboxMessageRepository.save(OutboxMessage.builder()
+                .userId(userId)
+                .reminderId(item.getReminderId())
+                .notificationType(item.getNotificationType())
+                .referenceId(item.getReferenceId())
+                .channel(item.getChannel())
+                .recipient(item.getRecipient())
+                .subject(item.getSubject())
+                .body(item.getBody())
+                .eventDate(item.getEventDate())
+                .build());
+            digestItemRepository.delete(item);
+            return 1;
+        }
+
+        OutboxMessage digest = outboxMessageRepository.save(OutboxMessage.builder()
+            .userId(userId)
+            .notificationType(NotificationLog.NotificationType.DIGEST)
+            .referenceId(String.format("digest-%d-%d", userId,
+                pending.stream().mapToLong(DigestItem::getId).min().orElseThrow()))
+            .channel(Reminder.NotificationChannel.EMAIL)
+            .recipient(user.getEmail())
+            .subject(subject(pending))
+            .body(render(user, pending))
+            // Delivered as early as its most urgent notification would have been
+            .eventDate(pending.stream().map(DigestItem::getEventDate).min(Comparator.naturalOrder()).orElseThrow())
+            .build());
+        pending.forEach(item -> item.setOutboxMessageId(digest.getId()));
+        log.info("Merged {} notifications for user {} into digest {}", pending.size(), userId, digest.getId());
+        return pending.size();
+    }
+
+    @Override
+    @Transactional
+    public void recordSent(OutboxMessage digest, LocalDateTime now) {
+        for (DigestItem item : digestItemRepository.findByOutboxMessageIdOrderById(digest.getId())) {
+            if (item.getReminderId() != null) {
+                reminderRepository.markSent(item.getReminderId(), now);
+            }
+            log(item, NotificationLog.NotificationStatus.SUCCESS, null);
+        }
+        digestItemRepository.deleteByOutboxMessageId(digest.getId());
+    }
+
+    @Override
+    @Transactional
+    public void recordDead(OutboxMessage digest, String error, LocalDateTime now) {
+        // The items stay linked to the dead digest, so a retry can revive their reminders
+        for (DigestItem item : digestItemRepository.findByOutboxMessageIdOrderById(digest.getId())) {
+            if (item.getReminderId() != null) {
+                reminderRepository.transition(item.getReminderId(),
+                    Reminder.ReminderStatus.SENDING, Reminder.ReminderStatus.FAILED, now);
+            }
+            log(item, NotificationLog.NotificationStatus.FAILED, error);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordRequeued(OutboxMessage digest, LocalDateTime now) {
+        for (DigestItem item : digestItemRepository.findByOutboxMessageIdOrderById(digest.getId())) {
+            if (item.getReminderId() != null) {
+                reminderRepository.transition(item.getReminderId(),
+                    Reminder.ReminderStatus.FAILED, Reminder.ReminderStatus.SENDING, now);
+            }
+        }
+    }
+
+    private String render(User user, List<DigestItem> items) {
+        StringBuilder reminders = new StringBuilder();
+        StringBuilder priceDrops = new StringBuilder();
+        for (DigestItem item : items) {
+            (item.getNotificationType() == NotificationLog.NotificationType.REMINDER ? reminders : priceDrops)
+                .append(item.getFragment());
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("userName", user.getName() != null ? user.getName() : "there");
+        data.put("reminders", reminders.toString());
+        data.put("priceDrops", priceDrops.toString());
+        data.put("appUrl", appBaseUrl);
+        return templateService.processTemplate("digest-email", data);
+    }
+
+    private static String subject(List<DigestItem> items) {
+        long reminders = items.stream()
+            .filter(item -> item.getNotificationType() == NotificationLog.NotificationType.REMINDER)
+            .count();
+        long priceDrops = items.size() - reminders;
+        List<String> parts = new ArrayList<>(2);
+        if (reminders > 0) {
+            parts.add(reminders + (reminders == 1 ? " upcoming date" : " upcoming dates"));
+        }
+        if (priceDrops > 0) {
+            parts.add(priceDrops + (priceDrops == 1 ? " price alert" : " price alerts"));
+        }
+        return "Your GiftFinder digest: " + String.join(" and ", parts);
+    }
+
+    private void log(DigestItem item, NotificationLog.NotificationStatus status, String error) {
+        notificationService.logNotification(
+            userRepository.getReferenceById(item.getUserId()),
+            item.getNotificationType(),
+            item.getReferenceId(),
+            item.getChannel(),
+            item.getRecipient(),
+            status,
+            error
+        );
+    }
+}
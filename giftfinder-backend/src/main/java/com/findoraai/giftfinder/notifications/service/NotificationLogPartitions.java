@@ -0,0 +1,234 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps notification_log range partitioned by week of sent_at, so the one-day lookback of the
+ * dedup query only reaches the newest partition and old entries are dropped a week at a time
+ * instead of deleted row by row.
+ * <p>
+ * Hibernate creates notification_log as a plain table; at startup it is converted once: the
+ * existing table becomes the partition notification_log_legacy, covering everything before the
+ * start of the next day, and weekly partitions follow from there. Partitions are created
+ * {@code weeks-ahead} in advance and dropped once their whole range is older than the retention.
+ * All changes are made under one advisory lock, so instances starting together do not collide.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class NotificationLogPartitions {
+
+    private record Partition(String name, LocalDateTime from, LocalDateTime to) {}
+
+    private static final String TABLE = "notification_log";
+    private static final String LEGACY_PARTITION = TABLE + "_legacy";
+    private static final long LOCK_KEY = 0x4E4C4F47L;
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern BOUND = Pattern.compile(
+        "FROM \\((MINVALUE|'([^']+)')\\) TO \\((MAXVALUE|'([^']+)')\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int weeksAhead;
+    private final Duration retention;
+
+    public NotificationLogPartitions(DataSource dataSource,
+                                     @Value("${notifications.log-partitions.enabled:true}") boolean enabled,
+                                     @Value("${notifications.log-partitions.weeks-ahead:4}") int weeksAhead,
+                                     @Value("${notifications.log-partitions.retention:P90D}") Duration retention) {
+        if (retention.compareTo(Duration.ofDays(1)) < 0) {
+            throw new IllegalArgumentException("notification_log retention must cover the one-day dedup window");
+        }
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.weeksAhead = weeksAhead;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    void partitionOnStartup() throws SQLException {
+        inLockedTransaction(connection -> {
+            if (enabled && !isPartitioned(connection)) {
+                convert(connection);
+            }
+            createIndexes(connection);
+            if (enabled) {
+                createAhead(connection);
+            }
+        });
+    }
+
+    /**
+     * Create the partitions of the coming weeks and drop those past the retention.
+     * @param fence Run first in the same transaction; it throws to abort before anything is changed
+     */
+    public void maintain(SqlWork fence) throws SQLException {
+        if (!enabled) {
+            return;
+        }
+        inLockedTransaction(connection -> {
+            fence.run(connection);
+            createAhead(connection);
+            dropExpired(connection);
+        });
+    }
+
+    private void convert(Connection connection) throws SQLException {
+        long startNanos = System.nanoTime();
+        LocalDateTime boundary = LocalDate.now().plusDays(1).atStartOfDay();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            statement.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+            // Index names are schema-wide; the partitioned table's own take over the originals
+            for (String index : List.of("idx_notification_log_dedup", "idx_notification_log_sent_at")) {
+                statement.execute("ALTER INDEX IF EXISTS " + index + " RENAME TO " + index + "_legacy");
+            }
+            statement.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_PARTITION +
+                " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING IDENTITY) PARTITION BY RANGE (sent_at)");
+            // Partitions need the partition key in their primary key; the bound check spares the
+            // attach below a second scan
+            statement.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT " + TABLE + "_pkey, " +
+                "ADD CONSTRAINT " + LEGACY_PARTITION + "_pkey PRIMARY KEY (id, sent_at), " +
+                "ADD CONSTRAINT " + LEGACY_PARTITION + "_bound CHECK (sent_at < '" + boundary + "')");
+            statement.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, sent_at), " +
+                "ADD CONSTRAINT " + TABLE + "_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (id)");
+            createIndexes(connection);
+            // The new identity starts over; continue after the legacy IDs
+            statement.execute("SELECT setval(pg_get_serial_sequence('" + TABLE + "', 'id'), " +
+                "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + LEGACY_PARTITION + "), false)");
+
+            statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION +
+                " FOR VALUES FROM (MINVALUE) TO ('" + boundary + "')");
+            statement.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT " + LEGACY_PARTITION + "_bound");
+        }
+        log.info("Partitioned {} by week; existing entries kept in {} ({}ms)",
+            TABLE, LEGACY_PARTITION, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+    }
+
+    /**
+     * On a partitioned table the indexes are created on every partition, matching the legacy
+     * partition's existing ones.
+     */
+    private void createIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_notification_log_dedup ON " + TABLE +
+                " (user_id, notification_type, reference_id, channel, sent_at)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_notification_log_sent_at ON " + TABLE + " (sent_at)");
+        }
+    }
+
+    private void createAhead(Connection connection) throws SQLException {
+        LocalDateTime end = LocalDate.now().plusWeeks(weeksAhead)
+            .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        LocalDateTime from = partitions(connection).stream()
+            .map(Partition::to)
+            .max(LocalDateTime::compareTo)
+            .orElseThrow(() -> new IllegalStateException(TABLE + " has no partitions"));
+
+        try (Statement statement = connection.createStatement()) {
+            while (from.isBefore(end)) {
+                // The first partition after the legacy one ends on a Monday, the rest span a week
+                LocalDateTime to = from.toLocalDate().plusDays(1)
+                    .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+                String name = TABLE + "_" + from.format(NAME_FORMAT);
+                statement.execute("CREATE TABLE " + name + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                log.info("Created partition {} for {} to {}", name, from, to);
+                from = to;
+            }
+        }
+    }
+
+    private void dropExpired(Connection connection) throws SQLException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        try (Statement statement = connection.createStatement()) {
+            for (Partition partition : partitions(connection)) {
+                if (!partition.to().isAfter(cutoff)) {
+                    statement.execute("DROP TABLE " + partition.name());
+                    log.info("Dropped partition {} ({} to {}), past the {} retention",
+                        partition.name(), partition.from(), partition.to(), retention);
+                }
+            }
+        }
+    }
+
+    private List<Partition> partitions(Connection connection) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?) ORDER BY c.relname")) {
+            statement.setString(1, TABLE);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    Matcher bound = BOUND.matcher(rs.getString(2));
+                    if (!bound.find()) {
+                        throw new IllegalStateException("Unexpected partition bound: " + rs.getString(2));
+                    }
+                    partitions.add(new Partition(rs.getString(1), parseBound(bound.group(2)), parseBound(bound.group(4))));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static LocalDateTime parseBound(String value) {
+        return value != null ? LocalDateTime.parse(value, BOUND_FORMAT) : null;
+    }
+
+    private boolean isPartitioned(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)")) {
+            statement.setString(1, TABLE);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void inLockedTransaction(SqlWork work) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+                    statement.setLong(1, LOCK_KEY);
+                    statement.execute();
+                }
+                work.run(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlWork {
+        void run(Connection connection) throws SQLException;
+    }
+}
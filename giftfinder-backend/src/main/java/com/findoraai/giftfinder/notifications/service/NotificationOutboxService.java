@@ -0,0 +1,55 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface NotificationOutboxService {
+    /**
+     * Claim up to {@code limit} due messages of the channel, nearest event first, skipping those
+     * other workers hold. Claimed messages are SENDING under a lease and are due again if it expires.
+     */
+    List<OutboxMessage> claimDue(Reminder.NotificationChannel channel, int limit);
+
+    /**
+     * Record a successful delivery on the message, its reminders and the notification log.
+     */
+    void recordSent(OutboxMessage message);
+
+    /**
+     * Schedule the next attempt with exponential backoff and jitter, or move the message to DEAD
+     * when the failure is permanent or its attempts are used up.
+     */
+    void recordFailure(OutboxMessage message, Exception failure);
+
+    /**
+     * Return a claimed message that never reached its channel to PENDING until {@code retryAt},
+     * without counting the attempt.
+     */
+    void recordDeferred(OutboxMessage message, LocalDateTime retryAt);
+
+    /**
+     * Move a claimed message whose channel could not reach its recipient to another channel, due
+     * now, without counting the attempt.
+     */
+    void recordRerouted(OutboxMessage message, Reminder.NotificationChannel channel);
+
+    /**
+     * Give a dead message a fresh set of attempts.
+     */
+    OutboxMessage requeueDead(Long id);
+
+    /**
+     * Delete up to {@code limit} messages sent before {@code before}, oldest first, in the caller's
+     * transaction.
+     * @return The number of messages deleted
+     */
+    int deleteSentBefore(LocalDateTime before, int limit);
+
+    List<OutboxMessage> getDeadMessages(int limit);
+
+    Map<OutboxMessage.OutboxStatus, Long> getStatusCounts();
+}
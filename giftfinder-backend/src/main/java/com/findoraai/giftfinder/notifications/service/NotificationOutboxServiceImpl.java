@@ -0,0 +1,190 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.repository.UserRepository;
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.repository.OutboxMessageRepository;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ReminderRepository reminderRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final NotificationDigestService digestService;
+
+    @Value("${scheduler.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${scheduler.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${scheduler.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${scheduler.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Override
+    @Transactional
+    public List<OutboxMessage> claimDue(Reminder.NotificationChannel channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxMessageRepository.lockDueIds(channel.name(), now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        outboxMessageRepository.claim(ids, now.plus(lease), now);
+        return outboxMessageRepository.findAllById(ids).stream()
+            .sorted(Comparator.comparing(OutboxMessage::getEventDate).thenComparing(OutboxMessage::getId))
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public void recordSent(OutboxMessage message) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxMessageRepository.markSent(message.getId(), message.getAttempts(), now) == 0) {
+            // The lease expired and another attempt owns the message now
+            return;
+        }
+        if (message.getNotificationType() == NotificationLog.NotificationType.DIGEST) {
+            digestService.recordSent(message, now);
+            return;
+        }
+        if (message.getReminderId() != null) {
+            reminderRepository.markSent(message.getReminderId(), now);
+        }
+        log(message, NotificationLog.NotificationStatus.SUCCESS, null);
+    }
+
+    @Override
+    @Transactional
+    public void recordFailure(OutboxMessage message, Exception failure) {
+        LocalDateTime now = LocalDateTime.now();
+        String error = truncate(failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+        boolean permanent = failure instanceof IllegalArgumentException;
+
+        if (!permanent && message.getAttempts() < maxAttempts) {
+            LocalDateTime nextAttemptAt = now.plus(backoff(message.getAttempts()));
+            outboxMessageRepository.scheduleRetry(message.getId(), message.getAttempts(), nextAttemptAt, error, now);
+            log.warn("Delivery of outbox message {} failed (attempt {}), retrying at {}: {}",
+                message.getId(), message.getAttempts(), nextAttemptAt, error);
+            return;
+        }
+
+        if (outboxMessageRepository.markDead(message.getId(), message.getAttempts(), error, now) == 0) {
+            return;
+        }
+        log.error("Outbox message {} is dead after {} attempts: {}", message.getId(), message.getAttempts(), error);
+        if (message.getNotificationType() == NotificationLog.NotificationType.DIGEST) {
+            digestService.recordDead(message, error, now);
+            return;
+        }
+        if (message.getReminderId() != null) {
+            reminderRepository.transition(message.getReminderId(),
+                Reminder.ReminderStatus.SENDING, Reminder.ReminderStatus.FAILED, now);
+        }
+        log(message, NotificationLog.NotificationStatus.FAILED, error);
+    }
+
+    @Override
+    @Transactional
+    public void recordDeferred(OutboxMessage message, LocalDateTime retryAt) {
+        outboxMessageRepository.defer(message.getId(), message.getAttempts(), retryAt, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void recordRerouted(OutboxMessage message, Reminder.NotificationChannel channel) {
+        if (outboxMessageRepository.reroute(message.getId(), message.getAttempts(), channel, LocalDateTime.now()) > 0) {
+            log.debug("Outbox message {} moved from {} to {}", message.getId(), message.getChannel(), channel);
+        }
+    }
+
+    @Override
+    @Transactional
+    public OutboxMessage requeueDead(Long id) {
+        if (outboxMessageRepository.requeueDead(id, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("No dead outbox message with id " + id);
+        }
+        OutboxMessage message = outboxMessageRepository.findById(id).orElseThrow();
+        if (message.getNotificationType() == NotificationLog.NotificationType.DIGEST) {
+            digestService.recordRequeued(message, LocalDateTime.now());
+        } else if (message.getReminderId() != null) {
+            reminderRepository.transition(message.getReminderId(),
+                Reminder.ReminderStatus.FAILED, Reminder.ReminderStatus.SENDING, LocalDateTime.now());
+        }
+        return message;
+    }
+
+    @Override
+    @Transactional
+    public int deleteSentBefore(LocalDateTime before, int limit) {
+        return outboxMessageRepository.deleteSentBefore(before, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OutboxMessage> getDeadMessages(int limit) {
+        return outboxMessageRepository.findByStatusOrderByUpdatedAtDesc(
+            OutboxMessage.OutboxStatus.DEAD, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<OutboxMessage.OutboxStatus, Long> getStatusCounts() {
+        Map<OutboxMessage.OutboxStatus, Long> counts = new EnumMap<>(OutboxMessage.OutboxStatus.class);
+        for (OutboxMessage.OutboxStatus status : OutboxMessage.OutboxStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : outboxMessageRepository.countByStatus()) {
+            counts.put((OutboxMessage.OutboxStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half the doubled delay is fixed and half is random,
+     * so messages that failed together (an SMTP outage) do not all retry at the same moment.
+     */
+    private Duration backoff(int attempts) {
+        long exponential = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long delay = Math.min(maxBackoff.toMillis(), exponential <= 0 ? Long.MAX_VALUE : exponential);
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private void log(OutboxMessage message, NotificationLog.NotificationStatus status, String error) {
+        notificationService.logNotification(
+            userRepository.getReferenceById(message.getUserId()),
+            message.getNotificationType(),
+            message.getReferenceId(),
+            message.getChannel(),
+            message.getRecipient(),
+            status,
+            error
+        );
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,178 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.dto.NotificationPreferencesResponse;
+import com.findoraai.giftfinder.notifications.event.NotificationPreferencesChangedEvent;
+import com.findoraai.giftfinder.notifications.model.NotificationPreferences;
+import com.findoraai.giftfinder.notifications.repository.NotificationPreferencesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, least-recently-used cache of notification preferences by user ID, for the paths that
+ * read preferences far more often than they change: price checks and the preferences API. Users
+ * without preferences are cached too. Entries are invalidated after every committed change on
+ * this node and, through {@link PreferenceInvalidationBus}, on the others; the TTL bounds
+ * staleness should an invalidation be missed.
+ */
+@Component
+@Slf4j
+public class NotificationPreferencesCache {
+
+    public record CacheStats(int size, int maxSize, long hits, long misses, long loads, long invalidations) {}
+
+    private record Entry(NotificationPreferencesResponse preferences, long loadedAtNanos) {}
+
+    private final NotificationPreferencesRepository preferencesRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries;
+
+    /**
+     * Bumped by every invalidation; a load that overlapped one is not cached, as it may have read
+     * the preferences from before the change.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NotificationPreferencesCache(NotificationPreferencesRepository preferencesRepository,
+                                        @Value("${notifications.preferences-cache.max-size:10000}") int maxSize,
+                                        @Value("${notifications.preferences-cache.ttl:PT10M}") Duration ttl) {
+        this.preferencesRepository = preferencesRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > NotificationPreferencesCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return The user's preferences, or empty if the user has none
+     */
+    public Optional<NotificationPreferencesResponse> get(Long userId) {
+        Entry entry = lookup(userId);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return Optional.ofNullable(entry.preferences());
+        }
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        NotificationPreferencesResponse preferences = load(List.of(userId)).get(userId);
+        store(Map.of(userId, Optional.ofNullable(preferences)), loadGeneration);
+        return Optional.ofNullable(preferences);
+    }
+
+    /**
+     * Load the preferences of all the users not cached yet with one query, e.g. for a job chunk.
+     */
+    public void preload(Collection<Long> userIds) {
+        List<Long> missing;
+        synchronized (entries) {
+            missing = userIds.stream().distinct().filter(userId -> lookup(userId) == null).toList();
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        long loadGeneration = generation.get();
+        Map<Long, NotificationPreferencesResponse> loaded = load(missing);
+        Map<Long, Optional<NotificationPreferencesResponse>> found = new HashMap<>();
+        for (Long userId : missing) {
+            found.put(userId, Optional.ofNullable(loaded.get(userId)));
+        }
+        store(found, loadGeneration);
+    }
+
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Drop the user's entry once the change is committed, so the next read sees it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPreferencesChanged(NotificationPreferencesChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(size, maxSize, hits.get(), misses.get(), loads.get(), invalidations.get());
+    }
+
+    static NotificationPreferencesResponse toResponse(NotificationPreferences prefs) {
+        return new NotificationPreferencesResponse(
+            prefs.getId(),
+            prefs.getRemindersEnabled(),
+            prefs.getPriceDropAlertsEnabled(),
+            List.copyOf(prefs.getReminderDaysBefore()),
+            prefs.getPreferredChannel(),
+            prefs.getTimezone(),
+            prefs.getDeliveryWindowStart(),
+            prefs.getDeliveryWindowEnd(),
+            prefs.getDigestWindowMinutes(),
+            prefs.getCreatedAt(),
+            prefs.getUpdatedAt()
+        );
+    }
+
+    private Entry lookup(Long userId) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && System.nanoTime() - entry.loadedAtNanos() > ttlNanos) {
+                entries.remove(userId);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private Map<Long, NotificationPreferencesResponse> load(Collection<Long> userIds) {
+        loads.incrementAndGet();
+        Map<Long, NotificationPreferencesResponse> loaded = new HashMap<>();
+        for (NotificationPreferences prefs : preferencesRepository.findWithDaysByUserIdIn(userIds)) {
+            loaded.put(prefs.getUser().getId(), toResponse(prefs));
+        }
+        return loaded;
+    }
+
+    private void store(Map<Long, Optional<NotificationPreferencesResponse>> loaded, long loadGeneration) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            if (generation.get() != loadGeneration) {
+                return;
+            }
+            loaded.forEach((userId, preferences) -> entries.put(userId, new Entry(preferences.orElse(null), now)));
+        }
+    }
+}
@@ -3,28 +3,36 @@ package com.findoraai.giftfinder.notifications.service;
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.dto.NotificationPreferencesRequest;
 import com.findoraai.giftfinder.notifications.dto.NotificationPreferencesResponse;
+import com.findoraai.giftfinder.notifications.event.NotificationPreferencesChangedEvent;
 import com.findoraai.giftfinder.notifications.model.NotificationPreferences;
 import com.findoraai.giftfinder.notifications.model.Reminder;
 import com.findoraai.giftfinder.notifications.repository.NotificationPreferencesRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationPreferencesServiceImpl implements NotificationPreferencesService {
 
+    private static final int MIN_DIGEST_WINDOW_MINUTES = 5;
+    private static final int MAX_DIGEST_WINDOW_MINUTES = 24 * 60;
+
     private final NotificationPreferencesRepository preferencesRepository;
+    private final NotificationPreferencesCache preferencesCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public NotificationPreferencesResponse getUserPreferences(User user) {
-        NotificationPreferences prefs = preferencesRepository.findByUser(user)
-            .orElseGet(() -> createDefaultPreferences(user));
-        
-        return toResponse(prefs);
+        return preferencesCache.get(user.getId())
+            .orElseGet(() -> NotificationPreferencesCache.toResponse(createDefaultPreferences(user)));
     }
 
     @Override
@@ -35,11 +43,35 @@ public class NotificationPreferencesServiceImpl implements NotificationPreferenc
         
         prefs.setRemindersEnabled(request.remindersEnabled());
         prefs.setPriceDropAlertsEnabled(request.priceDropAlertsEnabled());
-        prefs.setReminderDaysBefore(request.reminderDaysBefore());
+        prefs.setReminderDaysBefore(new ArrayList<>(request.reminderDaysBefore()));
         prefs.setPreferredChannel(request.preferredChannel());
+        if (request.timezone() != null) {
+            try {
+                prefs.setTimezone(ZoneId.of(request.timezone()).getId());
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Unknown timezone: " + request.timezone());
+            }
+        }
+        if (request.deliveryWindowStart() != null || request.deliveryWindowEnd() != null) {
+            if (request.deliveryWindowStart() == null || request.deliveryWindowEnd() == null
+                    || !request.deliveryWindowStart().isBefore(request.deliveryWindowEnd())) {
+                throw new IllegalArgumentException("Delivery window start must be before its end");
+            }
+            prefs.setDeliveryWindowStart(request.deliveryWindowStart());
+            prefs.setDeliveryWindowEnd(request.deliveryWindowEnd());
+        }
+        if (request.digestWindowMinutes() != null) {
+            int minutes = request.digestWindowMinutes();
+            if (minutes != 0 && (minutes < MIN_DIGEST_WINDOW_MINUTES || minutes > MAX_DIGEST_WINDOW_MINUTES)) {
+                throw new IllegalArgumentException("Digest window must be between " + MIN_DIGEST_WINDOW_MINUTES +
+                    " and " + MAX_DIGEST_WINDOW_MINUTES + " minutes, or 0 to turn digests off");
+            }
+            prefs.setDigestWindowMinutes(minutes != 0 ? minutes : null);
+        }
         
         prefs = preferencesRepository.save(prefs);
-        return toResponse(prefs);
+        eventPublisher.publishEvent(new NotificationPreferencesChangedEvent(user.getId()));
+        return NotificationPreferencesCache.toResponse(prefs);
     }
 
     private NotificationPreferences createDefaultPreferences(User user) {
@@ -47,22 +79,13 @@ public class NotificationPreferencesServiceImpl implements NotificationPreferenc
             .user(user)
             .remindersEnabled(true)
             .priceDropAlertsEnabled(true)
-            .reminderDaysBefore(List.of(14, 7, 2))
+            .reminderDaysBefore(new ArrayList<>(List.of(14, 7, 2)))
             .preferredChannel(Reminder.NotificationChannel.EMAIL)
             .build();
         
-        return preferencesRepository.save(prefs);
-    }
-
-    private NotificationPreferencesResponse toResponse(NotificationPreferences prefs) {
-        return new NotificationPreferencesResponse(
-            prefs.getId(),
-            prefs.getRemindersEnabled(),
-            prefs.getPriceDropAlertsEnabled(),
-            prefs.getReminderDaysBefore(),
-            prefs.getPreferredChannel(),
-            prefs.getCreatedAt(),
-            prefs.getUpdatedAt()
-        );
+        prefs = preferencesRepository.save(prefs);
+        // The cache holds the user as having no preferences
+        eventPublisher.publishEvent(new NotificationPreferencesChangedEvent(user.getId()));
+        return prefs;
     }
 }
@@ -2,50 +2,62 @@ package com.findoraai.giftfinder.notifications.service;
 
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
 import com.findoraai.giftfinder.notifications.model.Reminder;
 
-import java.util.Map;
-
 public interface NotificationService {
+
     /**
-     * Send an email notification
-     * @param to Recipient email address
-     * @param subject Email subject
-     * @param templateName Template file name (without .html extension)
-     * @param templateData Data to populate the template
-     * @return true if sent successfully
+     * A notification rendered for queueing: its email and its entry in a digest email
      */
-    boolean sendEmail(String to, String subject, String templateName, Map<String, Object> templateData);
-    
+    record RenderedNotification(String recipient, String subject, String body, String fragment) {}
+
     /**
-     * Send a reminder notification
+     * Render a reminder notification
      * @param user User to send notification to
-     * @param reminder Reminder to send
      * @param eventName Name of the event
      * @param eventDate Date of the event (formatted)
      * @param daysUntil Days until the event
      * @param recipientName Optional recipient name
-     * @return true if sent successfully
      */
-    boolean sendReminderNotification(User user, Reminder reminder, String eventName, 
-                                    String eventDate, int daysUntil, String recipientName);
+    RenderedNotification renderReminderNotification(User user, String eventName, String eventDate,
+                                                    int daysUntil, String recipientName);
+
+    /**
+     * Version of the templates and settings reminder notifications are rendered with; one rendered
+     * under a different version is outdated
+     */
+    int getReminderRenderVersion();
+
+    /**
+     * Queue a rendered reminder notification in the outbox, or the user's digest, in the caller's transaction,
+     * on the reminder's channel or on email if that channel cannot deliver (see ChannelDispatcher.deliveryChannel)
+     * @param reminder Reminder to send; of its user and important date only the IDs are read
+     * @param rendered The reminder's notification, see {@link #renderReminderNotification}
+     * @return false if the same notification is already waiting in the outbox or a digest
+     */
+    boolean queueReminderNotification(Reminder reminder, RenderedNotification rendered);
     
     /**
-     * Send a price drop notification
+     * Queue a price alert notification in the outbox, or the user's digest, in the caller's transaction
      * @param user User to send notification to
+     * @param referenceId Reference ID used for deduplication
+     * @param headline What happened, e.g. "Back in Stock"; the subject is the headline and the product title
+     * @param summary Sentence describing every alert rule that fired
      * @param productTitle Product title
      * @param productUrl Product URL
      * @param productImageUrl Product image URL
      * @param oldPrice Old price
      * @param newPrice New price
      * @param currency Currency code
-     * @param dropPercentage Percentage of price drop
-     * @param savingsAmount Amount saved
-     * @return true if sent successfully
+     * @param dropPercentage Percentage of price drop, or null if the price did not drop
+     * @param savingsAmount Amount saved, or null if the price did not drop
+     * @return false if the same notification is already waiting in the outbox or a digest
      */
-    boolean sendPriceDropNotification(User user, String productTitle, String productUrl,
-                                     String productImageUrl, String oldPrice, String newPrice,
-                                     String currency, String dropPercentage, String savingsAmount);
+    boolean queuePriceDropNotification(User user, String referenceId, String headline, String summary,
+                                       String productTitle, String productUrl, String productImageUrl,
+                                       String oldPrice, String newPrice, String currency,
+                                       String dropPercentage, String savingsAmount);
     
     /**
      * Log a notification
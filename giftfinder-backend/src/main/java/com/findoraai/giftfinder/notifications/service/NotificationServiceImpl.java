@@ -1,63 +1,51 @@
 package com.findoraai.giftfinder.notifications.service;
 
 import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.channel.ChannelDispatcher;
+import com.findoraai.giftfinder.notifications.dto.NotificationPreferencesResponse;
+import com.findoraai.giftfinder.notifications.model.DigestItem;
 import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
 import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.repository.DigestItemRepository;
 import com.findoraai.giftfinder.notifications.repository.NotificationLogRepository;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.findoraai.giftfinder.notifications.repository.OutboxMessageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
-    private final JavaMailSender mailSender;
     private final NotificationLogRepository notificationLogRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
     private final TemplateService templateService;
-    
-    @Value("${spring.mail.username:noreply@giftfinder.com}")
-    private String fromEmail;
+    private final NotificationDedupFilter dedupFilter;
+    private final ChannelDispatcher channelDispatcher;
+    private final DigestItemRepository digestItemRepository;
+    private final NotificationPreferencesCache preferencesCache;
     
     @Value("${app.base-url:http://localhost:5173}")
     private String appBaseUrl;
 
-    @Override
-    public boolean sendEmail(String to, String subject, String templateName, Map<String, Object> templateData) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            
-            String htmlContent = templateService.processTemplate(templateName, templateData);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            log.info("Email sent successfully to {} with template {}", to, templateName);
-            return true;
-        } catch (MessagingException e) {
-            log.error("Failed to send email to {} with template {}: {}", to, templateName, e.getMessage());
-            return false;
-        }
-    }
+    private static final List<OutboxMessage.OutboxStatus> UNDELIVERED =
+        List.of(OutboxMessage.OutboxStatus.PENDING, OutboxMessage.OutboxStatus.SENDING);
 
     @Override
-    public boolean sendReminderNotification(User user, Reminder reminder, String eventName, 
-                                          String eventDate, int daysUntil, String recipientName) {
+    public RenderedNotification renderReminderNotification(User user, String eventName, String eventDate,
+                                                           int daysUntil, String recipientName) {
         Map<String, Object> data = new HashMap<>();
         data.put("userName", user.getName() != null ? user.getName() : "there");
         data.put("eventName", eventName);
@@ -69,28 +57,42 @@ public class NotificationServiceImpl implements NotificationService {
         data.put("appUrl", appBaseUrl);
         
         String subject = String.format("Reminder: %s in %d days", eventName, daysUntil);
-        boolean success = sendEmail(user.getEmail(), subject, "reminder-email", data);
-        
+        return new RenderedNotification(user.getEmail(), subject,
+            templateService.processTemplate("reminder-email", data),
+            templateService.processTemplate("digest-reminder-item", data));
+    }
+
+    @Override
+    public int getReminderRenderVersion() {
+        return Objects.hash(templateService.getVersion("reminder-email"),
+            templateService.getVersion("digest-reminder-item"), appBaseUrl);
+    }
+
+    @Override
+    @Transactional
+    public boolean queueReminderNotification(Reminder reminder, RenderedNotification rendered) {
         String referenceId = String.format("reminder-%d-%d", reminder.getImportantDate().getId(), reminder.getDaysBefore());
-        logNotification(
-            user,
-            NotificationLog.NotificationType.REMINDER,
-            referenceId,
-            reminder.getChannel(),
-            user.getEmail(),
-            success ? NotificationLog.NotificationStatus.SUCCESS : NotificationLog.NotificationStatus.FAILED,
-            success ? null : "Failed to send email"
-        );
-        
-        return success;
+        return queue(OutboxMessage.builder()
+            .userId(reminder.getUser().getId())
+            .reminderId(reminder.getId())
+            .notificationType(NotificationLog.NotificationType.REMINDER)
+            .referenceId(referenceId)
+            .channel(channelDispatcher.deliveryChannel(reminder.getChannel()))
+            .recipient(rendered.recipient())
+            .subject(rendered.subject())
+            .eventDate(reminder.getOccurrenceDate()), rendered::body, rendered::fragment);
     }
 
     @Override
-    public boolean sendPriceDropNotification(User user, String productTitle, String productUrl,
-                                           String productImageUrl, String oldPrice, String newPrice,
-                                           String currency, String dropPercentage, String savingsAmount) {
+    @Transactional
+    public boolean queuePriceDropNotification(User user, String referenceId, String headline, String summary,
+                                              String productTitle, String productUrl, String productImageUrl,
+                                              String oldPrice, String newPrice, String currency,
+                                              String dropPercentage, String savingsAmount) {
         Map<String, Object> data = new HashMap<>();
         data.put("userName", user.getName() != null ? user.getName() : "there");
+        data.put("headline", headline);
+        data.put("summary", summary);
         data.put("productTitle", productTitle);
         data.put("productUrl", productUrl);
         if (productImageUrl != null) {
@@ -99,25 +101,70 @@ public class NotificationServiceImpl implements NotificationService {
         data.put("oldPrice", oldPrice);
         data.put("newPrice", newPrice);
         data.put("currency", currency);
-        data.put("dropPercentage", dropPercentage);
-        data.put("savingsAmount", savingsAmount);
-        
-        String subject = String.format("Price Drop Alert: %s", productTitle);
-        boolean success = sendEmail(user.getEmail(), subject, "price-drop-email", data);
-        
-        // Use product ID for stable reference instead of title
-        String referenceId = String.format("price-drop-%s-%s", user.getId(), productTitle.replaceAll("[^a-zA-Z0-9]", "-"));
-        logNotification(
-            user,
-            NotificationLog.NotificationType.PRICE_DROP,
-            referenceId,
-            Reminder.NotificationChannel.EMAIL,
-            user.getEmail(),
-            success ? NotificationLog.NotificationStatus.SUCCESS : NotificationLog.NotificationStatus.FAILED,
-            success ? null : "Failed to send email"
-        );
+        if (dropPercentage != null) {
+            data.put("dropPercentage", dropPercentage);
+            data.put("savingsAmount", savingsAmount);
+        }
         
-        return success;
+        String subject = String.format("%s: %s", headline, productTitle);
+        // Deals are time-sensitive, so they rank with events happening today
+        return queue(OutboxMessage.builder()
+            .userId(user.getId())
+            .notificationType(NotificationLog.NotificationType.PRICE_DROP)
+            .referenceId(referenceId)
+            .channel(Reminder.NotificationChannel.EMAIL)
+            .recipient(user.getEmail())
+            .subject(subject)
+            .eventDate(LocalDate.now()),
+            () -> templateService.processTemplate("price-drop-email", data),
+            () -> templateService.processTemplate("digest-price-drop-item", data));
+    }
+
+    /**
+     * Queue the message in the outbox, or buffer it for the user's next digest if they have
+     * digest mode on. The body and digest fragment are only rendered once the message is known
+     * not to be a duplicate.
+     */
+    private boolean queue(OutboxMessage.OutboxMessageBuilder builder, Supplier<String> body,
+                          Supplier<String> fragment) {
+        OutboxMessage message = builder.build();
+        if (outboxMessageRepository.existsByUserIdAndNotificationTypeAndReferenceIdAndChannelAndStatusIn(
+                message.getUserId(), message.getNotificationType(), message.getReferenceId(),
+                message.getChannel(), UNDELIVERED)
+            || digestItemRepository.existsUndelivered(message.getUserId(), message.getNotificationType(),
+                message.getReferenceId(), message.getChannel())) {
+            return false;
+        }
+        message.setBody(body.get());
+
+        Integer digestWindowMinutes = message.getChannel() == Reminder.NotificationChannel.EMAIL
+            ? preferencesCache.get(message.getUserId())
+                .map(NotificationPreferencesResponse::digestWindowMinutes)
+                .orElse(null)
+            : null;
+        if (digestWindowMinutes == null) {
+            outboxMessageRepository.save(message);
+            return true;
+        }
+
+        // Joins the digest already being collected, if any
+        LocalDateTime dueAt = digestItemRepository.findFirstByUserIdAndOutboxMessageIdIsNullOrderByDueAt(message.getUserId())
+            .map(DigestItem::getDueAt)
+            .orElseGet(() -> LocalDateTime.now().plusMinutes(digestWindowMinutes));
+        digestItemRepository.save(DigestItem.builder()
+            .userId(message.getUserId())
+            .reminderId(message.getReminderId())
+            .notificationType(message.getNotificationType())
+            .referenceId(message.getReferenceId())
+            .channel(message.getChannel())
+            .recipient(message.getRecipient())
+            .subject(message.getSubject())
+            .body(message.getBody())
+            .fragment(fragment.get())
+            .eventDate(message.getEventDate())
+            .dueAt(dueAt)
+            .build());
+        return true;
     }
 
     @Override
@@ -136,14 +183,19 @@ public class NotificationServiceImpl implements NotificationService {
             .build();
         
         notificationLogRepository.save(log);
+        dedupFilter.record(user.getId(), type, referenceId, channel, log.getSentAt());
     }
 
     @Override
     public boolean wasRecentlySent(User user, NotificationLog.NotificationType type, 
                                    String referenceId, Reminder.NotificationChannel channel) {
-        LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
-        return notificationLogRepository.existsByUserAndNotificationTypeAndReferenceIdAndChannelAndSentAtAfter(
-            user, type, referenceId, channel, oneDayAgo
+        if (!dedupFilter.mightHaveBeenSent(user.getId(), type, referenceId, channel)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // The upper bound allows for clocks of other instances running slightly ahead
+        return notificationLogRepository.existsByUserAndNotificationTypeAndReferenceIdAndChannelAndSentAtBetween(
+            user, type, referenceId, channel, now.minusDays(1), now.plusHours(1)
         );
     }
 }
@@ -0,0 +1,107 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.NotificationPreferencesChangedEvent;
+import com.findoraai.giftfinder.notifications.repository.NotificationPreferencesRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Carries preference invalidations between instances over Postgres LISTEN/NOTIFY. A change
+ * notifies {@value NotificationPreferencesRepository#INVALIDATION_CHANNEL} inside its own
+ * transaction, so every instance hears of it exactly when it commits; each instance listens on
+ * one dedicated connection and drops the user from its {@link NotificationPreferencesCache}.
+ * Notifications sent while an instance was not listening are lost, so the whole cache is
+ * cleared whenever listening (re)starts.
+ */
+@Component
+@Slf4j
+public class PreferenceInvalidationBus {
+
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final NotificationPreferencesRepository preferencesRepository;
+    private final NotificationPreferencesCache cache;
+    private final boolean listen;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PreferenceInvalidationBus(DataSource dataSource,
+                                     NotificationPreferencesRepository preferencesRepository,
+                                     NotificationPreferencesCache cache,
+                                     @Value("${notifications.preferences-cache.listen:true}") boolean listen) {
+        this.dataSource = dataSource;
+        this.preferencesRepository = preferencesRepository;
+        this.cache = cache;
+        this.listen = listen;
+    }
+
+    @EventListener
+    public void onPreferencesChanged(NotificationPreferencesChangedEvent event) {
+        preferencesRepository.notifyChanged(event.userId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        if (!listen || running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("preference-invalidation-listener").daemon().start(this::listenLoop);
+    }
+
+    @PreDestroy
+    void stopListening() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + NotificationPreferencesRepository.INVALIDATION_CHANNEL);
+                }
+                cache.invalidateAll();
+                log.info("Listening for preference invalidations");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        cache.invalidate(Long.valueOf(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Preference invalidation listener failed, reconnecting: {}", e.getMessage());
+                cache.invalidateAll();
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
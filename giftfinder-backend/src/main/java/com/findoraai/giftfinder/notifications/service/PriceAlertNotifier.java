@@ -0,0 +1,152 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.PriceAlertTriggeredEvent;
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.push.PushBus;
+import com.findoraai.giftfinder.notifications.push.PushEvent;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns triggered price alerts into email notifications, skipping alerts already sent in the last 24 hours.
+ * Alerts fire inside the price event consumer's batch, so the notification is queued in the outbox
+ * in the same transaction that advances the consumer's offset. Newly queued alerts are also pushed
+ * to the user's connected clients when that transaction commits, ahead of the email.
+ * <p>
+ * Rules that fired on the same change make one notification, headed by the most notable of them
+ * in the order of {@link #HEADLINE_ORDER}; its dedup reference is that rule's.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertNotifier {
+
+    private static final List<PriceAlertRule.RuleType> HEADLINE_ORDER = List.of(
+        PriceAlertRule.RuleType.BACK_IN_STOCK,
+        PriceAlertRule.RuleType.ALL_TIME_LOW,
+        PriceAlertRule.RuleType.TARGET_PRICE,
+        PriceAlertRule.RuleType.PERCENT_DROP
+    );
+
+    private final SavedProductRepository savedProductRepository;
+    private final NotificationService notificationService;
+    private final PushBus pushBus;
+
+    @EventListener
+    public void onPriceAlert(PriceAlertTriggeredEvent event) {
+        SavedProduct product = savedProductRepository.findById(event.savedProductId()).orElse(null);
+        if (product == null || event.ruleTypes().isEmpty()) {
+            return;
+        }
+
+        PriceAlertRule.RuleType headline = HEADLINE_ORDER.stream()
+            .filter(event.ruleTypes()::contains)
+            .findFirst()
+            .orElseThrow();
+        // The built-in drop threshold keeps its historical reference so dedup spans the upgrade
+        String referenceId = headline == PriceAlertRule.RuleType.PERCENT_DROP
+            ? String.format("price-drop-%s", product.getProductId())
+            : String.format("price-alert-%s-%s", product.getProductId(), headline.name().toLowerCase());
+
+        if (notificationService.wasRecentlySent(
+                product.getUser(),
+                NotificationLog.NotificationType.PRICE_DROP,
+                referenceId,
+                Reminder.NotificationChannel.EMAIL)) {
+            return;
+        }
+
+        BigDecimal oldPrice = event.previousPrice() != null ? event.previousPrice() : event.currentPrice();
+        BigDecimal newPrice = event.currentPrice();
+        BigDecimal priceDifference = oldPrice.subtract(newPrice);
+        boolean dropped = priceDifference.signum() > 0;
+
+        String currency = product.getCurrency();
+        String formattedOldPrice = oldPrice.setScale(2, RoundingMode.HALF_UP).toString();
+        String formattedNewPrice = newPrice.setScale(2, RoundingMode.HALF_UP).toString();
+        // Savings are only shown when the price actually went down
+        String formattedDrop = dropped
+            ? priceDifference.divide(oldPrice, 4, RoundingMode.HALF_UP).multiply(new BigDecimal("100"))
+                .setScale(2, RoundingMode.HALF_UP).toString()
+            : null;
+        String headlineText = headlineText(headline);
+        String summary = summary(event, currency, formattedDrop);
+
+        boolean queued = notificationService.queuePriceDropNotification(
+            product.getUser(),
+            referenceId,
+            headlineText,
+            summary,
+            product.getTitle(),
+            product.getProductUrl(),
+            product.getImageUrl(),
+            formattedOldPrice,
+            formattedNewPrice,
+            currency,
+            formattedDrop,
+            dropped ? priceDifference.setScale(2, RoundingMode.HALF_UP).toString() : null
+        );
+
+        if (!queued) {
+            log.debug("{} alert for product {} is already queued", headline, product.getId());
+            return;
+        }
+        pushBus.publish(product.getUser().getId(), new PushEvent(
+            NotificationLog.NotificationType.PRICE_DROP.name(),
+            referenceId,
+            String.format("%s: %s", headlineText, product.getTitle()),
+            dropped
+                ? String.format("Now %s %s, was %s (-%s%%)", formattedNewPrice, currency, formattedOldPrice, formattedDrop)
+                : String.format("Now %s %s", formattedNewPrice, currency),
+            product.getProductUrl(),
+            product.getImageUrl(),
+            Instant.now().toString()
+        ));
+    }
+
+    private static String headlineText(PriceAlertRule.RuleType type) {
+        return switch (type) {
+            case BACK_IN_STOCK -> "Back in Stock";
+            case ALL_TIME_LOW -> "All-Time Low Price";
+            case TARGET_PRICE -> "Target Price Reached";
+            case PERCENT_DROP -> "Price Drop Alert";
+        };
+    }
+
+    /**
+     * One sentence naming every rule that fired, e.g. "... is back in stock and has reached your
+     * target price of 20.00 USD."
+     */
+    private static String summary(PriceAlertTriggeredEvent event, String currency, String formattedDrop) {
+        List<String> reasons = new ArrayList<>(HEADLINE_ORDER.size());
+        for (PriceAlertRule.RuleType type : HEADLINE_ORDER) {
+            if (!event.ruleTypes().contains(type)) {
+                continue;
+            }
+            reasons.add(switch (type) {
+                case BACK_IN_STOCK -> "is back in stock";
+                case ALL_TIME_LOW -> "is at its lowest price ever";
+                case TARGET_PRICE -> String.format("has reached your target price of %s %s",
+                    event.targetPrice().setScale(2, RoundingMode.HALF_UP), currency);
+                case PERCENT_DROP -> formattedDrop != null
+                    ? String.format("has dropped in price by %s%%", formattedDrop)
+                    : "has dropped in price";
+            });
+        }
+        String joined = reasons.size() == 1 ? reasons.get(0)
+            : String.join(", ", reasons.subList(0, reasons.size() - 1)) + " and " + reasons.get(reasons.size() - 1);
+        return String.format("Great news! A product you've been watching %s.", joined);
+    }
+}
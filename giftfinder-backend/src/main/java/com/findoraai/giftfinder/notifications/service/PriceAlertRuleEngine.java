@@ -0,0 +1,115 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.PriceAlertTriggeredEvent;
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceAlertRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates price alert rules for a chunk of price observations at once.
+ * <p>
+ * Rules of all products in the chunk are loaded with one query and compiled into a
+ * {@link CompiledPriceRules}; each product's own drop threshold acts as an implicit PERCENT_DROP
+ * rule unless the product defines one explicitly. The rules that fire for a product are published
+ * together as one {@link PriceAlertTriggeredEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertRuleEngine {
+
+    private final PriceAlertRuleRepository ruleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public record Observation(
+        SavedProduct product,
+        BigDecimal previousPrice,
+        BigDecimal currentPrice,
+        BigDecimal lowestPrice,
+        boolean previouslyAvailable,
+        boolean available
+    ) {}
+
+    public List<PriceAlertTriggeredEvent> evaluate(List<Observation> observations) {
+        if (observations.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<PriceAlertRule>> rulesByProduct = new HashMap<>();
+        List<SavedProduct> products = observations.stream().map(Observation::product).toList();
+        for (PriceAlertRule rule : ruleRepository.findBySavedProductInAndEnabled(products, true)) {
+            rulesByProduct.computeIfAbsent(rule.getSavedProduct().getId(), id -> new ArrayList<>()).add(rule);
+        }
+
+        CompiledPriceRules compiled = new CompiledPriceRules(observations.size(), observations.size() * 2);
+        List<BigDecimal> targetPrices = new ArrayList<>(observations.size() * 2);
+        for (Observation observation : observations) {
+            int slot = compiled.addProduct(
+                observation.previousPrice(),
+                observation.currentPrice(),
+                observation.lowestPrice(),
+                observation.previouslyAvailable(),
+                observation.available()
+            );
+
+            List<PriceAlertRule> rules = rulesByProduct.getOrDefault(observation.product().getId(), List.of());
+            boolean hasExplicitDropRule = false;
+            for (PriceAlertRule rule : rules) {
+                compiled.addRule(slot, rule.getType(), rule.getThresholdPercent(), rule.getTargetPrice());
+                targetPrices.add(rule.getTargetPrice());
+                hasExplicitDropRule |= rule.getType() == PriceAlertRule.RuleType.PERCENT_DROP;
+            }
+            if (!hasExplicitDropRule && observation.product().getPriceDropThresholdPercent() != null) {
+                compiled.addRule(slot, PriceAlertRule.RuleType.PERCENT_DROP,
+                    observation.product().getPriceDropThresholdPercent(), null);
+                targetPrices.add(null);
+            }
+        }
+
+        int[] triggered = new int[compiled.ruleCount()];
+        int fired = compiled.evaluate(triggered);
+
+        // A product's rules occupy consecutive slots, so the rules that fired come grouped by product
+        List<PriceAlertTriggeredEvent> events = new ArrayList<>(fired);
+        int i = 0;
+        while (i < fired) {
+            int product = compiled.productOf(triggered[i]);
+            Set<PriceAlertRule.RuleType> types = EnumSet.noneOf(PriceAlertRule.RuleType.class);
+            BigDecimal targetPrice = null;
+            for (; i < fired && compiled.productOf(triggered[i]) == product; i++) {
+                int rule = triggered[i];
+                types.add(compiled.typeOf(rule));
+                BigDecimal target = targetPrices.get(rule);
+                if (compiled.typeOf(rule) == PriceAlertRule.RuleType.TARGET_PRICE
+                        && (targetPrice == null || target.compareTo(targetPrice) < 0)) {
+                    targetPrice = target;
+                }
+            }
+            Observation observation = observations.get(product);
+            PriceAlertTriggeredEvent event = new PriceAlertTriggeredEvent(
+                observation.product().getId(),
+                types,
+                observation.previousPrice(),
+                observation.currentPrice(),
+                targetPrice
+            );
+            eventPublisher.publishEvent(event);
+            events.add(event);
+        }
+
+        log.debug("Evaluated {} alert rules for {} products, {} fired", compiled.ruleCount(), observations.size(), fired);
+        return events;
+    }
+}
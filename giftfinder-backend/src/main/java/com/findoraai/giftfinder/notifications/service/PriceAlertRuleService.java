@@ -0,0 +1,13 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceAlertRuleRequest;
+import com.findoraai.giftfinder.notifications.dto.PriceAlertRuleResponse;
+
+import java.util.List;
+
+public interface PriceAlertRuleService {
+    List<PriceAlertRuleResponse> getRules(Long savedProductId, User user);
+    PriceAlertRuleResponse createRule(Long savedProductId, PriceAlertRuleRequest request, User user);
+    void deleteRule(Long savedProductId, Long ruleId, User user);
+}
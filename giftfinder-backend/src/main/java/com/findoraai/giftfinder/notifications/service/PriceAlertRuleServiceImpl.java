@@ -0,0 +1,94 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceAlertRuleRequest;
+import com.findoraai.giftfinder.notifications.dto.PriceAlertRuleResponse;
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceAlertRuleRepository;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PriceAlertRuleServiceImpl implements PriceAlertRuleService {
+
+    private final PriceAlertRuleRepository ruleRepository;
+    private final SavedProductRepository savedProductRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PriceAlertRuleResponse> getRules(Long savedProductId, User user) {
+        SavedProduct product = findOwnedProduct(savedProductId, user);
+        return ruleRepository.findBySavedProduct(product).stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public PriceAlertRuleResponse createRule(Long savedProductId, PriceAlertRuleRequest request, User user) {
+        SavedProduct product = findOwnedProduct(savedProductId, user);
+
+        if (request.type() == PriceAlertRule.RuleType.PERCENT_DROP && request.thresholdPercent() == null) {
+            throw new IllegalArgumentException("Threshold percent is required for PERCENT_DROP rules");
+        }
+        if (request.type() == PriceAlertRule.RuleType.TARGET_PRICE && request.targetPrice() == null) {
+            throw new IllegalArgumentException("Target price is required for TARGET_PRICE rules");
+        }
+
+        PriceAlertRule rule = PriceAlertRule.builder()
+            .savedProduct(product)
+            .type(request.type())
+            .thresholdPercent(request.type() == PriceAlertRule.RuleType.PERCENT_DROP ? request.thresholdPercent() : null)
+            .targetPrice(request.type() == PriceAlertRule.RuleType.TARGET_PRICE ? request.targetPrice() : null)
+            .enabled(request.enabled() != null ? request.enabled() : true)
+            .build();
+
+        rule = ruleRepository.save(rule);
+        return toResponse(rule);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long savedProductId, Long ruleId, User user) {
+        SavedProduct product = findOwnedProduct(savedProductId, user);
+        PriceAlertRule rule = ruleRepository.findById(ruleId)
+            .orElseThrow(() -> new IllegalArgumentException("Price alert rule not found"));
+
+        if (!rule.getSavedProduct().getId().equals(product.getId())) {
+            throw new IllegalArgumentException("Price alert rule does not belong to saved product");
+        }
+
+        ruleRepository.delete(rule);
+    }
+
+    private SavedProduct findOwnedProduct(Long savedProductId, User user) {
+        SavedProduct product = savedProductRepository.findById(savedProductId)
+            .orElseThrow(() -> new IllegalArgumentException("Saved product not found"));
+
+        if (!product.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Saved product does not belong to user");
+        }
+
+        return product;
+    }
+
+    private PriceAlertRuleResponse toResponse(PriceAlertRule rule) {
+        return new PriceAlertRuleResponse(
+            rule.getId(),
+            rule.getSavedProduct().getId(),
+            rule.getType(),
+            rule.getThresholdPercent(),
+            rule.getTargetPrice(),
+            rule.getEnabled(),
+            rule.getCreatedAt(),
+            rule.getUpdatedAt()
+        );
+    }
+}
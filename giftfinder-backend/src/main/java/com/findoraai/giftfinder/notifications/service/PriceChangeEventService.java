@@ -0,0 +1,38 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.PriceChangeEventConsumer;
+import com.findoraai.giftfinder.notifications.model.EventConsumerOffset;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PriceChangeEventService {
+    /**
+     * Create the offset of a consumer seen for the first time. New consumers start at the head of
+     * the stream; use {@link #replay} to feed them history.
+     */
+    void registerConsumer(String consumerName);
+
+    /**
+     * Deliver the next batch of events after the consumer's offset and advance it, in one transaction.
+     * @return Number of events delivered, 0 when the consumer is caught up
+     */
+    int processNextBatch(PriceChangeEventConsumer consumer);
+
+    List<EventConsumerOffset> getOffsets();
+
+    long getHeadOffset();
+
+    /**
+     * Rewind (or fast-forward) a consumer so the next batch starts after the given offset. Events
+     * already deleted by {@link #deleteConsumedBefore} are skipped.
+     */
+    EventConsumerOffset replay(String consumerName, long fromOffset);
+
+    /**
+     * Delete up to {@code limit} events that every consumer has processed and that were detected
+     * before {@code before}, oldest first, in the caller's transaction.
+     * @return The number of events deleted
+     */
+    int deleteConsumedBefore(LocalDateTime before, int limit);
+}
@@ -0,0 +1,119 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.PriceChangeEventConsumer;
+import com.findoraai.giftfinder.notifications.model.EventConsumerOffset;
+import com.findoraai.giftfinder.notifications.model.PriceChangeEvent;
+import com.findoraai.giftfinder.notifications.repository.EventConsumerOffsetRepository;
+import com.findoraai.giftfinder.notifications.repository.PriceChangeEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceChangeEventServiceImpl implements PriceChangeEventService {
+
+    private final PriceChangeEventRepository eventRepository;
+    private final EventConsumerOffsetRepository offsetRepository;
+
+    @Value("${scheduler.price-events.batch-size:200}")
+    private int batchSize;
+
+    @Value("${scheduler.price-events.gap-timeout:PT1M}")
+    private Duration gapTimeout;
+
+    @Override
+    @Transactional
+    public void registerConsumer(String consumerName) {
+        if (offsetRepository.existsById(consumerName)) {
+            return;
+        }
+        try {
+            offsetRepository.saveAndFlush(EventConsumerOffset.builder()
+                .consumerName(consumerName)
+                .lastOffset(eventRepository.findHeadOffset())
+                .build());
+            log.info("Registered price event consumer {}", consumerName);
+        } catch (DataIntegrityViolationException e) {
+            // Another node registered it first
+        }
+    }
+
+    @Override
+    @Transactional
+    public int processNextBatch(PriceChangeEventConsumer consumer) {
+        EventConsumerOffset offset = offsetRepository.findForUpdate(consumer.name())
+            .orElseThrow(() -> new IllegalArgumentException("Unknown event consumer: " + consumer.name()));
+
+        List<PriceChangeEvent> events = eventRepository.findByIdGreaterThanOrderByIdAsc(
+            offset.getLastOffset(), PageRequest.of(0, batchSize));
+        events = settledPrefix(events, offset.getLastOffset());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        consumer.handle(events);
+
+        offset.setLastOffset(events.get(events.size() - 1).getId());
+        offsetRepository.save(offset);
+        return events.size();
+    }
+
+    /**
+     * IDs are allocated before commit, so a gap may be an event whose transaction is still open.
+     * Stop in front of a gap until the event after it is older than the gap timeout; by then the
+     * missing ID belongs to a rolled back transaction and can be skipped.
+     */
+    private List<PriceChangeEvent> settledPrefix(List<PriceChangeEvent> events, long lastOffset) {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(gapTimeout);
+        long expected = lastOffset + 1;
+        for (int i = 0; i < events.size(); i++) {
+            PriceChangeEvent event = events.get(i);
+            if (event.getId() != expected && event.getDetectedAt().isAfter(settledBefore)) {
+                return events.subList(0, i);
+            }
+            expected = event.getId() + 1;
+        }
+        return events;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventConsumerOffset> getOffsets() {
+        return offsetRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getHeadOffset() {
+        return eventRepository.findHeadOffset();
+    }
+
+    @Override
+    @Transactional
+    public EventConsumerOffset replay(String consumerName, long fromOffset) {
+        if (fromOffset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        EventConsumerOffset offset = offsetRepository.findForUpdate(consumerName)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown event consumer: " + consumerName));
+        offset.setLastOffset(fromOffset);
+        log.info("Consumer {} rewound to offset {}", consumerName, fromOffset);
+        return offsetRepository.save(offset);
+    }
+
+    @Override
+    @Transactional
+    public int deleteConsumedBefore(LocalDateTime before, int limit) {
+        return eventRepository.deleteConsumedBefore(before, limit);
+    }
+}
@@ -0,0 +1,20 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceHistoryChartResponse;
+
+import java.time.LocalDateTime;
+
+public interface PriceChartService {
+    /**
+     * Get the price history of a saved product downsampled for charting
+     * @param savedProductId Saved product ID
+     * @param user Owner of the saved product
+     * @param targetPoints Maximum number of points to return
+     * @param from Start of the time range (inclusive), or null for the whole history
+     * @param to End of the time range (inclusive), or null for now
+     * @return Downsampled series in chronological order
+     */
+    PriceHistoryChartResponse getPriceHistory(Long savedProductId, User user, int targetPoints,
+                                              LocalDateTime from, LocalDateTime to);
+}
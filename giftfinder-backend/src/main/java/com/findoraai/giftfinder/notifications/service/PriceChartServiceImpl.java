@@ -0,0 +1,188 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceHistoryChartResponse;
+import com.findoraai.giftfinder.notifications.dto.PricePointResponse;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceHistoryRepository;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Downsamples price histories with Largest-Triangle-Three-Buckets.
+ * <p>
+ * LTTB needs the average of the following bucket to pick a point in the current one, so the
+ * history is read in two streaming passes: the first accumulates per-bucket averages, the second
+ * selects the point forming the largest triangle in each bucket. Memory is proportional to the
+ * requested number of points, never to the number of stored rows. Both passes and the row count
+ * run in one repeatable-read transaction so they observe the same snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceChartServiceImpl implements PriceChartService {
+
+    private static final int MIN_POINTS = 3;
+    private static final int MAX_POINTS = 2000;
+
+    private final SavedProductRepository savedProductRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PriceHistoryChartResponse getPriceHistory(Long savedProductId, User user, int targetPoints,
+                                                     LocalDateTime from, LocalDateTime to) {
+        SavedProduct product = savedProductRepository.findById(savedProductId)
+            .orElseThrow(() -> new IllegalArgumentException("Saved product not found"));
+
+        if (!product.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Saved product does not belong to user");
+        }
+
+        if (targetPoints < MIN_POINTS || targetPoints > MAX_POINTS) {
+            throw new IllegalArgumentException(
+                String.format("Points must be between %d and %d", MIN_POINTS, MAX_POINTS));
+        }
+
+        LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime rangeStart = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        if (rangeStart.isAfter(rangeEnd)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        long total = priceHistoryRepository.countByProductBetween(product, rangeStart, rangeEnd);
+
+        List<PricePointResponse> points;
+        if (total <= targetPoints) {
+            try (Stream<PricePointResponse> rows = priceHistoryRepository.streamPointsBetween(product, rangeStart, rangeEnd)) {
+                points = rows.toList();
+            }
+        } else {
+            points = downsample(product, rangeStart, rangeEnd, total, targetPoints);
+        }
+
+        return new PriceHistoryChartResponse(
+            product.getId(),
+            product.getCurrency(),
+            rangeStart,
+            rangeEnd,
+            total,
+            points
+        );
+    }
+
+    private List<PricePointResponse> downsample(SavedProduct product, LocalDateTime from, LocalDateTime to,
+                                                long total, int targetPoints) {
+        // First and last rows are always kept; the rest are split into equally sized buckets
+        int bucketCount = targetPoints - 2;
+        long[] bucketStart = new long[bucketCount + 1];
+        double every = (double) (total - 2) / bucketCount;
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b] = (long) Math.floor(b * every) + 1;
+        }
+        bucketStart[bucketCount] = total - 1;
+
+        // Pass 1: per-bucket averages
+        double[] avgX = new double[bucketCount];
+        double[] avgY = new double[bucketCount];
+        long[] counts = new long[bucketCount];
+        PricePointResponse last = null;
+        try (Stream<PricePointResponse> rows = priceHistoryRepository.streamPointsBetween(product, from, to)) {
+            Iterator<PricePointResponse> it = rows.iterator();
+            int bucket = 0;
+            for (long i = 0; i < total && it.hasNext(); i++) {
+                PricePointResponse point = it.next();
+                if (i == 0) {
+                    continue;
+                }
+                if (i == total - 1) {
+                    last = point;
+                    break;
+                }
+                while (bucket < bucketCount - 1 && i >= bucketStart[bucket + 1]) {
+                    bucket++;
+                }
+                avgX[bucket] += x(point);
+                avgY[bucket] += y(point);
+                counts[bucket]++;
+            }
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            if (counts[b] > 0) {
+                avgX[b] /= counts[b];
+                avgY[b] /= counts[b];
+            }
+        }
+
+        // Pass 2: keep the point with the largest triangle area in each bucket
+        List<PricePointResponse> sampled = new ArrayList<>(targetPoints);
+        try (Stream<PricePointResponse> rows = priceHistoryRepository.streamPointsBetween(product, from, to)) {
+            Iterator<PricePointResponse> it = rows.iterator();
+            if (!it.hasNext()) {
+                return sampled;
+            }
+            PricePointResponse anchor = it.next();
+            sampled.add(anchor);
+
+            int bucket = 0;
+            PricePointResponse best = null;
+            double bestArea = -1;
+            for (long i = 1; i < total - 1 && it.hasNext(); i++) {
+                PricePointResponse point = it.next();
+                while (bucket < bucketCount - 1 && i >= bucketStart[bucket + 1]) {
+                    if (best != null) {
+                        sampled.add(best);
+                        anchor = best;
+                    }
+                    best = null;
+                    bestArea = -1;
+                    bucket++;
+                }
+
+                double nextX;
+                double nextY;
+                if (bucket + 1 < bucketCount && counts[bucket + 1] > 0) {
+                    nextX = avgX[bucket + 1];
+                    nextY = avgY[bucket + 1];
+                } else if (last != null) {
+                    nextX = x(last);
+                    nextY = y(last);
+                } else {
+                    nextX = x(point);
+                    nextY = y(point);
+                }
+
+                double area = Math.abs((x(anchor) - nextX) * (y(point) - y(anchor))
+                    - (x(anchor) - x(point)) * (nextY - y(anchor)));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = point;
+                }
+            }
+            if (best != null) {
+                sampled.add(best);
+            }
+        }
+        if (last != null) {
+            sampled.add(last);
+        }
+        return sampled;
+    }
+
+    private static double x(PricePointResponse point) {
+        return point.checkedAt().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static double y(PricePointResponse point) {
+        return point.price().doubleValue();
+    }
+}
@@ -0,0 +1,39 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceStatsResponse;
+import com.findoraai.giftfinder.notifications.model.PriceHistory;
+import com.findoraai.giftfinder.notifications.model.PriceStats;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+
+public interface PriceStatsService {
+    /**
+     * Fold a newly written price observation into the running aggregates of its product.
+     * Must be called in the same transaction that saves the {@link PriceHistory} row.
+     * @param history Price history entry that was just persisted
+     * @return Updated aggregates of the product
+     */
+    PriceStats recordPrice(PriceHistory history);
+
+    /**
+     * Rebuild a product's aggregates from its whole price history if they cover fewer
+     * observations than it has, e.g. for products tracked before the aggregates existed
+     * @param product Saved product
+     * @return Whether the aggregates were rebuilt
+     */
+    boolean backfillStats(SavedProduct product);
+
+    /**
+     * Get price statistics for a saved product owned by the user
+     * @param savedProductId Saved product ID
+     * @param user Owner of the saved product
+     * @return Rolling-window statistics and deal assessment
+     */
+    PriceStatsResponse getStats(Long savedProductId, User user);
+
+    /**
+     * Remove all aggregates kept for a product
+     * @param product Saved product being deleted
+     */
+    void deleteStats(SavedProduct product);
+}
@@ -0,0 +1,224 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PricePointResponse;
+import com.findoraai.giftfinder.notifications.dto.PriceStatsResponse;
+import com.findoraai.giftfinder.notifications.model.PriceDailyAggregate;
+import com.findoraai.giftfinder.notifications.model.PriceHistory;
+import com.findoraai.giftfinder.notifications.model.PriceStats;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceDailyAggregateRepository;
+import com.findoraai.giftfinder.notifications.repository.PriceHistoryRepository;
+import com.findoraai.giftfinder.notifications.repository.PriceStatsRepository;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class PriceStatsServiceImpl implements PriceStatsService {
+
+    private static final int SHORT_WINDOW_DAYS = 30;
+    private static final int LONG_WINDOW_DAYS = 90;
+
+    private final PriceStatsRepository priceStatsRepository;
+    private final PriceDailyAggregateRepository dailyAggregateRepository;
+    private final SavedProductRepository savedProductRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${price-tracking.stats.ewma-alpha:0.3}")
+    private BigDecimal ewmaAlpha;
+
+    @Value("${price-tracking.stats.good-deal-discount-percent:10}")
+    private BigDecimal goodDealDiscountPercent;
+
+    @Override
+    @Transactional
+    public PriceStats recordPrice(PriceHistory history) {
+        SavedProduct product = history.getSavedProduct();
+        PriceStats stats = lockStats(product, history.getPrice(), history.getCheckedAt());
+        fold(stats, history.getPrice(), history.getCheckedAt());
+        stats = priceStatsRepository.save(stats);
+
+        // A single upsert, so concurrent observations of the same day all land in the bucket
+        dailyAggregateRepository.addToBucket(product.getId(), history.getCheckedAt().toLocalDate(), history.getPrice());
+        return stats;
+    }
+
+    @Override
+    @Transactional
+    public boolean backfillStats(SavedProduct product) {
+        if (priceHistoryRepository.countBySavedProduct(product) == 0) {
+            return false;
+        }
+        // Count again under the lock: observations committed before it are in the history read
+        // below, later ones wait for the lock and are folded on top of the rebuilt aggregates
+        PriceStats stats = lockStats(product, product.getCurrentPrice(), LocalDateTime.now());
+        long observations = priceHistoryRepository.countBySavedProduct(product);
+        if (stats.getSampleCount() >= observations) {
+            return false;
+        }
+
+        stats.setSampleCount(0L);
+        try (Stream<PricePointResponse> points = priceHistoryRepository.streamPoints(product)) {
+            points.forEach(point -> fold(stats, point.price(), point.checkedAt()));
+        }
+        priceStatsRepository.save(stats);
+        dailyAggregateRepository.rebuildBuckets(product.getId());
+        return true;
+    }
+
+    /**
+     * Lock the product's stats row, creating an empty one first if it has none, so concurrent
+     * observations of the product are folded in one after the other. The row is refreshed after
+     * locking: the caller may already hold a copy read before another transaction updated it.
+     */
+    private PriceStats lockStats(SavedProduct product, BigDecimal price, LocalDateTime checkedAt) {
+        priceStatsRepository.insertIfAbsent(product.getId(), price, checkedAt);
+        PriceStats stats = priceStatsRepository.findBySavedProduct(product).orElseThrow();
+        entityManager.refresh(stats, LockModeType.PESSIMISTIC_WRITE);
+        return stats;
+    }
+
+    /**
+     * Fold one observation into the aggregates; the first one seeds them.
+     */
+    private void fold(PriceStats stats, BigDecimal price, LocalDateTime checkedAt) {
+        if (stats.getSampleCount() == 0) {
+            stats.setAllTimeLow(price);
+            stats.setAllTimeHigh(price);
+            stats.setEwmaPrice(price);
+            stats.setVolatility(0.0);
+            stats.setFirstCheckedAt(checkedAt);
+        } else {
+            // EWMA: alpha * price + (1 - alpha) * previous
+            BigDecimal ewma = ewmaAlpha.multiply(price)
+                .add(BigDecimal.ONE.subtract(ewmaAlpha).multiply(stats.getEwmaPrice()))
+                .setScale(4, RoundingMode.HALF_UP);
+            stats.setEwmaPrice(ewma);
+
+            double alpha = ewmaAlpha.doubleValue();
+            double change = stats.getLastPrice().signum() == 0 ? 0.0
+                : Math.abs(price.subtract(stats.getLastPrice()).doubleValue()) / stats.getLastPrice().doubleValue();
+            double previous = stats.getVolatility() != null ? stats.getVolatility() : 0.0;
+            stats.setVolatility(alpha * change + (1 - alpha) * previous);
+            stats.setAllTimeLow(stats.getAllTimeLow().min(price));
+            stats.setAllTimeHigh(stats.getAllTimeHigh().max(price));
+        }
+        stats.setSampleCount(stats.getSampleCount() + 1);
+        stats.setLastPrice(price);
+        stats.setLastCheckedAt(checkedAt);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceStatsResponse getStats(Long savedProductId, User user) {
+        SavedProduct product = savedProductRepository.findById(savedProductId)
+            .orElseThrow(() -> new IllegalArgumentException("Saved product not found"));
+
+        if (!product.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Saved product does not belong to user");
+        }
+
+        PriceStats stats = priceStatsRepository.findBySavedProduct(product).orElse(null);
+        if (stats == null) {
+            return new PriceStatsResponse(product.getId(), product.getCurrency(), product.getCurrentPrice(),
+                0L, null, null, null, emptyWindow(SHORT_WINDOW_DAYS), emptyWindow(LONG_WINDOW_DAYS), false, null);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate shortFrom = today.minusDays(SHORT_WINDOW_DAYS - 1);
+        List<PriceDailyAggregate> buckets = dailyAggregateRepository
+            .findBySavedProductAndBucketDateGreaterThanEqual(product, today.minusDays(LONG_WINDOW_DAYS - 1));
+
+        WindowAccumulator shortWindow = new WindowAccumulator();
+        WindowAccumulator longWindow = new WindowAccumulator();
+        for (PriceDailyAggregate bucket : buckets) {
+            longWindow.add(bucket);
+            if (!bucket.getBucketDate().isBefore(shortFrom)) {
+                shortWindow.add(bucket);
+            }
+        }
+
+        PriceStatsResponse.WindowStats last30Days = shortWindow.toStats(SHORT_WINDOW_DAYS);
+        PriceStatsResponse.WindowStats last90Days = longWindow.toStats(LONG_WINDOW_DAYS);
+
+        return new PriceStatsResponse(
+            product.getId(),
+            product.getCurrency(),
+            product.getCurrentPrice(),
+            stats.getSampleCount(),
+            stats.getAllTimeLow(),
+            stats.getAllTimeHigh(),
+            stats.getEwmaPrice().setScale(2, RoundingMode.HALF_UP),
+            last30Days,
+            last90Days,
+            isGoodDeal(product.getCurrentPrice(), last90Days),
+            stats.getLastCheckedAt()
+        );
+    }
+
+    @Override
+    @Transactional
+    public void deleteStats(SavedProduct product) {
+        dailyAggregateRepository.deleteBySavedProduct(product);
+        priceStatsRepository.deleteBySavedProduct(product);
+    }
+
+    /**
+     * A price is a good deal when it is clearly below the 90-day average, or when it sits at the
+     * 90-day low of a product whose price has actually moved in that window.
+     */
+    private boolean isGoodDeal(BigDecimal currentPrice, PriceStatsResponse.WindowStats window) {
+        if (currentPrice == null || window.averagePrice() == null) {
+            return false;
+        }
+
+        BigDecimal discountFactor = BigDecimal.ONE.subtract(
+            goodDealDiscountPercent.divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP));
+        boolean belowAverage = currentPrice.compareTo(window.averagePrice().multiply(discountFactor)) <= 0;
+        boolean atWindowLow = currentPrice.compareTo(window.lowestPrice()) <= 0
+            && window.lowestPrice().compareTo(window.highestPrice()) < 0;
+
+        return belowAverage || atWindowLow;
+    }
+
+    private PriceStatsResponse.WindowStats emptyWindow(int days) {
+        return new PriceStatsResponse.WindowStats(days, null, null, null, 0L);
+    }
+
+    private static class WindowAccumulator {
+        private BigDecimal min;
+        private BigDecimal max;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private long count;
+
+        void add(PriceDailyAggregate bucket) {
+            min = min == null ? bucket.getMinPrice() : min.min(bucket.getMinPrice());
+            max = max == null ? bucket.getMaxPrice() : max.max(bucket.getMaxPrice());
+            sum = sum.add(bucket.getSumPrice());
+            count += bucket.getSampleCount();
+        }
+
+        PriceStatsResponse.WindowStats toStats(int days) {
+            BigDecimal average = count == 0 ? null
+                : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+            return new PriceStatsResponse.WindowStats(days, min, max, average, count);
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.findoraai.giftfinder.notifications.service;
 import com.findoraai.giftfinder.auth.model.User;
 import com.findoraai.giftfinder.notifications.dto.RecipientRequest;
 import com.findoraai.giftfinder.notifications.dto.RecipientResponse;
+import com.findoraai.giftfinder.notifications.event.RecipientChangedEvent;
 import com.findoraai.giftfinder.notifications.model.Recipient;
 import com.findoraai.giftfinder.notifications.repository.RecipientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import java.util.stream.Collectors;
 public class RecipientServiceImpl implements RecipientService {
 
     private final RecipientRepository recipientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -68,6 +71,7 @@ public class RecipientServiceImpl implements RecipientService {
         recipient.setBirthday(request.birthday());
         
         recipient = recipientRepository.save(recipient);
+        eventPublisher.publishEvent(new RecipientChangedEvent(recipient.getId(), user.getId()));
         return toResponse(recipient);
     }
 
@@ -81,6 +85,7 @@ public class RecipientServiceImpl implements RecipientService {
             throw new IllegalArgumentException("Recipient does not belong to user");
         }
         
+        eventPublisher.publishEvent(new RecipientChangedEvent(recipient.getId(), user.getId()));
         recipientRepository.delete(recipient);
     }
 
@@ -0,0 +1,89 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Makes sure reminders carry the unique constraint that set-based generation uses as its
+ * ON CONFLICT target (see ReminderRepository.insertRemindersForDates).
+ * <p>
+ * Hibernate's schema update only logs a warning when it cannot add the constraint, which it cannot
+ * while the table holds duplicates from before it existed, and every generation insert would then
+ * fail. At startup, a missing constraint is created after removing the duplicates: of each group
+ * the reminder that got furthest (sent, then sending, failed, pending, cancelled) is kept, the
+ * oldest among equals. If the constraint still cannot be created, startup fails. All changes are
+ * made under one advisory lock, so instances starting together do not collide.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class ReminderConstraints {
+
+    private static final String CONSTRAINT = "uk_reminder_date_days_scheduled";
+    private static final long LOCK_KEY = 0x52454D49L;
+
+    private final DataSource dataSource;
+
+    public ReminderConstraints(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void ensureUniqueOnStartup() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+                    statement.setLong(1, LOCK_KEY);
+                    statement.execute();
+                }
+                if (!exists(connection)) {
+                    create(connection);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw new IllegalStateException("Could not create the reminders constraint " + CONSTRAINT +
+                    ": " + e.getMessage(), e);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private boolean exists(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM pg_constraint WHERE conname = ? AND conrelid = to_regclass('reminders')")) {
+            statement.setString(1, CONSTRAINT);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void create(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LOCK TABLE reminders IN SHARE ROW EXCLUSIVE MODE");
+            statement.execute("CREATE TEMPORARY TABLE duplicate_reminders ON COMMIT DROP AS " +
+                "SELECT id FROM (SELECT id, row_number() OVER (" +
+                "PARTITION BY important_date_id, days_before, scheduled_date ORDER BY " +
+                "CASE status WHEN 'SENT' THEN 0 WHEN 'SENDING' THEN 1 WHEN 'FAILED' THEN 2 " +
+                "WHEN 'PENDING' THEN 3 ELSE 4 END, id) AS rank FROM reminders) ranked WHERE rank > 1");
+            statement.execute("DELETE FROM reminder_payloads WHERE reminder_id IN (SELECT id FROM duplicate_reminders)");
+            int deleted = statement.executeUpdate("DELETE FROM reminders WHERE id IN (SELECT id FROM duplicate_reminders)");
+            statement.execute("ALTER TABLE reminders ADD CONSTRAINT " + CONSTRAINT +
+                " UNIQUE (important_date_id, days_before, scheduled_date)");
+            log.info("Created reminders constraint {} after deleting {} duplicate reminders", CONSTRAINT, deleted);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.ImportantDateChangedEvent;
+import com.findoraai.giftfinder.notifications.event.NotificationPreferencesChangedEvent;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the reminders of a user up to date as their important dates and preferences change:
+ * reminders that no longer match are cancelled, missing ones within the generation window are
+ * created and deleted dates lose their reminders. Events are handled synchronously inside the
+ * publishing transaction, so the reminders commit or roll back together with the change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderMaintainer {
+
+    private final ReminderRepository reminderRepository;
+
+    // Same window as ReminderGenerationJob, which creates reminders as dates enter it
+    @Value("${scheduler.reminders.horizon-days:30}")
+    private int horizonDays;
+
+    @EventListener
+    public void onImportantDateChanged(ImportantDateChangedEvent event) {
+        if (event.changeType() == ImportantDateChangedEvent.ChangeType.DELETED) {
+            int deleted = reminderRepository.deleteByImportantDateId(event.importantDateId());
+            log.debug("Deleted {} reminders of important date {}", deleted, event.importantDateId());
+            return;
+        }
+        refresh(event.userId(), event.importantDateId(), event.importantDateId());
+    }
+
+    @EventListener
+    public void onPreferencesChanged(NotificationPreferencesChangedEvent event) {
+        refresh(event.userId(), 0L, Long.MAX_VALUE);
+        reminderRepository.syncPendingReminders(event.userId(), LocalDateTime.now());
+    }
+
+    private void refresh(Long userId, Long fromId, Long toId) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        int cancelled = reminderRepository.cancelStaleReminders(userId, fromId, toId, now);
+        int created = reminderRepository.insertRemindersForUser(
+            userId, today, today.plusDays(horizonDays), fromId, toId, now);
+        log.debug("Cancelled {} and created {} reminders for user {}", cancelled, created, userId);
+    }
+}
@@ -0,0 +1,167 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.event.ImportantDateChangedEvent;
+import com.findoraai.giftfinder.notifications.event.RecipientChangedEvent;
+import com.findoraai.giftfinder.notifications.model.ImportantDate;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.model.ReminderPayload;
+import com.findoraai.giftfinder.notifications.repository.ReminderPayloadRepository;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders reminder notifications, ahead of time into {@link ReminderPayload}s or at send time for
+ * reminders without a usable one. Payloads of a date or recipient are deleted inside the
+ * transaction that changes it, and rendered again by the next run of ReminderPayloadJob.
+ * <p>
+ * That alone can leave a stale payload: a change may commit while its reminders are being rendered
+ * from the values before it, and users change their name or email without any event. A payload
+ * therefore also records a hash of the values it was rendered from, and is only used while the
+ * reminder being sent still hashes the same.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderPayloadRenderer {
+
+    private static final DateTimeFormatter EVENT_DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
+
+    private final ReminderRepository reminderRepository;
+    private final ReminderPayloadRepository payloadRepository;
+    private final NotificationService notificationService;
+
+    /**
+     * Render payloads for up to {@code limit} pending reminders scheduled up to {@code until} that
+     * have none of the current render version, each as if sent on its scheduled date.
+     * @return Number of payloads rendered
+     */
+    @Transactional
+    public int renderDue(LocalDate until, int limit) {
+        int renderVersion = notificationService.getReminderRenderVersion();
+        List<Long> ids = payloadRepository.findUnrenderedReminderIds(until, renderVersion, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Outdated payloads are replaced rather than merged
+        payloadRepository.deleteAllByIdInBatch(ids);
+        payloadRepository.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReminderPayload> payloads = new ArrayList<>(ids.size());
+        for (Reminder reminder : reminderRepository.findWithDetailsByIdIn(ids)) {
+            NotificationService.RenderedNotification rendered = render(reminder, reminder.getDaysBefore());
+            payloads.add(ReminderPayload.builder()
+                .reminderId(reminder.getId())
+                .recipient(rendered.recipient())
+                .subject(rendered.subject())
+                .body(compress(rendered.body()))
+                .fragment(compress(rendered.fragment()))
+                .daysUntil(reminder.getDaysBefore())
+                .renderVersion(renderVersion)
+                .sourceHash(sourceHash(reminder))
+                .renderedAt(now)
+                .build());
+        }
+        payloadRepository.saveAll(payloads);
+        return payloads.size();
+    }
+
+    /**
+     * Delete the payloads of reminders no longer pending.
+     * @return Number of payloads deleted
+     */
+    @Transactional
+    public int deleteObsolete() {
+        return payloadRepository.deleteObsolete();
+    }
+
+    /**
+     * The payload's notification, if it is of the current render version, was rendered for sending
+     * {@code daysUntil} days before the event and from the reminder's current user, date and recipient.
+     * @param reminder The payload's reminder, loaded with its details (see ReminderRepository.findWithDetailsByIdIn)
+     */
+    public Optional<NotificationService.RenderedNotification> fromPayload(ReminderPayload payload, Reminder reminder,
+                                                                          int daysUntil) {
+        if (payload == null || payload.getDaysUntil() != daysUntil
+            || payload.getRenderVersion() != notificationService.getReminderRenderVersion()
+            || !Objects.equals(payload.getSourceHash(), sourceHash(reminder))) {
+            return Optional.empty();
+        }
+        return Optional.of(new NotificationService.RenderedNotification(payload.getRecipient(),
+            payload.getSubject(), decompress(payload.getBody()), decompress(payload.getFragment())));
+    }
+
+    /**
+     * Render the reminder's notification now, loading its user, date and recipient.
+     */
+    public NotificationService.RenderedNotification render(Reminder reminder, int daysUntil) {
+        String recipientName = reminder.getImportantDate().getRecipient() != null
+            ? reminder.getImportantDate().getRecipient().getName() : null;
+        return notificationService.renderReminderNotification(
+            reminder.getUser(),
+            reminder.getImportantDate().getName(),
+            reminder.getOccurrenceDate().format(EVENT_DATE_FORMAT),
+            daysUntil,
+            recipientName);
+    }
+
+    /**
+     * Hash of everything {@link #render} reads apart from the days until the event.
+     */
+    private static int sourceHash(Reminder reminder) {
+        ImportantDate date = reminder.getImportantDate();
+        return Objects.hash(reminder.getUser().getEmail(), reminder.getUser().getName(), date.getName(),
+            reminder.getOccurrenceDate(), date.getRecipient() != null ? date.getRecipient().getName() : null);
+    }
+
+    @EventListener
+    public void onImportantDateChanged(ImportantDateChangedEvent event) {
+        if (event.changeType() != ImportantDateChangedEvent.ChangeType.CREATED) {
+            payloadRepository.deleteByImportantDateId(event.importantDateId());
+        }
+    }
+
+    @EventListener
+    public void onRecipientChanged(RecipientChangedEvent event) {
+        payloadRepository.deleteByRecipientId(event.recipientId());
+    }
+
+    private static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() / 3);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String decompress(byte[] compressed) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
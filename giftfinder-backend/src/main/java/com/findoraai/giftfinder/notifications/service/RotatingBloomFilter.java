@@ -0,0 +1,190 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Set membership over a sliding time window, answering "definitely absent" or "possibly present".
+ * Keys are added to the Bloom filter of the time bucket they happened in, and buckets that fall
+ * out of the window are dropped whole. A lookup consults every live bucket, so each bucket gets
+ * an equal share of the false positive rate. A bucket that outgrows its expected size chains a
+ * filter twice as large with half the rate, which keeps bursts within the configured overall
+ * rate. Safe for concurrent use.
+ */
+public final class RotatingBloomFilter {
+
+    private final long bucketMillis;
+    private final long windowMillis;
+    private final int expectedPerBucket;
+    private final double bucketFalsePositiveRate;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    public RotatingBloomFilter(long bucketMillis, long windowMillis, int expectedPerBucket, double falsePositiveRate) {
+        if (bucketMillis <= 0 || windowMillis < bucketMillis || expectedPerBucket <= 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter settings");
+        }
+        this.bucketMillis = bucketMillis;
+        this.windowMillis = windowMillis;
+        this.expectedPerBucket = expectedPerBucket;
+        long liveBuckets = Math.ceilDiv(windowMillis, bucketMillis) + 1;
+        this.bucketFalsePositiveRate = falsePositiveRate / liveBuckets;
+    }
+
+    /**
+     * Add a key at the given time; keys already outside the window are ignored.
+     */
+    public void add(String key, long timeMillis, long nowMillis) {
+        long bucket = Math.floorDiv(timeMillis, bucketMillis);
+        if (bucket < firstLiveBucket(nowMillis)) {
+            return;
+        }
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        buckets.computeIfAbsent(bucket, b -> new Bucket()).add(h1, h2);
+        evict(nowMillis);
+    }
+
+    /**
+     * @return false if the key was definitely not added within the window
+     */
+    public boolean mightContain(String key, long nowMillis) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (Bucket bucket : buckets.tailMap(firstLiveBucket(nowMillis)).values()) {
+            if (bucket.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long entryCount() {
+        return buckets.values().stream().mapToLong(Bucket::entryCount).sum();
+    }
+
+    public long memoryBytes() {
+        return buckets.values().stream().mapToLong(Bucket::memoryBytes).sum();
+    }
+
+    public void clear() {
+        buckets.clear();
+    }
+
+    private long firstLiveBucket(long nowMillis) {
+        return Math.floorDiv(nowMillis - windowMillis, bucketMillis);
+    }
+
+    private void evict(long nowMillis) {
+        long first = firstLiveBucket(nowMillis);
+        while (!buckets.isEmpty() && buckets.firstKey() < first) {
+            buckets.pollFirstEntry();
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer.
+     */
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private final class Bucket {
+        private final List<Filter> filters = new CopyOnWriteArrayList<>();
+
+        Bucket() {
+            filters.add(new Filter(expectedPerBucket, bucketFalsePositiveRate / 2));
+        }
+
+        void add(long h1, long h2) {
+            for (Filter filter : filters) {
+                if (filter.mightContain(h1, h2)) {
+                    return;
+                }
+            }
+            Filter current = filters.get(filters.size() - 1);
+            if (current.isFull()) {
+                synchronized (this) {
+                    current = filters.get(filters.size() - 1);
+                    if (current.isFull()) {
+                        current = new Filter(current.capacity * 2, current.falsePositiveRate / 2);
+                        filters.add(current);
+                    }
+                }
+            }
+            current.add(h1, h2);
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (Filter filter : filters) {
+                if (filter.mightContain(h1, h2)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long entryCount() {
+            return filters.stream().mapToLong(filter -> filter.count.get()).sum();
+        }
+
+        long memoryBytes() {
+            return filters.stream().mapToLong(filter -> filter.bits.length() * 8L).sum();
+        }
+    }
+
+    private static final class Filter {
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Filter(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        void add(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                bits.getAndUpdate(word, value -> value | mask);
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
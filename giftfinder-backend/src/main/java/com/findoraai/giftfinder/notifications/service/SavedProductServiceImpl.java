@@ -6,6 +6,7 @@ import com.findoraai.giftfinder.notifications.dto.SavedProductResponse;
 import com.findoraai.giftfinder.notifications.model.PriceHistory;
 import com.findoraai.giftfinder.notifications.model.Recipient;
 import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceAlertRuleRepository;
 import com.findoraai.giftfinder.notifications.repository.PriceHistoryRepository;
 import com.findoraai.giftfinder.notifications.repository.RecipientRepository;
 import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
@@ -24,6 +25,8 @@ public class SavedProductServiceImpl implements SavedProductService {
     private final SavedProductRepository savedProductRepository;
     private final RecipientRepository recipientRepository;
     private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceStatsService priceStatsService;
+    private final PriceAlertRuleRepository priceAlertRuleRepository;
 
     @Override
     @Transactional(readOnly = true)
@@ -82,7 +85,8 @@ public class SavedProductServiceImpl implements SavedProductService {
             .currency(request.currency())
             .available(true)
             .build();
-        priceHistoryRepository.save(history);
+        history = priceHistoryRepository.save(history);
+        priceStatsService.recordPrice(history);
         
         return toResponse(product);
     }
@@ -131,6 +135,8 @@ public class SavedProductServiceImpl implements SavedProductService {
             throw new IllegalArgumentException("Saved product does not belong to user");
         }
         
+        priceStatsService.deleteStats(product);
+        priceAlertRuleRepository.deleteBySavedProduct(product);
         savedProductRepository.delete(product);
     }
 
@@ -0,0 +1,293 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps up to {@code size} connections to the mail server open, each connected and authenticated
+ * once, and sends batches of messages over them instead of a new connection per message as
+ * {@link JavaMailSenderImpl#send} does.
+ * <p>
+ * A connection idle for longer than {@code validate-after-idle} is checked with a NOOP before it
+ * is used again, and reopened if the server dropped it; one found dropped by its first send is
+ * reopened the same way. A connection that fails later is closed, failing that message, and the
+ * rest of its batch continues on a new connection. Connections are retired after
+ * {@code max-messages-per-connection} messages, and closed once idle for {@code max-idle}, so
+ * a quiet instance does not hold sockets the server will time out anyway.
+ */
+@Component
+@Slf4j
+public class SmtpConnectionPool {
+
+    public record PoolStats(boolean enabled, int size, int inUse, int idle, long opened, long closed,
+                            long validationFailures, long sent, long failed) {}
+
+    private static final class PooledTransport {
+        final Transport transport;
+        long lastUsedNanos = System.nanoTime();
+        int sent;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    private final JavaMailSenderImpl mailSender;
+    private final boolean enabled;
+    private final int size;
+    private final int maxMessagesPerConnection;
+    private final long validateAfterIdleNanos;
+    private final long maxIdleNanos;
+    private final Duration borrowTimeout;
+
+    private final Semaphore permits;
+
+    /**
+     * Most recently used first, so a light load keeps reusing the same few connections and the
+     * rest age out.
+     */
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("smtp-pool-evictor").daemon().factory());
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender,
+                              @Value("${notifications.smtp-pool.enabled:true}") boolean enabled,
+                              @Value("${notifications.smtp-pool.size:8}") int size,
+                              @Value("${notifications.smtp-pool.max-messages-per-connection:500}") int maxMessagesPerConnection,
+                              @Value("${notifications.smtp-pool.validate-after-idle:PT10S}") Duration validateAfterIdle,
+                              @Value("${notifications.smtp-pool.max-idle:PT1M}") Duration maxIdle,
+                              @Value("${notifications.smtp-pool.borrow-timeout:PT30S}") Duration borrowTimeout) {
+        if (size < 1 || maxMessagesPerConnection < 1) {
+            throw new IllegalArgumentException("SMTP pool size and messages per connection must be positive");
+        }
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.size = size;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.validateAfterIdleNanos = validateAfterIdle.toNanos();
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(size, true);
+
+        if (enabled) {
+            long sweepMillis = Math.max(1000, maxIdle.toMillis() / 2);
+            evictor.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictor.shutdownNow();
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    /**
+     * Send the messages in order over one pooled connection.
+     * @return The failure of each message, or null where it was sent
+     */
+    public List<MailException> send(List<MimeMessage> messages) {
+        List<MailException> failures = new ArrayList<>(Collections.nCopies(messages.size(), null));
+        if (!enabled) {
+            for (int i = 0; i < messages.size(); i++) {
+                try {
+                    mailSender.send(messages.get(i));
+                } catch (MailException e) {
+                    failures.set(i, e);
+                }
+            }
+            return countOutcomes(failures);
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return failAll(failures, 0, new MailSendException("No mail server connection free within " + borrowTimeout));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failAll(failures, 0, new MailSendException("Interrupted waiting for a mail server connection"));
+        }
+
+        PooledTransport connection = null;
+        boolean reused = false;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                if (connection == null) {
+                    try {
+                        connection = borrow();
+                    } catch (MessagingException e) {
+                        return failAll(failures, i, connectFailure(e));
+                    }
+                    reused = connection.sent > 0;
+                }
+                try {
+                    send(connection, messages.get(i));
+                    reused = false;
+                } catch (SendFailedException e) {
+                    // Rejected by the server, which usually keeps the connection open
+                    failures.set(i, new MailSendException("Failed to send message: " + e.getMessage(), e));
+                    if (!connection.transport.isConnected()) {
+                        close(connection);
+                        connection = null;
+                    }
+                } catch (MessagingException | IllegalStateException e) {
+                    close(connection);
+                    connection = null;
+                    if (reused) {
+                        // Dropped by the server since its last use, within the validation interval
+                        validationFailures.incrementAndGet();
+                        i--;
+                        continue;
+                    }
+                    failures.set(i, new MailSendException("Failed to send message: " + e.getMessage(), e));
+                }
+            }
+            return countOutcomes(failures);
+        } finally {
+            if (connection != null) {
+                release(connection);
+            }
+            permits.release();
+        }
+    }
+
+    public PoolStats getStats() {
+        int idleCount = idle.size();
+        return new PoolStats(enabled, size, size - permits.availablePermits(), idleCount,
+            opened.get(), closed.get(), validationFailures.get(), sent.get(), failed.get());
+    }
+
+    /**
+     * Prepares the message as {@link JavaMailSenderImpl} does, keeping an explicit Message-ID.
+     */
+    private void send(PooledTransport connection, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+        Address[] recipients = message.getAllRecipients();
+        connection.transport.sendMessage(message, recipients != null ? recipients : new Address[0]);
+        connection.sent++;
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            // isConnected() sends a NOOP and closes the transport if the server does not answer
+            if (System.nanoTime() - connection.lastUsedNanos < validateAfterIdleNanos
+                || connection.transport.isConnected()) {
+                return connection;
+            }
+            validationFailures.incrementAndGet();
+            log.debug("Pooled mail server connection went stale, reconnecting");
+            close(connection);
+        }
+        return open();
+    }
+
+    private void release(PooledTransport connection) {
+        if (connection.sent >= maxMessagesPerConnection) {
+            close(connection);
+            return;
+        }
+        connection.lastUsedNanos = System.nanoTime();
+        idle.offerFirst(connection);
+    }
+
+    private PooledTransport open() throws MessagingException {
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        Session session = mailSender.getSession();
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = session.getProperty("mail.transport.protocol");
+            if (protocol == null) {
+                protocol = JavaMailSenderImpl.DEFAULT_PROTOCOL;
+            }
+        }
+        Transport transport = session.getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        opened.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport connection) {
+        closed.incrementAndGet();
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Closing mail server connection failed: {}", e.getMessage());
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        List<PooledTransport> expired = new ArrayList<>();
+        idle.removeIf(connection -> now - connection.lastUsedNanos > maxIdleNanos && expired.add(connection));
+        expired.forEach(this::close);
+    }
+
+    private static MailException connectFailure(MessagingException e) {
+        return e instanceof AuthenticationFailedException
+            ? new MailAuthenticationException(e)
+            : new MailSendException("Mail server connection failed: " + e.getMessage(), e);
+    }
+
+    private List<MailException> failAll(List<MailException> failures, int from, MailException failure) {
+        for (int i = from; i < failures.size(); i++) {
+            failures.set(i, failure);
+        }
+        return countOutcomes(failures);
+    }
+
+    private List<MailException> countOutcomes(List<MailException> failures) {
+        long failedCount = failures.stream().filter(failure -> failure != null).count();
+        failed.addAndGet(failedCount);
+        sent.addAndGet(failures.size() - failedCount);
+        return failures;
+    }
+}
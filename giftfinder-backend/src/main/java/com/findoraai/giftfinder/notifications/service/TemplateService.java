@@ -1,87 +1,109 @@
 package com.findoraai.giftfinder.notifications.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Renders the email templates under {@code templates/email}. Each template is read and compiled
+ * into a {@link CompiledTemplate} once and rendered from the cache afterwards. With hot reload
+ * enabled, a template whose file changed is recompiled, checked at most once per check interval;
+ * templates packaged in a jar never change.
+ */
 @Service
 @Slf4j
 public class TemplateService {
 
+    private record CachedTemplate(CompiledTemplate template, int sourceHash, long lastModified, long checkedAtNanos) {}
+
+    /**
+     * Larger buffers are not kept for reuse, so one oversized email does not pin its memory.
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    private final Map<String, CachedTemplate> cache = new ConcurrentHashMap<>();
+    private final boolean hotReload;
+    private final long checkIntervalNanos;
+
+    public TemplateService(@Value("${notifications.templates.hot-reload:false}") boolean hotReload,
+                           @Value("${notifications.templates.check-interval:PT2S}") Duration checkInterval) {
+        this.hotReload = hotReload;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
     /**
      * Process a template by replacing placeholders with actual values
-     * Supports Mustache-style placeholders: {{variable}}
+     * Supports Mustache-style placeholders: {{variable}}, see {@link CompiledTemplate}
      */
     public String processTemplate(String templateName, Map<String, Object> data) {
+        CompiledTemplate template;
         try {
-            String template = loadTemplate(templateName);
-            return replacePlaceholders(template, data);
-        } catch (IOException e) {
+            template = getTemplate(templateName).template();
+        } catch (IOException | IllegalArgumentException e) {
             log.error("Failed to process template {}: {}", templateName, e.getMessage());
             return "<html><body><p>Error loading template</p></body></html>";
         }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.render(data, buffer);
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return result;
     }
 
-    private String loadTemplate(String templateName) throws IOException {
-        String path = "templates/email/" + templateName + ".html";
-        ClassPathResource resource = new ClassPathResource(path);
-        return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+    /**
+     * Hash of the template's current source, which changes when the template is edited, so output
+     * rendered ahead of time can tell it is outdated. 0 if the template cannot be loaded.
+     */
+    public int getVersion(String templateName) {
+        try {
+            return getTemplate(templateName).sourceHash();
+        } catch (IOException | IllegalArgumentException e) {
+            return 0;
+        }
     }
 
-    private String replacePlaceholders(String template, Map<String, Object> data) {
-        String result = template;
-        
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue() != null ? entry.getValue().toString() : "";
-            
-            // Replace {{key}} with value
-            result = result.replace("{{" + key + "}}", value);
-            
-            // Handle conditional blocks: {{#key}}...{{/key}}
-            String conditionalStart = "{{#" + key + "}}";
-            String conditionalEnd = "{{/" + key + "}}";
-            
-            if (entry.getValue() != null && !value.isEmpty()) {
-                // Keep the content, remove the tags
-                result = result.replace(conditionalStart, "");
-                result = result.replace(conditionalEnd, "");
-            } else {
-                // Remove the entire conditional block
-                result = removeConditionalBlock(result, conditionalStart, conditionalEnd);
-            }
+    private CachedTemplate getTemplate(String templateName) throws IOException {
+        CachedTemplate cached = cache.get(templateName);
+        if (cached != null && (!hotReload || System.nanoTime() - cached.checkedAtNanos() < checkIntervalNanos)) {
+            return cached;
         }
-        
-        // Log warning for any remaining placeholders
-        if (result.contains("{{")) {
-            int start = result.indexOf("{{");
-            int end = result.indexOf("}}", start);
-            if (end > start) {
-                String placeholder = result.substring(start, end + 2);
-                log.warn("Unknown placeholder found in template: {}", placeholder);
-            }
+
+        ClassPathResource resource = new ClassPathResource("templates/email/" + templateName + ".html");
+        long lastModified = lastModified(resource);
+        if (cached != null && cached.lastModified() == lastModified) {
+            CachedTemplate checked = new CachedTemplate(cached.template(), cached.sourceHash(), lastModified, System.nanoTime());
+            cache.put(templateName, checked);
+            return checked;
         }
-        
-        // Remove any remaining placeholders
-        result = result.replaceAll("\\{\\{[^}]+\\}\\}", "");
-        
-        return result;
+
+        String source = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+        CachedTemplate compiled = new CachedTemplate(CompiledTemplate.parse(source), source.hashCode(), lastModified, System.nanoTime());
+        cache.put(templateName, compiled);
+        if (cached != null) {
+            log.info("Reloaded template {}", templateName);
+        }
+        return compiled;
     }
 
-    private String removeConditionalBlock(String text, String start, String end) {
-        int startIdx = text.indexOf(start);
-        while (startIdx != -1) {
-            int endIdx = text.indexOf(end, startIdx);
-            if (endIdx == -1) break;
-            
-            text = text.substring(0, startIdx) + text.substring(endIdx + end.length());
-            startIdx = text.indexOf(start);
+    private static long lastModified(ClassPathResource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
         }
-        return text;
     }
 }
@@ -0,0 +1,20 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+
+/**
+ * A job that processes its work in chunks after a keyset cursor, so that
+ * {@link CheckpointedJobRunner} can commit each chunk and resume an interrupted run.
+ */
+public interface CheckpointedJob {
+    /**
+     * @return Stable name under which runs of this job are recorded
+     */
+    String jobName();
+
+    /**
+     * Process the next chunk after {@code run.getCursor()}. Called inside the transaction that
+     * commits the chunk and its checkpoint, so the chunk's writes and the cursor move together.
+     */
+    JobChunkResult processChunk(JobRun run);
+}
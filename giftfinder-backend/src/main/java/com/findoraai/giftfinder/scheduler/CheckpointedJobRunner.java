@@ -0,0 +1,242 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.scheduler.model.JobCheckpoint;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import com.findoraai.giftfinder.scheduler.repository.JobCheckpointRepository;
+import com.findoraai.giftfinder.scheduler.repository.JobRunRepository;
+import com.findoraai.giftfinder.scheduler.repository.JobWorkUnitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Runs {@link CheckpointedJob}s chunk by chunk. Every chunk commits in its own transaction
+ * together with the run's cursor and a {@link JobCheckpoint}, so a crash loses at most the
+ * chunk in flight. A run that failed earlier the same business day is resumed from its cursor
+ * instead of starting over. Each instance keeps its own runs; work is shared between them
+ * through {@link WorkClaimer}, and the runs of an instance that died are closed while the work
+ * it had claimed returns to the pool when the leases expire.
+ */
+@Component
+@Slf4j
+public class CheckpointedJobRunner {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRunRepository jobRunRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final JobWorkUnitRepository workUnitRepository;
+    private final WorkClaimer workClaimer;
+    private final NodeIdentity nodeIdentity;
+    private final LeaderElection leaderElection;
+    private final JobRuntime jobRuntime;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<CheckpointedJob> jobs;
+
+    @Value("${scheduler.job-runs.stale-after:PT5M}")
+    private Duration staleAfter;
+
+    @Value("${scheduler.job-runs.retention:P30D}")
+    private Period retention;
+
+    public CheckpointedJobRunner(JobRunRepository jobRunRepository,
+                                 JobCheckpointRepository checkpointRepository,
+                                 JobWorkUnitRepository workUnitRepository,
+                                 WorkClaimer workClaimer,
+                                 NodeIdentity nodeIdentity,
+                                 LeaderElection leaderElection,
+                                 JobRuntime jobRuntime,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectProvider<CheckpointedJob> jobs) {
+        this.jobRunRepository = jobRunRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.workUnitRepository = workUnitRepository;
+        this.workClaimer = workClaimer;
+        this.nodeIdentity = nodeIdentity;
+        this.leaderElection = leaderElection;
+        this.jobRuntime = jobRuntime;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobs = jobs;
+    }
+
+    /**
+     * Start a new run of the job on this instance, or resume its failed one.
+     * @return The finished run, or empty if a live run of the job is already in progress here
+     */
+    public Optional<JobRun> run(CheckpointedJob job) {
+        JobRun run = transactionTemplate.execute(status -> startOrResume(job));
+        if (run == null) {
+            log.info("Skipping {}: a run is already in progress", job.jobName());
+            return Optional.empty();
+        }
+        return Optional.of(execute(job, run.getId()));
+    }
+
+    /**
+     * Close runs abandoned by a crashed instance and pick up the work it left behind without
+     * waiting for the job's next trigger. The pick-up runs on the job's own executor, subject to
+     * its overlap policy, rather than on the scheduling thread.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.job-runs.resume-interval:PT5M}",
+               initialDelayString = "${scheduler.job-runs.resume-interval:PT5M}")
+    @SingletonJob
+    public void resumeInterruptedRuns() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        for (CheckpointedJob job : jobs) {
+            List<JobRun> abandoned = jobRunRepository.findByJobNameAndStatusAndHeartbeatAtBefore(
+                job.jobName(), JobRun.RunStatus.RUNNING, staleBefore);
+            for (JobRun run : abandoned) {
+                transactionTemplate.executeWithoutResult(status -> markAbandoned(run.getId()));
+            }
+            if (!abandoned.isEmpty() || workClaimer.hasExpiredLeases(job.jobName())) {
+                jobRuntime.trigger(job.jobName(), () -> run(job));
+            }
+        }
+    }
+
+    @Scheduled(cron = "${scheduler.job-runs.cleanup-cron:0 0 3 * * *}")
+    @SingletonJob
+    public void deleteOldRuns() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> {
+            leaderElection.checkFencingToken();
+            checkpointRepository.deleteByRunFinishedBefore(cutoff);
+            workUnitRepository.deleteByBusinessDateBefore(cutoff.toLocalDate());
+            return jobRunRepository.deleteByFinishedAtBefore(cutoff);
+        });
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} job runs finished before {}", deleted, cutoff);
+        }
+    }
+
+    public List<String> jobNames() {
+        return jobs.stream().map(CheckpointedJob::jobName).sorted().toList();
+    }
+
+    private JobRun startOrResume(CheckpointedJob job) {
+        // Without the lock, two triggers could both find no live run and start one each
+        jobRunRepository.lockJob(job.jobName(), nodeIdentity.getNodeId());
+        LocalDateTime now = LocalDateTime.now();
+        Optional<JobRun> latest = jobRunRepository.findFirstByJobNameAndNodeIdOrderByStartedAtDesc(
+            job.jobName(), nodeIdentity.getNodeId());
+
+        if (latest.isPresent()) {
+            JobRun previous = latest.get();
+            if (previous.getStatus() == JobRun.RunStatus.RUNNING) {
+                return null;
+            }
+            boolean retryable = previous.getStatus() == JobRun.RunStatus.FAILED
+                && previous.getBusinessDate().equals(LocalDate.now());
+            if (retryable) {
+                previous.setStatus(JobRun.RunStatus.RUNNING);
+                previous.setResumeCount(previous.getResumeCount() + 1);
+                previous.setHeartbeatAt(now);
+                previous.setFinishedAt(null);
+                previous.setErrorMessage(null);
+                log.info("Resuming {} run {} from cursor {} after {} chunks",
+                    job.jobName(), previous.getId(), previous.getCursor(), previous.getChunksCompleted());
+                return jobRunRepository.save(previous);
+            }
+        }
+
+        return jobRunRepository.save(JobRun.builder()
+            .jobName(job.jobName())
+            .nodeId(nodeIdentity.getNodeId())
+            .status(JobRun.RunStatus.RUNNING)
+            .businessDate(now.toLocalDate())
+            .chunksCompleted(0)
+            .processedCount(0L)
+            .successCount(0L)
+            .failureCount(0L)
+            .resumeCount(0)
+            .startedAt(now)
+            .heartbeatAt(now)
+            .build());
+    }
+
+    private JobRun execute(CheckpointedJob job, Long runId) {
+        long startTime = System.currentTimeMillis();
+        try {
+            JobRun run;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Run was cancelled or timed out");
+                }
+                run = transactionTemplate.execute(status -> processChunk(job, runId));
+            } while (run.getStatus() == JobRun.RunStatus.RUNNING);
+
+            log.info("{} run {} completed. Processed: {}, Succeeded: {}, Failed: {}, Chunks: {}, Duration: {}ms",
+                job.jobName(), run.getId(), run.getProcessedCount(), run.getSuccessCount(),
+                run.getFailureCount(), run.getChunksCompleted(), System.currentTimeMillis() - startTime);
+            return run;
+
+        } catch (Exception e) {
+            // Clear a cancellation so recording the failure is not interrupted too
+            Thread.interrupted();
+            log.error("{} run {} failed, will resume from its last checkpoint: {}",
+                job.jobName(), runId, e.getMessage(), e);
+            return transactionTemplate.execute(status -> {
+                JobRun failed = jobRunRepository.findById(runId).orElseThrow();
+                failed.setStatus(JobRun.RunStatus.FAILED);
+                failed.setFinishedAt(LocalDateTime.now());
+                String message = String.valueOf(e.getMessage());
+                failed.setErrorMessage(message.length() > MAX_ERROR_LENGTH
+                    ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                return jobRunRepository.save(failed);
+            });
+        }
+    }
+
+    private void markAbandoned(Long runId) {
+        JobRun run = jobRunRepository.findById(runId).orElseThrow();
+        if (run.getStatus() != JobRun.RunStatus.RUNNING) {
+            return;
+        }
+        log.warn("{} run {} of {} stopped checkpointing; closing it", run.getJobName(), run.getId(), run.getNodeId());
+        run.setStatus(JobRun.RunStatus.FAILED);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setErrorMessage("Abandoned by " + run.getNodeId() + "; its claimed work returns when the leases expire");
+        jobRunRepository.save(run);
+    }
+
+    private JobRun processChunk(CheckpointedJob job, Long runId) {
+        JobRun run = jobRunRepository.findById(runId).orElseThrow();
+        JobChunkResult result = job.processChunk(run);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (result.processed() > 0) {
+            run.setChunksCompleted(run.getChunksCompleted() + 1);
+            run.setProcessedCount(run.getProcessedCount() + result.processed());
+            run.setSuccessCount(run.getSuccessCount() + result.succeeded());
+            run.setFailureCount(run.getFailureCount() + result.failed());
+            checkpointRepository.save(JobCheckpoint.builder()
+                .jobRun(run)
+                .chunkNumber(run.getChunksCompleted())
+                .cursor(result.cursor())
+                .processedCount(result.processed())
+                .successCount(result.succeeded())
+                .failureCount(result.failed())
+                .build());
+        }
+
+        run.setCursor(result.cursor());
+        run.setHeartbeatAt(now);
+        if (result.finished()) {
+            run.setStatus(JobRun.RunStatus.COMPLETED);
+            run.setFinishedAt(now);
+        }
+        return jobRunRepository.save(run);
+    }
+}
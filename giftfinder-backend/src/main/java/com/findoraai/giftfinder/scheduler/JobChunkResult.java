@@ -0,0 +1,14 @@
+package com.findoraai.giftfinder.scheduler;
+
+/**
+ * Outcome of one chunk of a {@link CheckpointedJob}.
+ *
+ * @param cursor   Cursor to resume after, stored with the checkpoint
+ * @param finished Whether the run has no more work
+ */
+public record JobChunkResult(Long cursor, int processed, int succeeded, int failed, boolean finished) {
+
+    public static JobChunkResult finished(Long cursor) {
+        return new JobChunkResult(cursor, 0, 0, 0, true);
+    }
+}
@@ -0,0 +1,313 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.scheduler.repository.JobRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes scheduled jobs on executors of their own. {@code @Scheduled} methods only hand their
+ * work to {@link #trigger}, so Spring's small scheduling pool is never blocked by a long job and
+ * every trigger fires on time.
+ * <p>
+ * Each job is configured under {@code scheduler.jobs.<jobName>}:
+ * <ul>
+ *   <li>{@code max-concurrent}: runs executing at once (default 1)</li>
+ *   <li>{@code overlap}: SKIP drops a trigger while the job is busy, QUEUE keeps up to
+ *       {@code max-queued} triggers waiting (default SKIP, 1)</li>
+ *   <li>{@code misfire}: RUN_LATE or SKIP a run that waited longer than {@code misfire-threshold}
+ *       to start, or whose cron fire time passed longer than that ago while the application was down
+ *       (default RUN_LATE, PT10M)</li>
+ *   <li>{@code timeout}: runs still executing after this are interrupted (default none)</li>
+ *   <li>{@code virtual-threads}: run on virtual threads instead of a platform pool (default false)</li>
+ * </ul>
+ * Queue wait and run time are tracked separately per job.
+ */
+@Component
+@Slf4j
+public class JobRuntime {
+
+    public enum OverlapPolicy { SKIP, QUEUE }
+
+    public enum MisfirePolicy { RUN_LATE, SKIP }
+
+    public record JobSettings(int maxConcurrent,
+                              OverlapPolicy overlap,
+                              int maxQueued,
+                              MisfirePolicy misfire,
+                              Duration misfireThreshold,
+                              Duration timeout,
+                              boolean virtualThreads) {}
+
+    public record JobStats(String jobName,
+                           JobSettings settings,
+                           int running,
+                           int queued,
+                           long triggered,
+                           long completed,
+                           long failed,
+                           long skippedOverlap,
+                           long skippedMisfire,
+                           long ranLate,
+                           long timedOut,
+                           long lastQueueWaitMs,
+                           long lastRunMs,
+                           long avgQueueWaitMs,
+                           long avgRunMs,
+                           LocalDateTime lastStartedAt,
+                           LocalDateTime lastFinishedAt) {}
+
+    private final Environment environment;
+    private final JobRunRepository jobRunRepository;
+    private final Map<String, ManagedJob> jobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("job-timeout-watchdog").daemon().factory());
+
+    public JobRuntime(Environment environment, JobRunRepository jobRunRepository) {
+        this.environment = environment;
+        this.jobRunRepository = jobRunRepository;
+    }
+
+    /**
+     * Hand a run of the job to its executor, applying the job's overlap policy. Never blocks.
+     * @return Whether the run was accepted
+     */
+    public boolean trigger(String jobName, Runnable task) {
+        return job(jobName).submit(task);
+    }
+
+    /**
+     * Trigger the job if its cron fire time passed since its last recorded run, e.g. while the
+     * application was down. Of several missed fire times only the latest counts: missed by no more
+     * than the misfire threshold, the job simply runs; missed by more, its misfire policy decides.
+     */
+    public void triggerIfMissed(String jobName, String cron, Runnable task) {
+        ManagedJob job = job(jobName);
+        jobRunRepository.findFirstByJobNameOrderByStartedAtDesc(jobName).ifPresent(lastRun -> {
+            CronExpression expression = CronExpression.parse(cron);
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime missedFireTime = expression.next(lastRun.getStartedAt());
+            if (missedFireTime == null || missedFireTime.isAfter(now)) {
+                return;
+            }
+            for (LocalDateTime next = expression.next(missedFireTime);
+                 next != null && !next.isAfter(now);
+                 next = expression.next(next)) {
+                missedFireTime = next;
+            }
+            if (Duration.between(missedFireTime, now).compareTo(job.settings.misfireThreshold()) <= 0) {
+                log.info("{} missed its run at {}; running now, within its misfire threshold", jobName, missedFireTime);
+                job.submit(task);
+                return;
+            }
+            if (job.settings.misfire() == MisfirePolicy.SKIP) {
+                job.skippedMisfire.incrementAndGet();
+                log.warn("{} missed its run at {}; skipping per misfire policy", jobName, missedFireTime);
+                return;
+            }
+            log.warn("{} missed its run at {}; running late", jobName, missedFireTime);
+            job.ranLate.incrementAndGet();
+            job.submit(task);
+        });
+    }
+
+    /**
+     * Interrupt the job's running runs and drop its queued ones.
+     * @return Number of runs interrupted
+     */
+    public int cancel(String jobName) {
+        ManagedJob job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job: " + jobName);
+        }
+        return job.cancel();
+    }
+
+    public List<JobStats> getStats() {
+        return jobs.values().stream()
+            .map(ManagedJob::stats)
+            .sorted((a, b) -> a.jobName().compareTo(b.jobName()))
+            .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        jobs.values().forEach(job -> job.executor.shutdownNow());
+    }
+
+    private ManagedJob job(String jobName) {
+        return jobs.computeIfAbsent(jobName, name -> new ManagedJob(name, loadSettings(name)));
+    }
+
+    private JobSettings loadSettings(String jobName) {
+        String prefix = "scheduler.jobs." + jobName + ".";
+        return new JobSettings(
+            Math.max(1, environment.getProperty(prefix + "max-concurrent", Integer.class, 1)),
+            environment.getProperty(prefix + "overlap", OverlapPolicy.class, OverlapPolicy.SKIP),
+            Math.max(0, environment.getProperty(prefix + "max-queued", Integer.class, 1)),
+            environment.getProperty(prefix + "misfire", MisfirePolicy.class, MisfirePolicy.RUN_LATE),
+            environment.getProperty(prefix + "misfire-threshold", Duration.class, Duration.ofMinutes(10)),
+            environment.getProperty(prefix + "timeout", Duration.class, Duration.ZERO),
+            environment.getProperty(prefix + "virtual-threads", Boolean.class, false)
+        );
+    }
+
+    private final class ManagedJob {
+        private final String name;
+        private final JobSettings settings;
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger generation = new AtomicInteger();
+
+        private final AtomicLong triggered = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong skippedOverlap = new AtomicLong();
+        private final AtomicLong skippedMisfire = new AtomicLong();
+        private final AtomicLong ranLate = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong totalQueueWaitMs = new AtomicLong();
+        private final AtomicLong totalRunMs = new AtomicLong();
+        private volatile long lastQueueWaitMs;
+        private volatile long lastRunMs;
+        private volatile LocalDateTime lastStartedAt;
+        private volatile LocalDateTime lastFinishedAt;
+
+        ManagedJob(String name, JobSettings settings) {
+            this.name = name;
+            this.settings = settings;
+            this.permits = new Semaphore(settings.maxConcurrent());
+            this.executor = settings.virtualThreads()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-" + name + "-", 0).factory())
+                : new ThreadPoolExecutor(settings.maxConcurrent(), settings.maxConcurrent(), 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), Thread.ofPlatform().name("job-" + name + "-", 0).factory());
+        }
+
+        synchronized boolean submit(Runnable task) {
+            triggered.incrementAndGet();
+            boolean busy = runningThreads.size() + queued.get() >= settings.maxConcurrent();
+            if (busy && (settings.overlap() == OverlapPolicy.SKIP || queued.get() >= settings.maxQueued())) {
+                skippedOverlap.incrementAndGet();
+                log.info("Skipping trigger of {}: previous run still in progress", name);
+                return false;
+            }
+            queued.incrementAndGet();
+            long enqueuedAt = System.nanoTime();
+            int submittedGeneration = generation.get();
+            executor.execute(() -> execute(task, enqueuedAt, submittedGeneration));
+            return true;
+        }
+
+        private void execute(Runnable task, long enqueuedAt, int submittedGeneration) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                queued.decrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                queued.decrementAndGet();
+                if (submittedGeneration != generation.get()) {
+                    return;
+                }
+                Duration queueWait = Duration.ofNanos(System.nanoTime() - enqueuedAt);
+                lastQueueWaitMs = queueWait.toMillis();
+                totalQueueWaitMs.addAndGet(lastQueueWaitMs);
+                if (queueWait.compareTo(settings.misfireThreshold()) > 0) {
+                    if (settings.misfire() == MisfirePolicy.SKIP) {
+                        skippedMisfire.incrementAndGet();
+                        log.warn("Skipping run of {}: waited {}ms to start", name, lastQueueWaitMs);
+                        return;
+                    }
+                    ranLate.incrementAndGet();
+                    log.warn("Running {} late: waited {}ms to start", name, lastQueueWaitMs);
+                }
+                run(task);
+            } finally {
+                permits.release();
+            }
+        }
+
+        private void run(Runnable task) {
+            Thread thread = Thread.currentThread();
+            runningThreads.add(thread);
+            lastStartedAt = LocalDateTime.now();
+            long startNanos = System.nanoTime();
+            ScheduledFuture<?> timeout = settings.timeout().isZero() ? null : watchdog.schedule(() -> {
+                timedOut.incrementAndGet();
+                log.warn("{} exceeded its timeout of {}; interrupting", name, settings.timeout());
+                thread.interrupt();
+            }, settings.timeout().toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                task.run();
+                completed.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.error("Job {} failed: {}", name, e.getMessage(), e);
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                runningThreads.remove(thread);
+                // Do not leak a timeout or cancellation into the next task on a pooled thread
+                Thread.interrupted();
+                lastRunMs = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+                totalRunMs.addAndGet(lastRunMs);
+                lastFinishedAt = LocalDateTime.now();
+            }
+        }
+
+        synchronized int cancel() {
+            generation.incrementAndGet();
+            runningThreads.forEach(Thread::interrupt);
+            log.warn("Cancelled {}: interrupted {} running runs", name, runningThreads.size());
+            return runningThreads.size();
+        }
+
+        JobStats stats() {
+            long started = completed.get() + failed.get();
+            return new JobStats(
+                name,
+                settings,
+                runningThreads.size(),
+                queued.get(),
+                triggered.get(),
+                completed.get(),
+                failed.get(),
+                skippedOverlap.get(),
+                skippedMisfire.get(),
+                ranLate.get(),
+                timedOut.get(),
+                lastQueueWaitMs,
+                lastRunMs,
+                started > 0 ? totalQueueWaitMs.get() / started : 0,
+                started > 0 ? totalRunMs.get() / started : 0,
+                lastStartedAt,
+                lastFinishedAt
+            );
+        }
+    }
+}
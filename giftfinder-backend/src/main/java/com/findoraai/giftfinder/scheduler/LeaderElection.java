@@ -0,0 +1,306 @@
+package com.findoraai.giftfinder.scheduler;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leader election on Postgres advisory locks.
+ * <p>
+ * Leadership of a name is a session-level advisory lock held on one dedicated connection, so it
+ * ends as soon as the holder's session does, and a crashed leader is replaced on the next attempt
+ * of another instance. Each change of leader increments the fencing token in leader_leases; the
+ * leader renews its lease row periodically and steps down when its token is no longer current.
+ * An instance whose lease went stale without its session ending (a hung process or half-open
+ * connection) has its backend terminated by the next contender, so failover takes at most the
+ * lease timeout.
+ * <p>
+ * The token only protects writes that check it: a {@link SingletonJob} whose duplicate run would do
+ * harm calls {@link #checkFencingToken()} inside its write transaction. The check share-locks the
+ * lease row, so a new leader cannot take over until that transaction has committed, and a leader
+ * that was already replaced rolls back instead of writing.
+ */
+@Component
+@Slf4j
+public class LeaderElection {
+
+    private record Leadership(String name, long token) {}
+
+    private static final ThreadLocal<Leadership> CURRENT = new ThreadLocal<>();
+
+    private final DataSource dataSource;
+    private final NodeIdentity nodeIdentity;
+    private final Map<String, Long> heldTokens = new ConcurrentHashMap<>();
+    private Connection connection;
+
+    /**
+     * Renewal runs on its own thread so that busy scheduler threads cannot let a lease go stale.
+     */
+    private final ScheduledExecutorService renewal = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("leader-lease-renewal").daemon().factory());
+
+    @Value("${scheduler.leader.lease-timeout:PT30S}")
+    private Duration leaseTimeout;
+
+    @Value("${scheduler.leader.renew-interval:PT5S}")
+    private Duration renewInterval;
+
+    public LeaderElection(DataSource dataSource, NodeIdentity nodeIdentity) {
+        this.dataSource = dataSource;
+        this.nodeIdentity = nodeIdentity;
+    }
+
+    /**
+     * Lead the named election if possible.
+     * @return The fencing token of this instance's leadership, or empty if another instance leads
+     */
+    public synchronized OptionalLong tryLead(String name) {
+        Long held = heldTokens.get(name);
+        if (held != null) {
+            return OptionalLong.of(held);
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            Connection conn = connection();
+            if (!tryLock(conn, name) && !(takeOverStaleLeader(conn, name) && tryLock(conn, name))) {
+                return OptionalLong.empty();
+            }
+            long token = incrementToken(conn, name);
+            heldTokens.put(name, token);
+            log.info("Acquired leadership of {} with fencing token {} in {}ms",
+                name, token, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            return OptionalLong.of(token);
+
+        } catch (SQLException e) {
+            log.error("Leader election for {} failed: {}", name, e.getMessage());
+            resetConnection();
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Fencing token of the {@link SingletonJob} running on the calling thread, if any.
+     */
+    public static OptionalLong currentFencingToken() {
+        Leadership leadership = CURRENT.get();
+        return leadership != null ? OptionalLong.of(leadership.token()) : OptionalLong.empty();
+    }
+
+    /**
+     * Fence the current transaction with the token of the {@link SingletonJob} running on the calling
+     * thread; does nothing outside a singleton job.
+     * @throws LeadershipLostException If another instance has taken over the election since
+     */
+    public void checkFencingToken() {
+        if (CURRENT.get() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("The fencing token can only be checked inside a transaction");
+        }
+        Connection conn = DataSourceUtils.getConnection(dataSource);
+        try {
+            checkFencingToken(conn);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not check the fencing token: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+    }
+
+    /**
+     * {@link #checkFencingToken()} for writers managing their own transaction on {@code conn}.
+     */
+    public static void checkFencingToken(Connection conn) throws SQLException {
+        Leadership leadership = CURRENT.get();
+        if (leadership == null) {
+            return;
+        }
+        // FOR SHARE conflicts with the update that hands the lease to a new leader
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT 1 FROM leader_leases WHERE name = ? AND fencing_token = ? FOR SHARE")) {
+            statement.setString(1, leadership.name());
+            statement.setLong(2, leadership.token());
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new LeadershipLostException(leadership.name(), leadership.token());
+                }
+            }
+        }
+    }
+
+    static void enterLeadership(String name, long token) {
+        CURRENT.set(new Leadership(name, token));
+    }
+
+    static void exitLeadership() {
+        CURRENT.remove();
+    }
+
+    @PostConstruct
+    void startRenewal() {
+        long intervalMillis = renewInterval.toMillis();
+        renewal.scheduleWithFixedDelay(this::renewLeases, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Renew every held lease; step down from names whose token was superseded.
+     */
+    synchronized void renewLeases() {
+        if (heldTokens.isEmpty()) {
+            return;
+        }
+        try {
+            Connection conn = connection();
+            for (Map.Entry<String, Long> held : heldTokens.entrySet()) {
+                try (PreparedStatement statement = conn.prepareStatement(
+                        "UPDATE leader_leases SET renewed_at = ? WHERE name = ? AND fencing_token = ?")) {
+                    statement.setObject(1, LocalDateTime.now());
+                    statement.setString(2, held.getKey());
+                    statement.setLong(3, held.getValue());
+                    if (statement.executeUpdate() == 0) {
+                        log.warn("Lost leadership of {}: fencing token {} was superseded", held.getKey(), held.getValue());
+                        heldTokens.remove(held.getKey());
+                        unlock(conn, held.getKey());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Could not renew leader leases, stepping down: {}", e.getMessage());
+            resetConnection();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stepDown() {
+        renewal.shutdownNow();
+        resetConnection();
+    }
+
+    private boolean tryLock(Connection conn, String name) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, lockKey(name));
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection conn, String name) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, lockKey(name));
+            statement.execute();
+        }
+    }
+
+    /**
+     * Terminate the session of a leader that stopped renewing its lease.
+     * @return Whether a stale leader was removed
+     */
+    private boolean takeOverStaleLeader(Connection conn, String name) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT holder FROM leader_leases WHERE name = ? AND renewed_at < ?")) {
+            statement.setString(1, name);
+            statement.setObject(2, LocalDateTime.now().minus(leaseTimeout));
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                log.warn("Leader {} of {} stopped renewing its lease; taking over", rs.getString(1), name);
+            }
+        }
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT pg_terminate_backend(pid) FROM pg_locks " +
+                "WHERE locktype = 'advisory' AND classid = ? AND objid = ? AND objsubid = 1 AND granted")) {
+            // The bigint form stores the key's high and low halves as unsigned OIDs
+            long key = lockKey(name);
+            statement.setLong(1, key >>> 32);
+            statement.setLong(2, key & 0xFFFFFFFFL);
+            statement.execute();
+        }
+        return true;
+    }
+
+    /**
+     * Advisory lock key of an election: the first 64 bits of the SHA-256 of its name, so distinct
+     * names practically never share a lock, and every instance derives the same key.
+     */
+    static long lockKey(String name) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(("leader:" + name).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private long incrementToken(Connection conn, String name) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement statement = conn.prepareStatement(
+                "INSERT INTO leader_leases (name, holder, fencing_token, acquired_at, renewed_at) VALUES (?, ?, 1, ?, ?) " +
+                "ON CONFLICT (name) DO UPDATE SET holder = EXCLUDED.holder, fencing_token = leader_leases.fencing_token + 1, " +
+                "acquired_at = EXCLUDED.acquired_at, renewed_at = EXCLUDED.renewed_at RETURNING fencing_token")) {
+            statement.setString(1, name);
+            statement.setString(2, nodeIdentity.getNodeId());
+            statement.setObject(3, now);
+            statement.setObject(4, now);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+        }
+        return connection;
+    }
+
+    /**
+     * Release every advisory lock of the dedicated session and hand the connection back to the pool.
+     * If the session is already broken, the server has released its locks with it.
+     */
+    private void resetConnection() {
+        heldTokens.clear();
+        if (connection != null) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock_all()")) {
+                statement.execute();
+            } catch (SQLException e) {
+                log.debug("Could not release advisory locks: {}", e.getMessage());
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing leader election connection: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.findoraai.giftfinder.scheduler;
+
+/**
+ * Thrown inside a fenced write transaction when its {@link SingletonJob} is no longer the leader
+ * of its election; the transaction rolls back and the job should stop.
+ */
+public class LeadershipLostException extends IllegalStateException {
+
+    public LeadershipLostException(String name, long token) {
+        super("Leadership of " + name + " with fencing token " + token + " was superseded");
+    }
+}
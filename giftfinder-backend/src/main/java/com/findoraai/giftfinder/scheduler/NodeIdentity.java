@@ -0,0 +1,33 @@
+package com.findoraai.giftfinder.scheduler;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identifies this backend instance in job runs and work claims. Defaults to the host name plus
+ * a random suffix, so two instances on one host never share an identity.
+ */
+@Component
+@Getter
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    public NodeIdentity(@Value("${scheduler.node-id:}") String configuredNodeId) {
+        this.nodeId = configuredNodeId.isBlank()
+            ? hostName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+            : configuredNodeId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
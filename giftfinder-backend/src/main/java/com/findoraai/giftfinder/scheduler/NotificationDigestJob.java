@@ -0,0 +1,71 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.service.NotificationDigestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Sends the digests that are due: each user whose oldest buffered notification has waited their
+ * digest window gets everything buffered so far merged into one outbox message, in a transaction
+ * of its own. Runs on one instance at a time, so a user's digest is never built twice: each flush
+ * transaction is fenced with the leader's token, and a replaced leader stops at its next user.
+ */
+@Component
+@Slf4j
+public class NotificationDigestJob {
+
+    private final NotificationDigestService digestService;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scheduler.digest.batch-size:100}")
+    private int batchSize;
+
+    @Value("${scheduler.digest.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    public NotificationDigestJob(NotificationDigestService digestService,
+                                 LeaderElection leaderElection,
+                                 PlatformTransactionManager transactionManager) {
+        this.digestService = digestService;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.digest.poll-interval:PT1M}")
+    @SingletonJob
+    public void flushDue() {
+        int users = 0;
+        int notifications = 0;
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            List<Long> userIds = digestService.findDueUserIds(batchSize);
+            for (Long userId : userIds) {
+                try {
+                    // flush joins this transaction, so the digest is only queued while the token is current
+                    notifications += transactionTemplate.execute(status -> {
+                        leaderElection.checkFencingToken();
+                        return digestService.flush(userId);
+                    });
+                    users++;
+                } catch (LeadershipLostException e) {
+                    log.warn("Stopped flushing digests: {}", e.getMessage());
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Building the digest of user {} failed: {}", userId, e.getMessage(), e);
+                }
+            }
+            if (userIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (users > 0) {
+            log.info("Queued digests for {} users with {} notifications", users, notifications);
+        }
+    }
+}
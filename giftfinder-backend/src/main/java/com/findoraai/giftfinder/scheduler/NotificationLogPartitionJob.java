@@ -0,0 +1,34 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.service.NotificationLogPartitions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * Daily upkeep of the notification_log partitions: create the coming weeks' partitions and drop
+ * the ones past the retention. Partitions are created weeks ahead, so a missed run is harmless.
+ * The changes are fenced with the leader's token, so a replaced leader cannot drop a partition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationLogPartitionJob {
+
+    private final NotificationLogPartitions partitions;
+
+    @Scheduled(cron = "${scheduler.notification-log.partition-cron:0 30 3 * * *}")
+    @SingletonJob
+    public void maintainPartitions() {
+        try {
+            partitions.maintain(LeaderElection::checkFencingToken);
+        } catch (LeadershipLostException e) {
+            log.warn("Skipped notification_log partition maintenance: {}", e.getMessage());
+        } catch (SQLException e) {
+            log.error("notification_log partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+}
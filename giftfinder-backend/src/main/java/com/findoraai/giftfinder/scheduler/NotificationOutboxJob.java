@@ -0,0 +1,179 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.channel.ChannelDispatcher;
+import com.findoraai.giftfinder.notifications.channel.ChannelUnavailableException;
+import com.findoraai.giftfinder.notifications.channel.RecipientUnreachableException;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.service.NotificationOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Delivers the notification outbox. Each poll claims due messages per channel with SKIP LOCKED,
+ * so every node drains a disjoint share, and hands them in batches to the {@link ChannelDispatcher},
+ * claiming no more for a channel than its workers and queue can take. A busy or broken channel
+ * thereby leaves its messages in the outbox while the other channels keep draining. Messages are
+ * sent outside any transaction and each outcome recorded in a short one of its own on the
+ * channel's worker, so database connections are never held while a provider is slow.
+ * <p>
+ * Sent messages keep their rendered body, so once a day the leader deletes those older than the
+ * retention, a batch per transaction fenced with its token. Dead messages stay until retried.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxJob {
+
+    private final NotificationOutboxService outboxService;
+    private final ChannelDispatcher channelDispatcher;
+    private final JobRuntime jobRuntime;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scheduler.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${scheduler.outbox.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    @Value("${scheduler.outbox.retention:P7D}")
+    private Period retention;
+
+    @Value("${scheduler.outbox.cleanup-batch-size:1000}")
+    private int cleanupBatchSize;
+
+    public NotificationOutboxJob(NotificationOutboxService outboxService,
+                                 ChannelDispatcher channelDispatcher,
+                                 JobRuntime jobRuntime,
+                                 LeaderElection leaderElection,
+                                 PlatformTransactionManager transactionManager) {
+        this.outboxService = outboxService;
+        this.channelDispatcher = channelDispatcher;
+        this.jobRuntime = jobRuntime;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.outbox.poll-interval:PT5S}")
+    public void poll() {
+        jobRuntime.trigger("notificationOutbox", this::drain);
+    }
+
+    @Scheduled(cron = "${scheduler.outbox.cleanup-cron:0 15 3 * * *}")
+    @SingletonJob
+    public void deleteSentMessages() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> {
+                    leaderElection.checkFencingToken();
+                    return outboxService.deleteSentBefore(cutoff, cleanupBatchSize);
+                });
+                deleted += batch;
+            } while (batch == cleanupBatchSize && !Thread.currentThread().isInterrupted());
+        } catch (LeadershipLostException e) {
+            log.warn("Stopped deleting sent outbox messages: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} outbox messages sent before {}", deleted, cutoff);
+        }
+    }
+
+    private void drain() {
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        int claimed = 0;
+        try {
+            for (int round = 0; round < maxBatchesPerPoll && !Thread.currentThread().isInterrupted(); round++) {
+                boolean claimedAny = false;
+                boolean channelBusy = false;
+                for (Reminder.NotificationChannel channel : Reminder.NotificationChannel.values()) {
+                    int limit = Math.min(batchSize, channelDispatcher.capacity(channel));
+                    if (limit == 0) {
+                        channelBusy = true;
+                        continue;
+                    }
+                    List<OutboxMessage> messages = outboxService.claimDue(channel, limit);
+                    if (messages.isEmpty()) {
+                        continue;
+                    }
+                    claimedAny = true;
+                    claimed += messages.size();
+                    inFlight.addAll(dispatch(channel, messages));
+                }
+                inFlight.removeIf(CompletableFuture::isDone);
+                if (!claimedAny) {
+                    if (!channelBusy || inFlight.isEmpty()) {
+                        break;
+                    }
+                    awaitAny(inFlight);
+                }
+            }
+            if (claimed > 0) {
+                log.debug("Dispatched {} outbox messages", claimed);
+            }
+        } catch (InterruptedException e) {
+            // Claimed messages are delivered again once their lease expires
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Outbox delivery failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<CompletableFuture<Void>> dispatch(Reminder.NotificationChannel channel, List<OutboxMessage> messages) {
+        int size = channelDispatcher.batchSize(channel);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += size) {
+            List<OutboxMessage> batch = messages.subList(from, Math.min(from + size, messages.size()));
+            futures.add(channelDispatcher.dispatch(channel, batch).thenAccept(failures -> record(batch, failures)));
+        }
+        return futures;
+    }
+
+    /**
+     * Wait for a batch to finish, so a busy channel can take more, or for at most a second, so
+     * messages newly due on the other channels are not held up behind it.
+     */
+    private void awaitAny(List<CompletableFuture<Void>> inFlight) throws InterruptedException {
+        try {
+            CompletableFuture.anyOf(inFlight.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Outcomes are recorded per batch; only the wait ends here
+        }
+    }
+
+    private void record(List<OutboxMessage> messages, List<RuntimeException> failures) {
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessage message = messages.get(i);
+            RuntimeException failure = failures.get(i);
+            try {
+                if (failure == null) {
+                    outboxService.recordSent(message);
+                } else if (failure instanceof ChannelUnavailableException unavailable) {
+                    outboxService.recordDeferred(message, LocalDateTime.now().plus(unavailable.getRetryAfter()));
+                } else if (failure instanceof RecipientUnreachableException unreachable) {
+                    outboxService.recordRerouted(message, unreachable.getFallback());
+                } else {
+                    outboxService.recordFailure(message, failure);
+                }
+            } catch (RuntimeException e) {
+                // The message is delivered again once its lease expires
+                log.error("Recording outbox delivery of message {} failed: {}", message.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,140 +1,264 @@
 package com.findoraai.giftfinder.scheduler;
 
-import com.findoraai.giftfinder.notifications.model.NotificationLog;
-import com.findoraai.giftfinder.notifications.model.NotificationPreferences;
+import com.findoraai.giftfinder.notifications.dto.NotificationPreferencesResponse;
+import com.findoraai.giftfinder.notifications.model.PriceChangeEvent;
 import com.findoraai.giftfinder.notifications.model.PriceHistory;
-import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.model.PriceStats;
 import com.findoraai.giftfinder.notifications.model.SavedProduct;
-import com.findoraai.giftfinder.notifications.repository.NotificationPreferencesRepository;
+import com.findoraai.giftfinder.notifications.repository.ImportantDateRepository;
+import com.findoraai.giftfinder.notifications.repository.PriceChangeEventRepository;
 import com.findoraai.giftfinder.notifications.repository.PriceHistoryRepository;
+import com.findoraai.giftfinder.notifications.repository.PriceStatsRepository;
 import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
-import com.findoraai.giftfinder.notifications.service.NotificationService;
+import com.findoraai.giftfinder.notifications.service.NotificationPreferencesCache;
+import com.findoraai.giftfinder.notifications.service.PriceStatsService;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+/**
+ * Checks tracked products as they become due instead of sweeping all of them on a fixed cron.
+ * Each product carries its own next_check_at, computed by {@link PriceCheckSchedulingPolicy}
+ * after every check; the poller only reads the due head of that index. Detected changes are
+ * appended to the price change stream in the same transaction as the history; alerting and other
+ * reactions run as stream consumers (see {@link PriceEventDispatchJob}), never inside this job.
+ * <p>
+ * Each batch of due products is one checkpointed chunk; the cursor counts the batches of the
+ * poll. Batches are claimed through {@link WorkClaimer}, which leases the products by pushing
+ * their next_check_at out, so several instances check disjoint products; the real next check
+ * is written when the batch commits.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class PriceCheckJob {
+public class PriceCheckJob implements CheckpointedJob {
 
     private final SavedProductRepository savedProductRepository;
     private final PriceHistoryRepository priceHistoryRepository;
-    private final NotificationPreferencesRepository preferencesRepository;
-    private final NotificationService notificationService;
+    private final NotificationPreferencesCache preferencesCache;
+    private final ImportantDateRepository importantDateRepository;
+    private final PriceStatsRepository priceStatsRepository;
+    private final PriceStatsService priceStatsService;
+    private final PriceChangeEventRepository priceChangeEventRepository;
+    private final PriceCheckSchedulingPolicy schedulingPolicy;
+    private final CheckpointedJobRunner jobRunner;
+    private final WorkClaimer workClaimer;
+    private final JobRuntime jobRuntime;
 
-    @Scheduled(cron = "${scheduler.price-check.cron:0 0 */12 * * *}")
-    @Transactional
+    @Value("${scheduler.price-check.batch-size:100}")
+    private int batchSize;
+
+    @Value("${scheduler.price-check.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    @Scheduled(fixedDelayString = "${scheduler.price-check.poll-interval:PT1M}")
     public void checkPrices() {
-        log.info("Starting price check job");
-        long startTime = System.currentTimeMillis();
+        jobRuntime.trigger(jobName(), this::pollDueProducts);
+    }
+
+    private void pollDueProducts() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            savedProductRepository.backfillNextCheckAt(now);
+
+            // Only record a run when something is due
+            if (!savedProductRepository.findDueForPriceCheck(now, PageRequest.of(0, 1)).isEmpty()) {
+                jobRunner.run(this);
+            }
+
+        } catch (Exception e) {
+            log.error("Error during price check job: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String jobName() {
+        return "priceCheckJob";
+    }
+
+    @Override
+    public JobChunkResult processChunk(JobRun run) {
+        long batch = run.getCursor() != null ? run.getCursor() : 0L;
+        if (batch >= maxBatchesPerPoll) {
+            return JobChunkResult.finished(batch);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimedIds = workClaimer.claimDueProducts(batchSize);
+        if (claimedIds.isEmpty()) {
+            return JobChunkResult.finished(batch);
+        }
+        List<SavedProduct> dueProducts = savedProductRepository.findAllById(claimedIds);
+
+        BatchContext context = loadBatchContext(dueProducts, now);
+        List<PriceChangeEvent> changes = new ArrayList<>();
         int checkedCount = 0;
-        int alertsSent = 0;
+        int failedCount = 0;
+        for (SavedProduct product : dueProducts) {
+            switch (checkProduct(product, context, now, changes)) {
+                case CHECKED -> checkedCount++;
+                case FAILED -> failedCount++;
+                case SKIPPED -> { }
+            }
+        }
+
+        priceChangeEventRepository.saveAll(changes);
+        if (!changes.isEmpty()) {
+            log.debug("Price check batch detected {} changes", changes.size());
+        }
+
+        return new JobChunkResult(batch + 1, dueProducts.size(), checkedCount, failedCount,
+            claimedIds.size() < batchSize);
+    }
 
+    /**
+     * Record the current price of a product and schedule its next check.
+     * A change of price or availability is added to {@code changes}.
+     */
+    private CheckOutcome checkProduct(SavedProduct product, BatchContext context, LocalDateTime now,
+                                 List<PriceChangeEvent> changes) {
         try {
-            // Get all products with price tracking enabled
-            List<SavedProduct> trackedProducts = savedProductRepository.findByPriceTrackingEnabled(true);
-            log.info("Found {} products with price tracking enabled", trackedProducts.size());
-
-            for (SavedProduct product : trackedProducts) {
-                try {
-                    // Check user's notification preferences
-                    NotificationPreferences prefs = preferencesRepository.findByUser(product.getUser())
-                        .orElse(null);
-                    
-                    if (prefs == null || !prefs.getPriceDropAlertsEnabled()) {
-                        continue;
-                    }
-
-                    // Get the latest price from history
-                    Optional<PriceHistory> latestHistoryOpt = priceHistoryRepository.findLatestByProduct(product);
-                    
-                    if (latestHistoryOpt.isEmpty()) {
-                        // Create initial price history entry
-                        PriceHistory history = PriceHistory.builder()
-                            .savedProduct(product)
-                            .price(product.getCurrentPrice())
-                            .currency(product.getCurrency())
-                            .available(true)
-                            .build();
-                        priceHistoryRepository.save(history);
-                        checkedCount++;
-                        continue;
-                    }
-
-                    PriceHistory latestHistory = latestHistoryOpt.get();
-                    BigDecimal oldPrice = latestHistory.getPrice();
-                    BigDecimal currentPrice = product.getCurrentPrice();
-
-                    // Calculate price drop percentage
-                    BigDecimal priceDifference = oldPrice.subtract(currentPrice);
-                    BigDecimal dropPercentage = priceDifference
-                        .divide(oldPrice, 4, RoundingMode.HALF_UP)
-                        .multiply(new BigDecimal("100"));
-
-                    // Check if price drop threshold is met
-                    if (dropPercentage.compareTo(product.getPriceDropThresholdPercent()) >= 0) {
-                        // Check for duplicate notification
-                        String referenceId = String.format("price-drop-%s", product.getProductId());
-                        
-                        if (!notificationService.wasRecentlySent(
-                                product.getUser(),
-                                NotificationLog.NotificationType.PRICE_DROP,
-                                referenceId,
-                                Reminder.NotificationChannel.EMAIL)) {
-                            
-                            // Send price drop notification
-                            boolean sent = notificationService.sendPriceDropNotification(
-                                product.getUser(),
-                                product.getTitle(),
-                                product.getProductUrl(),
-                                product.getImageUrl(),
-                                oldPrice.setScale(2, RoundingMode.HALF_UP).toString(),
-                                currentPrice.setScale(2, RoundingMode.HALF_UP).toString(),
-                                product.getCurrency(),
-                                dropPercentage.setScale(2, RoundingMode.HALF_UP).toString(),
-                                priceDifference.setScale(2, RoundingMode.HALF_UP).toString()
-                            );
-
-                            if (sent) {
-                                alertsSent++;
-                            }
-                        }
-                    }
-
-                    // TODO: In production, integrate with scraper service to fetch actual current prices
-                    // For now, we just record the current price as history
-                    // Example: BigDecimal realCurrentPrice = scraperClient.fetchProductPrice(product.getProductId());
-                    
-                    // Create new price history entry
-                    PriceHistory newHistory = PriceHistory.builder()
-                        .savedProduct(product)
-                        .price(currentPrice)
-                        .currency(product.getCurrency())
-                        .available(true)
-                        .build();
-                    priceHistoryRepository.save(newHistory);
-                    
-                    checkedCount++;
-
-                } catch (Exception e) {
-                    log.error("Error checking price for product {}: {}", product.getId(), e.getMessage());
-                }
+            // Check user's notification preferences
+            Optional<NotificationPreferencesResponse> prefs = preferencesCache.get(product.getUser().getId());
+
+            if (prefs.isEmpty() || !prefs.get().priceDropAlertsEnabled()) {
+                product.setNextCheckAt(schedulingPolicy.deferredCheckAt(now, false));
+                savedProductRepository.save(product);
+                return CheckOutcome.SKIPPED;
             }
 
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Price check job completed. Checked: {}, Alerts sent: {}, Duration: {}ms", 
-                checkedCount, alertsSent, duration);
+            // Get the latest price from history
+            Optional<PriceHistory> latestHistoryOpt = priceHistoryRepository.findLatestByProduct(product);
+            // Capture the all-time low before this observation is folded into the stats
+            PriceStats previousStats = context.statsByProductId().get(product.getId());
+            BigDecimal previousLow = previousStats != null ? previousStats.getAllTimeLow() : null;
+
+            // TODO: In production, integrate with scraper service to fetch actual current prices
+            // For now, we just record the current price as history
+            // Example: BigDecimal realCurrentPrice = scraperClient.fetchProductPrice(product.getProductId());
+            BigDecimal currentPrice = product.getCurrentPrice();
+
+            // Create new price history entry
+            PriceHistory newHistory = PriceHistory.builder()
+                .savedProduct(product)
+                .price(currentPrice)
+                .currency(product.getCurrency())
+                .available(true)
+                .build();
+            newHistory = priceHistoryRepository.save(newHistory);
+            PriceStats stats = priceStatsService.recordPrice(newHistory);
+
+            product.setNextCheckAt(schedulingPolicy.nextCheckAt(
+                now,
+                stats.getVolatility(),
+                context.saversByProductId().getOrDefault(product.getProductId(), 1L),
+                context.daysUntilImportantDate(product)
+            ));
+            savedProductRepository.save(product);
+
+            BigDecimal previousPrice = latestHistoryOpt.map(PriceHistory::getPrice).orElse(null);
+            boolean previouslyAvailable = latestHistoryOpt.map(PriceHistory::getAvailable).orElse(true);
+            boolean priceChanged = previousPrice == null || previousPrice.compareTo(currentPrice) != 0;
+            if (priceChanged || previouslyAvailable != newHistory.getAvailable()) {
+                changes.add(PriceChangeEvent.builder()
+                    .savedProductId(product.getId())
+                    .userId(product.getUser().getId())
+                    .productId(product.getProductId())
+                    .previousPrice(previousPrice)
+                    .currentPrice(currentPrice)
+                    .lowestPrice(previousLow)
+                    .currency(product.getCurrency())
+                    .previouslyAvailable(previouslyAvailable)
+                    .available(newHistory.getAvailable())
+                    .build());
+            }
+            return CheckOutcome.CHECKED;
 
         } catch (Exception e) {
-            log.error("Error during price check job: {}", e.getMessage(), e);
+            log.error("Error checking price for product {}: {}", product.getId(), e.getMessage());
+            product.setNextCheckAt(schedulingPolicy.deferredCheckAt(now, true));
+            savedProductRepository.save(product);
+            return CheckOutcome.FAILED;
+        }
+    }
+
+    /**
+     * Stats, popularity and date proximity for a whole batch, loaded with one query each; the
+     * owners' preferences are preloaded into the preference cache.
+     */
+    private BatchContext loadBatchContext(List<SavedProduct> products, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        LocalDate horizon = today.plusDays(30);
+
+        Map<String, Long> savers = new HashMap<>();
+        List<String> productIds = products.stream().map(SavedProduct::getProductId).distinct().toList();
+        for (Object[] row : savedProductRepository.countSaversByProductId(productIds)) {
+            savers.put((String) row[0], (Long) row[1]);
+        }
+
+        Map<Long, LocalDate> nearestByUser = new HashMap<>();
+        List<Long> userIds = products.stream().map(p -> p.getUser().getId()).distinct().toList();
+        preferencesCache.preload(userIds);
+        for (Object[] row : importantDateRepository.findNearestDateByUser(userIds, today, horizon)) {
+            nearestByUser.put((Long) row[0], (LocalDate) row[1]);
+        }
+
+        Map<Long, LocalDate> nearestByRecipient = new HashMap<>();
+        List<Long> recipientIds = products.stream()
+            .filter(p -> p.getRecipient() != null)
+            .map(p -> p.getRecipient().getId())
+            .distinct()
+            .collect(Collectors.toList());
+        if (!recipientIds.isEmpty()) {
+            for (Object[] row : importantDateRepository.findNearestDateByRecipient(recipientIds, today, horizon)) {
+                nearestByRecipient.put((Long) row[0], (LocalDate) row[1]);
+            }
+        }
+
+        Map<Long, PriceStats> stats = new HashMap<>();
+        for (PriceStats productStats : priceStatsRepository.findBySavedProductIn(products)) {
+            stats.put(productStats.getSavedProduct().getId(), productStats);
+        }
+
+        return new BatchContext(today, stats, savers, nearestByUser, nearestByRecipient);
+    }
+
+    private enum CheckOutcome {
+        CHECKED,
+        SKIPPED,
+        FAILED
+    }
+
+    private record BatchContext(LocalDate today,
+                                Map<Long, PriceStats> statsByProductId,
+                                Map<String, Long> saversByProductId,
+                                Map<Long, LocalDate> nearestDateByUser,
+                                Map<Long, LocalDate> nearestDateByRecipient) {
+
+        /**
+         * A product bought for a specific recipient follows that recipient's dates,
+         * otherwise any upcoming date of the owner counts.
+         */
+        Integer daysUntilImportantDate(SavedProduct product) {
+            LocalDate nearest = product.getRecipient() != null
+                ? nearestDateByRecipient.get(product.getRecipient().getId())
+                : nearestDateByUser.get(product.getUser().getId());
+            return nearest != null ? (int) ChronoUnit.DAYS.between(today, nearest) : null;
         }
     }
 }
@@ -0,0 +1,76 @@
+package com.findoraai.giftfinder.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes when a tracked product should be checked next.
+ * <p>
+ * The base interval is scaled by three factors: price volatility (EWMA of relative price changes,
+ * compared against a reference volatility that maps to the base interval), popularity (number of
+ * users saving the same product) and proximity of an upcoming important date of the owner. The
+ * result is clamped to [min-interval, max-interval] and jittered so products saved together do
+ * not stay aligned on the same check instant.
+ */
+@Component
+public class PriceCheckSchedulingPolicy {
+
+    @Value("${price-tracking.schedule.base-interval:PT12H}")
+    private Duration baseInterval;
+
+    @Value("${price-tracking.schedule.min-interval:PT1H}")
+    private Duration minInterval;
+
+    @Value("${price-tracking.schedule.max-interval:PT48H}")
+    private Duration maxInterval;
+
+    @Value("${price-tracking.schedule.reference-volatility:0.02}")
+    private double referenceVolatility;
+
+    @Value("${price-tracking.schedule.date-proximity-days:14}")
+    private int dateProximityDays;
+
+    @Value("${price-tracking.schedule.jitter-percent:10}")
+    private int jitterPercent;
+
+    /**
+     * @param now Time of the current check
+     * @param volatility EWMA of relative price changes, or null if unknown
+     * @param savers Number of users saving the product
+     * @param daysUntilImportantDate Days until the nearest important date, or null if none is upcoming
+     * @return Time of the next check
+     */
+    public LocalDateTime nextCheckAt(LocalDateTime now, Double volatility, long savers, Integer daysUntilImportantDate) {
+        double vol = volatility != null ? volatility : referenceVolatility;
+        // Stable prices stretch the interval up to 4x, volatile ones shrink it down to 1/4
+        double volatilityFactor = clamp(referenceVolatility / Math.max(vol, referenceVolatility / 4), 0.25, 4.0);
+        double popularityFactor = 1.0 / (1.0 + 0.5 * Math.log(Math.max(savers, 1)));
+        double proximityFactor = 1.0;
+        if (daysUntilImportantDate != null && daysUntilImportantDate <= dateProximityDays) {
+            proximityFactor = daysUntilImportantDate <= 3 ? 0.25 : 0.5;
+        }
+
+        double jitter = jitterPercent > 0
+            ? 1.0 + ThreadLocalRandom.current().nextDouble(-jitterPercent, jitterPercent) / 100.0
+            : 1.0;
+        long seconds = (long) (baseInterval.toSeconds() * volatilityFactor * popularityFactor * proximityFactor * jitter);
+        seconds = (long) clamp(seconds, minInterval.toSeconds(), maxInterval.toSeconds());
+
+        return now.plusSeconds(seconds);
+    }
+
+    /**
+     * Next check for a product that was skipped (alerts disabled) or could not be checked.
+     */
+    public LocalDateTime deferredCheckAt(LocalDateTime now, boolean failed) {
+        return now.plus(failed ? minInterval : maxInterval);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
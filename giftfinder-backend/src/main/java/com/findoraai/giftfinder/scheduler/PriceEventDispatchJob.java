@@ -0,0 +1,111 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.event.PriceChangeEventConsumer;
+import com.findoraai.giftfinder.notifications.service.PriceChangeEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Drains the price change stream for every registered {@link PriceChangeEventConsumer}.
+ * Each consumer is its own job in {@link JobRuntime} ("priceEvents.&lt;consumer&gt;") and reads
+ * from its own offset, so a slow or failing consumer falls behind on its own without holding
+ * up the others or the price check job.
+ * <p>
+ * Once a day the leader deletes the events every consumer has processed that are older than the
+ * retention, which is how far back a consumer can be replayed; a batch per transaction, fenced
+ * with its token.
+ */
+@Component
+@Slf4j
+public class PriceEventDispatchJob {
+
+    private final PriceChangeEventService eventService;
+    private final List<PriceChangeEventConsumer> consumers;
+    private final JobRuntime jobRuntime;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scheduler.price-events.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    @Value("${scheduler.price-events.retention:P30D}")
+    private Period retention;
+
+    @Value("${scheduler.price-events.cleanup-batch-size:1000}")
+    private int cleanupBatchSize;
+
+    public PriceEventDispatchJob(PriceChangeEventService eventService,
+                                 List<PriceChangeEventConsumer> consumers,
+                                 JobRuntime jobRuntime,
+                                 LeaderElection leaderElection,
+                                 PlatformTransactionManager transactionManager) {
+        this.eventService = eventService;
+        this.consumers = consumers;
+        this.jobRuntime = jobRuntime;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerConsumers() {
+        consumers.forEach(consumer -> eventService.registerConsumer(consumer.name()));
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.price-events.poll-interval:PT5S}")
+    public void dispatch() {
+        for (PriceChangeEventConsumer consumer : consumers) {
+            jobRuntime.trigger("priceEvents." + consumer.name(), () -> drain(consumer));
+        }
+    }
+
+    @Scheduled(cron = "${scheduler.price-events.cleanup-cron:0 45 3 * * *}")
+    @SingletonJob
+    public void deleteConsumedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> {
+                    leaderElection.checkFencingToken();
+                    return eventService.deleteConsumedBefore(cutoff, cleanupBatchSize);
+                });
+                deleted += batch;
+            } while (batch == cleanupBatchSize && !Thread.currentThread().isInterrupted());
+        } catch (LeadershipLostException e) {
+            log.warn("Stopped deleting consumed price events: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} consumed price events detected before {}", deleted, cutoff);
+        }
+    }
+
+    private void drain(PriceChangeEventConsumer consumer) {
+        int delivered = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll && !Thread.currentThread().isInterrupted(); batch++) {
+                int count = eventService.processNextBatch(consumer);
+                if (count == 0) {
+                    break;
+                }
+                delivered += count;
+            }
+            if (delivered > 0) {
+                log.debug("Consumer {} processed {} price events", consumer.name(), delivered);
+            }
+        } catch (Exception e) {
+            // The batch rolled back with its offset and is retried on the next poll
+            log.error("Price event consumer {} failed: {}", consumer.name(), e.getMessage(), e);
+        }
+    }
+}
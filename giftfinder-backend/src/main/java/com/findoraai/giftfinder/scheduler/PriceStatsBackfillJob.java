@@ -0,0 +1,99 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.model.PriceStats;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceHistoryRepository;
+import com.findoraai.giftfinder.notifications.repository.PriceStatsRepository;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import com.findoraai.giftfinder.notifications.service.PriceStatsService;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import com.findoraai.giftfinder.scheduler.model.JobWatermark;
+import com.findoraai.giftfinder.scheduler.repository.JobWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the price statistics of products whose price history predates them, once. Products
+ * are walked in ID order, the cursor being the last ID done; a product is rebuilt only if its
+ * aggregates cover fewer observations than its history, so rerunning the job is harmless. The
+ * job's watermark records the day it completed, after which it no longer starts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceStatsBackfillJob implements CheckpointedJob {
+
+    private final SavedProductRepository savedProductRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceStatsRepository priceStatsRepository;
+    private final PriceStatsService priceStatsService;
+    private final JobWatermarkRepository watermarkRepository;
+    private final CheckpointedJobRunner jobRunner;
+    private final JobRuntime jobRuntime;
+
+    @Value("${price-tracking.stats.backfill-batch-size:100}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnce() {
+        boolean done = watermarkRepository.findById(jobName())
+            .map(JobWatermark::getWatermark)
+            .isPresent();
+        if (!done) {
+            jobRuntime.trigger(jobName(), () -> jobRunner.run(this));
+        }
+    }
+
+    @Override
+    public String jobName() {
+        return "priceStatsBackfillJob";
+    }
+
+    @Override
+    public JobChunkResult processChunk(JobRun run) {
+        long afterId = run.getCursor() != null ? run.getCursor() : 0L;
+        List<SavedProduct> products = savedProductRepository.findByIdGreaterThanOrderByIdAsc(
+            afterId, PageRequest.of(0, batchSize));
+        if (products.isEmpty()) {
+            markDone();
+            return JobChunkResult.finished(afterId);
+        }
+
+        Map<Long, Long> observations = priceHistoryRepository.countByProductIds(
+                products.stream().map(SavedProduct::getId).toList()).stream()
+            .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        Map<Long, Long> samples = priceStatsRepository.findBySavedProductIn(products).stream()
+            .collect(Collectors.toMap(stats -> stats.getSavedProduct().getId(), PriceStats::getSampleCount));
+
+        int rebuilt = 0;
+        for (SavedProduct product : products) {
+            long behind = observations.getOrDefault(product.getId(), 0L) - samples.getOrDefault(product.getId(), 0L);
+            if (behind > 0 && priceStatsService.backfillStats(product)) {
+                rebuilt++;
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Backfilled price statistics of {} products", rebuilt);
+        }
+
+        long cursor = products.get(products.size() - 1).getId();
+        return new JobChunkResult(cursor, products.size(), products.size(), 0, false);
+    }
+
+    private void markDone() {
+        watermarkRepository.insertIfAbsent(jobName(), LocalDateTime.now());
+        JobWatermark watermark = watermarkRepository.findForUpdate(jobName()).orElseThrow();
+        watermark.setWatermark(LocalDate.now());
+    }
+}
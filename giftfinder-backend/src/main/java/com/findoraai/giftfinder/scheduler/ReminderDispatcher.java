@@ -0,0 +1,115 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.channel.ChannelDispatcher;
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.model.ReminderPayload;
+import com.findoraai.giftfinder.notifications.repository.ReminderPayloadRepository;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import com.findoraai.giftfinder.notifications.service.NotificationService;
+import com.findoraai.giftfinder.notifications.service.ReminderPayloadRenderer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hands due reminders to the notification outbox. Each reminder moves PENDING to SENDING in the
+ * same transaction that queues its message, so a reminder is in SENDING exactly while its message
+ * waits for delivery; {@link NotificationOutboxJob} moves it on to SENT or FAILED. The transition
+ * is guarded by the expected status, so a reminder is only queued by whoever moved it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderDispatcher {
+
+    public enum Outcome {
+        QUEUED,
+        DUPLICATE,
+        SKIPPED
+    }
+
+    private final ReminderRepository reminderRepository;
+    private final ReminderPayloadRepository payloadRepository;
+    private final ReminderPayloadRenderer payloadRenderer;
+    private final NotificationService notificationService;
+    private final ChannelDispatcher channelDispatcher;
+
+    /**
+     * Schema updates leave the status check constraint created with the table, which predates
+     * SENDING; replace it once so the new status can be stored.
+     */
+    @PostConstruct
+    void allowSendingStatus() {
+        String check = reminderRepository.findStatusCheck();
+        if (check != null && !check.contains("'SENDING'")) {
+            reminderRepository.replaceStatusCheck();
+            log.info("Replaced reminders_status_check to allow the SENDING status");
+        }
+    }
+
+    /**
+     * Queue the reminders' notifications in the caller's transaction, from their pre-rendered
+     * payloads where usable, and delete the payloads.
+     * @return Outcome of each reminder, in the order given
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Outcome> dispatch(List<Long> reminderIds, LocalDate today) {
+        Map<Long, ReminderPayload> payloads = payloadRepository.findAllById(reminderIds).stream()
+            .collect(Collectors.toMap(ReminderPayload::getReminderId, Function.identity()));
+        List<Outcome> outcomes = new ArrayList<>(reminderIds.size());
+        for (Long id : reminderIds) {
+            outcomes.add(dispatchOne(id, today, payloads.get(id)));
+        }
+        if (!payloads.isEmpty()) {
+            payloadRepository.deleteAllByIdInBatch(payloads.keySet());
+        }
+        return outcomes;
+    }
+
+    private Outcome dispatchOne(Long id, LocalDate today, ReminderPayload payload) {
+        LocalDateTime now = LocalDateTime.now();
+        if (reminderRepository.transition(id, Reminder.ReminderStatus.PENDING, Reminder.ReminderStatus.SENDING, now) == 0) {
+            return Outcome.SKIPPED;
+        }
+        // With its details, so a payload can be checked against them
+        Reminder reminder = reminderRepository.findWithDetailsByIdIn(List.of(id)).getFirst();
+
+        // Check for duplicate notification (within last 24 hours)
+        String referenceId = String.format("reminder-%d-%d",
+            reminder.getImportantDate().getId(), reminder.getDaysBefore());
+        if (notificationService.wasRecentlySent(
+                reminder.getUser(),
+                NotificationLog.NotificationType.REMINDER,
+                referenceId,
+                channelDispatcher.deliveryChannel(reminder.getChannel()))) {
+            log.info("Skipping duplicate reminder {}", id);
+            reminderRepository.markSent(id, now);
+            return Outcome.DUPLICATE;
+        }
+
+        // A payload spares loading the user, date and recipient and rendering the templates
+        int daysUntil = (int) ChronoUnit.DAYS.between(today, reminder.getOccurrenceDate());
+        NotificationService.RenderedNotification rendered = payloadRenderer.fromPayload(payload, reminder, daysUntil)
+            .orElseGet(() -> payloadRenderer.render(reminder, daysUntil));
+
+        if (!notificationService.queueReminderNotification(reminder, rendered)) {
+            // The same notification is already waiting in the outbox
+            reminderRepository.markSent(id, now);
+            return Outcome.DUPLICATE;
+        }
+        return Outcome.QUEUED;
+    }
+}
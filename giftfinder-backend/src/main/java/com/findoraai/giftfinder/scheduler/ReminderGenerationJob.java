@@ -1,95 +1,135 @@
 package com.findoraai.giftfinder.scheduler;
 
-import com.findoraai.giftfinder.notifications.model.ImportantDate;
-import com.findoraai.giftfinder.notifications.model.NotificationPreferences;
-import com.findoraai.giftfinder.notifications.model.Reminder;
 import com.findoraai.giftfinder.notifications.repository.ImportantDateRepository;
-import com.findoraai.giftfinder.notifications.repository.NotificationPreferencesRepository;
 import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import com.findoraai.giftfinder.scheduler.model.JobWatermark;
+import com.findoraai.giftfinder.scheduler.model.JobWorkUnit;
+import com.findoraai.giftfinder.scheduler.repository.JobWatermarkRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
+/**
+ * Generates reminders for important dates as their occurrence enters the window of the next
+ * {@code scheduler.reminders.horizon-days} days, recurring dates by their next anniversary.
+ * A watermark remembers the last day of the window already planned, so a daily run only expands
+ * the newly entered day, and a run after downtime catches up on every day it missed. Each day is
+ * a work unit claimed through {@link WorkClaimer}, so several instances share the work; units
+ * planned by an earlier run that did not finish are claimed too, since the watermark has already
+ * moved past them. The cursor counts the units this run completed. A unit is generated by a single set-based insert,
+ * so its processed count is the number of reminders created rather than the number of dates.
+ * Dates created or changed inside the planned window are handled by ReminderMaintainer.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class ReminderGenerationJob {
+public class ReminderGenerationJob implements CheckpointedJob {
 
     private final ImportantDateRepository importantDateRepository;
     private final ReminderRepository reminderRepository;
-    private final NotificationPreferencesRepository preferencesRepository;
+    private final CheckpointedJobRunner jobRunner;
+    private final JobRuntime jobRuntime;
+    private final WorkClaimer workClaimer;
+    private final ReminderPayloadJob payloadJob;
+
+    private final JobWatermarkRepository watermarkRepository;
+
+    @Value("${scheduler.reminders.horizon-days:30}")
+    private int horizonDays;
+
+    @Value("${scheduler.reminders.cron:0 0 6 * * *}")
+    private String cron;
 
     @Scheduled(cron = "${scheduler.reminders.cron:0 0 6 * * *}")
-    @Transactional
     public void generateReminders() {
         log.info("Starting reminder generation job");
-        long startTime = System.currentTimeMillis();
-        int generatedCount = 0;
-
-        try {
-            // Get all upcoming dates for the next 30 days
-            LocalDate today = LocalDate.now();
-            LocalDate endDate = today.plusDays(30);
-            
-            List<ImportantDate> upcomingDates = importantDateRepository.findDatesBetween(today, endDate);
-            log.info("Found {} upcoming dates to process", upcomingDates.size());
-
-            for (ImportantDate date : upcomingDates) {
-                // Get user's notification preferences
-                NotificationPreferences prefs = preferencesRepository.findByUser(date.getUser())
-                    .orElse(null);
-                
-                if (prefs == null || !prefs.getRemindersEnabled()) {
-                    continue;
-                }
-
-                // Generate reminders based on user's preferences
-                List<Integer> daysBefore = prefs.getReminderDaysBefore();
-                if (daysBefore == null || daysBefore.isEmpty()) {
-                    daysBefore = List.of(14, 7, 2); // Default
-                }
-
-                for (Integer days : daysBefore) {
-                    LocalDate reminderDate = date.getDate().minusDays(days);
-                    
-                    // Only create reminders for future dates
-                    if (reminderDate.isBefore(today)) {
-                        continue;
-                    }
-
-                    // Check if reminder already exists (idempotency)
-                    boolean exists = reminderRepository.existsByUserAndImportantDateAndDaysBeforeAndScheduledDate(
-                        date.getUser(), date, days, reminderDate
-                    );
-
-                    if (!exists) {
-                        Reminder reminder = Reminder.builder()
-                            .user(date.getUser())
-                            .importantDate(date)
-                            .scheduledDate(reminderDate)
-                            .daysBefore(days)
-                            .status(Reminder.ReminderStatus.PENDING)
-                            .channel(prefs.getPreferredChannel())
-                            .build();
-
-                        reminderRepository.save(reminder);
-                        generatedCount++;
-                    }
-                }
-            }
-
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Reminder generation job completed successfully. Generated {} new reminders in {}ms", 
-                generatedCount, duration);
-
-        } catch (Exception e) {
-            log.error("Error during reminder generation job: {}", e.getMessage(), e);
+        jobRuntime.trigger(jobName(), () -> jobRunner.run(this));
+    }
+
+    /**
+     * Run late if the daily run was missed while the application was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpMissedRun() {
+        jobRuntime.triggerIfMissed(jobName(), cron, () -> jobRunner.run(this));
+    }
+
+    @PostConstruct
+    void validateHorizon() {
+        // A passed recurring date rolls forward by at least 365 days, which must land beyond
+        // the window planned the day before
+        if (horizonDays < 1 || horizonDays > 364) {
+            throw new IllegalArgumentException("scheduler.reminders.horizon-days must be between 1 and 364");
+        }
+    }
+
+    @Override
+    public String jobName() {
+        return "reminderGenerationJob";
+    }
+
+    @Override
+    public JobChunkResult processChunk(JobRun run) {
+        LocalDate today = run.getBusinessDate();
+        long unitsDone = run.getCursor() != null ? run.getCursor() : 0L;
+
+        if (run.getCursor() == null) {
+            int rolled = importantDateRepository.rollForwardOccurrences(today);
+            log.debug("Rolled {} important dates forward to their next occurrence", rolled);
+            advanceWatermark(today);
+        }
+
+        // A day's occurrences are the same whichever run planned them, so units left behind by a
+        // crashed run of an earlier day are claimed as well
+        Optional<JobWorkUnit> unit = workClaimer.claimUnitOfAnyDay(jobName());
+        if (unit.isEmpty()) {
+            // Render the new reminders' notifications ahead of their send window
+            jobRuntime.trigger("reminderPayloadJob", payloadJob::renderDue);
+            return JobChunkResult.finished(unitsDone);
         }
+
+        // One INSERT ... SELECT per day of occurrences instead of a lookup and an insert per date
+        LocalDate occurrenceFrom = LocalDate.ofEpochDay(unit.get().getRangeStart());
+        LocalDate occurrenceTo = LocalDate.ofEpochDay(unit.get().getRangeEnd());
+        int generatedCount = reminderRepository.insertRemindersForDates(
+            occurrenceFrom, occurrenceTo, today, LocalDateTime.now());
+        log.debug("Generated {} reminders for dates occurring {} to {}", generatedCount, occurrenceFrom, occurrenceTo);
+        workClaimer.completeUnit(unit.get());
+
+        return new JobChunkResult(unitsDone + 1, generatedCount, generatedCount, 0, false);
+    }
+
+    /**
+     * Plan a work unit for every day between the watermark and the end of today's window, then
+     * move the watermark there. The watermark row stays locked until the chunk commits, so nodes
+     * running concurrently plan each day once and then share its units. Days before today are
+     * never planned: their occurrences have passed.
+     */
+    private void advanceWatermark(LocalDate today) {
+        LocalDate windowEnd = today.plusDays(horizonDays);
+        watermarkRepository.insertIfAbsent(jobName(), LocalDateTime.now());
+        JobWatermark watermark = watermarkRepository.findForUpdate(jobName()).orElseThrow();
+
+        LocalDate from = watermark.getWatermark() == null || watermark.getWatermark().isBefore(today)
+            ? today
+            : watermark.getWatermark().plusDays(1);
+        if (from.isAfter(windowEnd)) {
+            log.debug("Reminders already planned up to {}", watermark.getWatermark());
+            return;
+        }
+
+        log.info("Planning reminders for dates occurring {} to {}", from, windowEnd);
+        workClaimer.planUnits(jobName(), today, from.toEpochDay(), windowEnd.toEpochDay(), 1);
+        watermark.setWatermark(windowEnd);
     }
 }
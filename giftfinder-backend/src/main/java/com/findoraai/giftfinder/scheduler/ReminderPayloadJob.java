@@ -0,0 +1,52 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.service.ReminderPayloadRenderer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Renders the notifications of reminders scheduled within the next {@code days-ahead} days into
+ * compressed payloads, so {@link ReminderDispatcher} only has to queue them during the send
+ * window. Runs after reminder generation and every poll interval, picking up reminders whose
+ * payload was invalidated by a change to their date or recipient or rendered with outdated
+ * templates, and dropping payloads of reminders no longer pending. Runs on one instance at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderPayloadJob {
+
+    private final ReminderPayloadRenderer payloadRenderer;
+
+    @Value("${scheduler.reminder-payloads.days-ahead:1}")
+    private int daysAhead;
+
+    @Value("${scheduler.reminder-payloads.batch-size:200}")
+    private int batchSize;
+
+    @Value("${scheduler.reminder-payloads.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    @Scheduled(fixedDelayString = "${scheduler.reminder-payloads.poll-interval:PT10M}")
+    @SingletonJob
+    public void renderDue() {
+        int obsolete = payloadRenderer.deleteObsolete();
+        LocalDate until = LocalDate.now().plusDays(daysAhead);
+        int rendered = 0;
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            int count = payloadRenderer.renderDue(until, batchSize);
+            rendered += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (rendered > 0 || obsolete > 0) {
+            log.info("Rendered {} reminder payloads up to {}, dropped {} obsolete", rendered, until, obsolete);
+        }
+    }
+}
@@ -1,102 +1,111 @@
 package com.findoraai.giftfinder.scheduler;
 
-import com.findoraai.giftfinder.notifications.model.Reminder;
 import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
-import com.findoraai.giftfinder.notifications.service.NotificationService;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import com.findoraai.giftfinder.scheduler.model.JobWorkUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Sends due reminders shard by shard. Every pending reminder gets a delivery instant inside its
+ * user's delivery window and time zone, and the instants are bucketed into shards of
+ * {@code scheduler.reminders-send.shard} (an hour by default), so sends spread across the day.
+ * Each run plans a work unit per shard that is due, including overdue ones, and drains one claimed
+ * shard at a time through {@link WorkClaimer}, so several instances share the work without sending
+ * twice. A chunk queues up to {@code chunk-size} reminders of its shard in the notification outbox
+ * through {@link ReminderDispatcher}, in the chunk's own transaction, and hands the shard back if
+ * more remain; the cursor counts the chunks this run completed. A crash mid-chunk rolls back both
+ * the reminders' transitions and their messages, so nothing is queued twice.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class ReminderSendJob {
+public class ReminderSendJob implements CheckpointedJob {
 
     private final ReminderRepository reminderRepository;
-    private final NotificationService notificationService;
+    private final ReminderDispatcher dispatcher;
+    private final CheckpointedJobRunner jobRunner;
+    private final JobRuntime jobRuntime;
+    private final WorkClaimer workClaimer;
 
-    @Scheduled(cron = "${scheduler.reminders-send.cron:0 30 6 * * *}")
-    @Transactional
+    @Value("${scheduler.reminders-send.chunk-size:50}")
+    private int chunkSize;
+
+    @Value("${scheduler.reminders-send.shard:PT1H}")
+    private Duration shard;
+
+    @Value("${scheduler.reminders-send.cron:0 0 * * * *}")
+    private String cron;
+
+    @Scheduled(cron = "${scheduler.reminders-send.cron:0 0 * * * *}")
     public void sendDueReminders() {
         log.info("Starting reminder send job");
-        long startTime = System.currentTimeMillis();
-        int sentCount = 0;
-        int failedCount = 0;
-
-        try {
-            LocalDate today = LocalDate.now();
-            List<Reminder> dueReminders = reminderRepository.findDueReminders(
-                today, Reminder.ReminderStatus.PENDING
-            );
-            
-            log.info("Found {} due reminders to send", dueReminders.size());
-
-            for (Reminder reminder : dueReminders) {
-                try {
-                    // Check for duplicate notification (within last 24 hours)
-                    String referenceId = String.format("reminder-%d-%d", 
-                        reminder.getImportantDate().getId(), reminder.getDaysBefore());
-                    
-                    if (notificationService.wasRecentlySent(
-                            reminder.getUser(),
-                            com.findoraai.giftfinder.notifications.model.NotificationLog.NotificationType.REMINDER,
-                            referenceId,
-                            reminder.getChannel())) {
-                        log.info("Skipping duplicate reminder {}", reminder.getId());
-                        reminder.setStatus(Reminder.ReminderStatus.SENT);
-                        reminderRepository.save(reminder);
-                        continue;
-                    }
-
-                    // Send the notification
-                    String eventName = reminder.getImportantDate().getName();
-                    String eventDate = reminder.getImportantDate().getDate()
-                        .format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"));
-                    int daysUntil = (int) ChronoUnit.DAYS.between(today, reminder.getImportantDate().getDate());
-                    String recipientName = reminder.getImportantDate().getRecipient() != null ?
-                        reminder.getImportantDate().getRecipient().getName() : null;
-
-                    boolean sent = notificationService.sendReminderNotification(
-                        reminder.getUser(),
-                        reminder,
-                        eventName,
-                        eventDate,
-                        daysUntil,
-                        recipientName
-                    );
-
-                    if (sent) {
-                        reminder.setStatus(Reminder.ReminderStatus.SENT);
-                        reminder.setSentAt(java.time.LocalDateTime.now());
-                        sentCount++;
-                    } else {
-                        reminder.setStatus(Reminder.ReminderStatus.FAILED);
-                        failedCount++;
-                    }
-
-                    reminderRepository.save(reminder);
-
-                } catch (Exception e) {
-                    log.error("Error sending reminder {}: {}", reminder.getId(), e.getMessage());
-                    reminder.setStatus(Reminder.ReminderStatus.FAILED);
-                    reminderRepository.save(reminder);
-                    failedCount++;
-                }
+        jobRuntime.trigger(jobName(), () -> jobRunner.run(this));
+    }
+
+    /**
+     * Run late if the last run was missed while the application was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpMissedRun() {
+        jobRuntime.triggerIfMissed(jobName(), cron, () -> jobRunner.run(this));
+    }
+
+    @Override
+    public String jobName() {
+        return "reminderSendJob";
+    }
+
+    @Override
+    public JobChunkResult processChunk(JobRun run) {
+        LocalDate today = run.getBusinessDate();
+        long chunksDone = run.getCursor() != null ? run.getCursor() : 0L;
+        long shardSeconds = shard.toSeconds();
+
+        if (run.getCursor() == null) {
+            int assigned = reminderRepository.assignSendAt();
+            log.debug("Assigned delivery instants to {} reminders", assigned);
+            // Every shard up to and including the one that just started
+            long currentShard = Instant.now().getEpochSecond() / shardSeconds;
+            Instant before = Instant.ofEpochSecond((currentShard + 1) * shardSeconds);
+            for (Long dueShard : reminderRepository.findPendingShards(shardSeconds, before)) {
+                workClaimer.planOrReopenUnit(jobName(), today, dueShard, dueShard);
             }
+        }
 
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Reminder send job completed. Sent: {}, Failed: {}, Duration: {}ms", 
-                sentCount, failedCount, duration);
+        Optional<JobWorkUnit> unit = workClaimer.claimUnit(jobName(), today);
+        if (unit.isEmpty()) {
+            return JobChunkResult.finished(chunksDone);
+        }
 
-        } catch (Exception e) {
-            log.error("Error during reminder send job: {}", e.getMessage(), e);
+        Instant shardStart = Instant.ofEpochSecond(unit.get().getRangeStart() * shardSeconds);
+        List<Long> dueReminders = reminderRepository.findPendingIdsInShard(
+            shardStart, shardStart.plus(shard), PageRequest.of(0, chunkSize));
+
+        // Queued in the outbox in this chunk's transaction; the outbox workers send them
+        List<ReminderDispatcher.Outcome> outcomes = dispatcher.dispatch(dueReminders, today);
+        int queuedCount = Collections.frequency(outcomes, ReminderDispatcher.Outcome.QUEUED)
+            + Collections.frequency(outcomes, ReminderDispatcher.Outcome.DUPLICATE);
+
+        if (dueReminders.size() == chunkSize) {
+            workClaimer.releaseUnit(unit.get());
+        } else {
+            workClaimer.completeUnit(unit.get());
         }
+
+        return new JobChunkResult(chunksDone + 1, queuedCount, queuedCount, 0, false);
     }
 }
@@ -0,0 +1,23 @@
+package com.findoraai.giftfinder.scheduler;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a scheduled method that must run on one instance at a time. The method only runs on the
+ * instance currently leading the named election in {@link LeaderElection}; on the others the
+ * invocation is skipped. While it runs, {@link LeaderElection#currentFencingToken()} returns the
+ * leader's fencing token.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingletonJob {
+    /**
+     * Election name, by default the declaring class and method name.
+     */
+    String value() default "";
+}
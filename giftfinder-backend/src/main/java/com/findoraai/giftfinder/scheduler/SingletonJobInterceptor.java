@@ -0,0 +1,44 @@
+package com.findoraai.giftfinder.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.OptionalLong;
+
+/**
+ * Runs a {@link SingletonJob} method only on the instance leading its election.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class SingletonJobInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<LeaderElection> leaderElection;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass());
+        SingletonJob singletonJob = AnnotatedElementUtils.findMergedAnnotation(method, SingletonJob.class);
+        String name = singletonJob != null && !singletonJob.value().isEmpty()
+            ? singletonJob.value()
+            : method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        OptionalLong token = leaderElection.getObject().tryLead(name);
+        if (token.isEmpty()) {
+            log.debug("Skipping {}: another instance leads it", name);
+            return null;
+        }
+
+        LeaderElection.enterLeadership(name, token.getAsLong());
+        try {
+            return invocation.proceed();
+        } finally {
+            LeaderElection.exitLeadership();
+        }
+    }
+}
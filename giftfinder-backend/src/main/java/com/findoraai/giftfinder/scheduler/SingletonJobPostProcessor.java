@@ -0,0 +1,22 @@
+package com.findoraai.giftfinder.scheduler;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Proxies beans with {@link SingletonJob} methods so they run under leader election.
+ */
+@Component
+public class SingletonJobPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public SingletonJobPostProcessor(ObjectProvider<LeaderElection> leaderElection) {
+        this.advisor = new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(null, SingletonJob.class, true),
+            new SingletonJobInterceptor(leaderElection));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
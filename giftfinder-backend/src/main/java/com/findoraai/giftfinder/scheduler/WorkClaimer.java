@@ -0,0 +1,149 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import com.findoraai.giftfinder.scheduler.model.JobWorkUnit;
+import com.findoraai.giftfinder.scheduler.repository.JobWorkUnitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Splits job work between backend instances. Claims lock candidate rows with
+ * SELECT ... FOR UPDATE SKIP LOCKED, so concurrent nodes never wait on or take the same work,
+ * and commit immediately in their own transaction with a lease. Completing the work inside the
+ * job's chunk transaction ends the lease; if the node dies first, the lease expires and the
+ * work becomes claimable again.
+ */
+@Component
+@Slf4j
+public class WorkClaimer {
+
+    private final JobWorkUnitRepository workUnitRepository;
+    private final SavedProductRepository savedProductRepository;
+    private final NodeIdentity nodeIdentity;
+    private final TransactionTemplate claimTransaction;
+
+    @Value("${scheduler.work-units.lease:PT5M}")
+    private Duration unitLease;
+
+    @Value("${scheduler.price-check.lease:PT10M}")
+    private Duration productLease;
+
+    public WorkClaimer(JobWorkUnitRepository workUnitRepository,
+                       SavedProductRepository savedProductRepository,
+                       NodeIdentity nodeIdentity,
+                       PlatformTransactionManager transactionManager) {
+        this.workUnitRepository = workUnitRepository;
+        this.savedProductRepository = savedProductRepository;
+        this.nodeIdentity = nodeIdentity;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Make sure units of {@code unitSize} IDs cover [minId, maxId] for the job's business day.
+     * Units are aligned to multiples of the unit size, so every node plans the same units.
+     */
+    public void planUnits(String jobName, LocalDate businessDate, Long minId, Long maxId, int unitSize) {
+        if (minId == null || maxId == null) {
+            return;
+        }
+        Integer planned = claimTransaction.execute(status -> workUnitRepository.planUnits(
+            jobName, businessDate, unitSize, minId / unitSize, maxId / unitSize));
+        if (planned != null && planned > 0) {
+            log.info("Planned {} work units for {} on {}", planned, jobName, businessDate);
+        }
+    }
+
+    /**
+     * Make sure a unit covers [rangeStart, rangeEnd] for the job's business day, reopening it if
+     * it already completed, for work that can reappear in a range after it was drained.
+     */
+    public void planOrReopenUnit(String jobName, LocalDate businessDate, long rangeStart, long rangeEnd) {
+        claimTransaction.executeWithoutResult(status ->
+            workUnitRepository.planOrReopen(jobName, businessDate, rangeStart, rangeEnd));
+    }
+
+    /**
+     * Claim the next pending unit, or one whose lease expired, for this node.
+     */
+    public Optional<JobWorkUnit> claimUnit(String jobName, LocalDate businessDate) {
+        return claim(jobName, now -> workUnitRepository.lockNextClaimable(jobName, businessDate, now));
+    }
+
+    /**
+     * Claim the next pending unit, or one whose lease expired, whatever business day planned it,
+     * for units that stay valid after their day, such as units left behind by a crashed run.
+     */
+    public Optional<JobWorkUnit> claimUnitOfAnyDay(String jobName) {
+        return claim(jobName, now -> workUnitRepository.lockNextClaimableOfAnyDay(jobName, now));
+    }
+
+    private Optional<JobWorkUnit> claim(String jobName, Function<LocalDateTime, List<Long>> lockNext) {
+        return Optional.ofNullable(claimTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = lockNext.apply(now);
+            if (ids.isEmpty()) {
+                return null;
+            }
+            JobWorkUnit unit = workUnitRepository.findById(ids.get(0)).orElseThrow();
+            if (unit.getStatus() == JobWorkUnit.UnitStatus.CLAIMED) {
+                log.warn("Reclaiming {} unit {} from {} after its lease expired",
+                    jobName, unit.getId(), unit.getClaimedBy());
+            }
+            unit.setStatus(JobWorkUnit.UnitStatus.CLAIMED);
+            unit.setClaimedBy(nodeIdentity.getNodeId());
+            unit.setLeaseUntil(now.plus(unitLease));
+            unit.setAttempts(unit.getAttempts() + 1);
+            return workUnitRepository.save(unit);
+        }));
+    }
+
+    /**
+     * Mark a unit done; call inside the transaction that commits the unit's work.
+     */
+    public void completeUnit(JobWorkUnit unit) {
+        int updated = workUnitRepository.complete(unit.getId(), nodeIdentity.getNodeId(), LocalDateTime.now());
+        if (updated == 0) {
+            // The lease expired and another node reclaimed the unit; its work is idempotent
+            log.warn("Unit {} of {} was reclaimed by another node before completion", unit.getId(), unit.getJobName());
+        }
+    }
+
+    /**
+     * Hand a unit with work left back to the pool, so any node can claim it for its next chunk;
+     * call inside the transaction that commits the unit's work done so far.
+     */
+    public void releaseUnit(JobWorkUnit unit) {
+        workUnitRepository.release(unit.getId(), nodeIdentity.getNodeId());
+    }
+
+    public boolean hasExpiredLeases(String jobName) {
+        return workUnitRepository.existsExpiredLease(jobName, LocalDateTime.now());
+    }
+
+    /**
+     * Claim up to {@code limit} due products by moving their next check to the end of the lease.
+     * @return IDs of the claimed products, most overdue first
+     */
+    public List<Long> claimDueProducts(int limit) {
+        return claimTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = savedProductRepository.lockDueForPriceCheck(now, limit);
+            if (!ids.isEmpty()) {
+                savedProductRepository.leaseUntil(ids, now.plus(productLease));
+            }
+            return ids;
+        });
+    }
+}
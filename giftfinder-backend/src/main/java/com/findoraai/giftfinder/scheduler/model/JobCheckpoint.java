@@ -0,0 +1,51 @@
+package com.findoraai.giftfinder.scheduler.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chunk committed by a job run, with the cursor it advanced to.
+ */
+@Entity
+@Table(name = "job_checkpoints", indexes = {
+    @Index(name = "idx_job_checkpoint_run", columnList = "job_run_id, chunk_number")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_run_id", nullable = false)
+    private JobRun jobRun;
+
+    @Column(name = "chunk_number", nullable = false)
+    private Integer chunkNumber;
+
+    private Long cursor;
+
+    @Column(nullable = false)
+    private Integer processedCount;
+
+    @Column(nullable = false)
+    private Integer successCount;
+
+    @Column(nullable = false)
+    private Integer failureCount;
+
+    @Column(nullable = false)
+    private LocalDateTime committedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        committedAt = LocalDateTime.now();
+    }
+}
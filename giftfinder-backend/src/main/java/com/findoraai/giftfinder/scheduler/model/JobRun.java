@@ -0,0 +1,85 @@
+package com.findoraai.giftfinder.scheduler.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a checkpointed job. The cursor is committed together with every chunk,
+ * so a run interrupted by a crash is resumed from its last checkpoint instead of restarted.
+ */
+@Entity
+@Table(name = "job_runs", indexes = {
+    @Index(name = "idx_job_run_name_status", columnList = "job_name, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    /**
+     * Instance executing the run; every instance runs its own runs of partitioned jobs.
+     */
+    private String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RunStatus status;
+
+    /**
+     * The day the run works for; a resumed run keeps it even if it finishes the next day.
+     */
+    @Column(nullable = false)
+    private LocalDate businessDate;
+
+    /**
+     * Job-specific keyset position after the last committed chunk, null before the first chunk.
+     */
+    private Long cursor;
+
+    @Column(nullable = false)
+    private Integer chunksCompleted;
+
+    @Column(nullable = false)
+    private Long processedCount;
+
+    @Column(nullable = false)
+    private Long successCount;
+
+    @Column(nullable = false)
+    private Long failureCount;
+
+    @Column(nullable = false)
+    private Integer resumeCount;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    /**
+     * Updated with every checkpoint; a RUNNING run with an old heartbeat was interrupted.
+     */
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.findoraai.giftfinder.scheduler.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last day a sliding-window job has planned its work up to, so the next run only covers the
+ * days that entered the window since.
+ */
+@Entity
+@Table(name = "job_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobWatermark {
+
+    @Id
+    private String jobName;
+
+    private LocalDate watermark;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,63 @@
+package com.findoraai.giftfinder.scheduler.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An ID range of a job's work for one business day. Nodes claim units with
+ * SELECT ... FOR UPDATE SKIP LOCKED and hold them under a lease; a unit whose lease expires
+ * without being completed (its node died) can be claimed again by any node.
+ */
+@Entity
+@Table(name = "job_work_units",
+    uniqueConstraints = @UniqueConstraint(name = "uk_job_work_unit_range",
+        columnNames = {"job_name", "business_date", "range_start"}),
+    indexes = @Index(name = "idx_job_work_unit_claim", columnList = "job_name, business_date, status"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobWorkUnit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    /**
+     * Inclusive upper bound of the ID range.
+     */
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UnitStatus status;
+
+    private String claimedBy;
+
+    private LocalDateTime leaseUntil;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    private LocalDateTime completedAt;
+
+    public enum UnitStatus {
+        PENDING,
+        CLAIMED,
+        DONE
+    }
+}
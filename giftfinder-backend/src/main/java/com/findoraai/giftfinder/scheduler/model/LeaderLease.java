@@ -0,0 +1,35 @@
+package com.findoraai.giftfinder.scheduler.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current holder of a named leadership. The advisory lock decides who leads; this row hands out
+ * a fencing token that grows with every change of leader and records lease renewals.
+ */
+@Entity
+@Table(name = "leader_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderLease {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private String holder;
+
+    @Column(nullable = false)
+    private Long fencingToken;
+
+    @Column(nullable = false)
+    private LocalDateTime acquiredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime renewedAt;
+}
@@ -0,0 +1,21 @@
+package com.findoraai.giftfinder.scheduler.repository;
+
+import com.findoraai.giftfinder.scheduler.model.JobCheckpoint;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+    List<JobCheckpoint> findByJobRunOrderByChunkNumberAsc(JobRun jobRun);
+
+    @Modifying
+    @Query("DELETE FROM JobCheckpoint c WHERE c.jobRun.id IN (SELECT r.id FROM JobRun r WHERE r.finishedAt < :cutoff)")
+    int deleteByRunFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,38 @@
+package com.findoraai.giftfinder.scheduler.repository;
+
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+    /**
+     * Serialize the start of runs of one job on one node until the end of the transaction.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:jobName || '@' || :nodeId, 0))",
+           nativeQuery = true)
+    int lockJob(@Param("jobName") String jobName, @Param("nodeId") String nodeId);
+
+    Optional<JobRun> findFirstByJobNameAndNodeIdOrderByStartedAtDesc(String jobName, String nodeId);
+
+    List<JobRun> findByJobNameAndStatusAndHeartbeatAtBefore(String jobName, JobRun.RunStatus status,
+                                                            LocalDateTime staleBefore);
+
+    Optional<JobRun> findFirstByJobNameOrderByStartedAtDesc(String jobName);
+
+    List<JobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    List<JobRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM JobRun r WHERE r.finishedAt < :cutoff")
+    int deleteByFinishedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
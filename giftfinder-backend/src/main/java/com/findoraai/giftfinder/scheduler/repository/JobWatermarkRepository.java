@@ -0,0 +1,33 @@
+package com.findoraai.giftfinder.scheduler.repository;
+
+import com.findoraai.giftfinder.scheduler.model.JobWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+
+    /**
+     * Create the job's row without a watermark unless it exists, so concurrent first runs
+     * converge on one row to lock.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_watermarks (job_name, updated_at) VALUES (:jobName, :now) " +
+        "ON CONFLICT (job_name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName, @Param("now") LocalDateTime now);
+
+    /**
+     * Lock a job's watermark so only one node at a time advances it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM JobWatermark w WHERE w.jobName = :jobName")
+    Optional<JobWatermark> findForUpdate(@Param("jobName") String jobName);
+}
@@ -0,0 +1,82 @@
+package com.findoraai.giftfinder.scheduler.repository;
+
+import com.findoraai.giftfinder.scheduler.model.JobWorkUnit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobWorkUnitRepository extends JpaRepository<JobWorkUnit, Long> {
+
+    /**
+     * Create the aligned units covering [minBucket, maxBucket]. Every node plans the same
+     * range starts, so concurrent planning converges on one set of units.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_work_units (job_name, business_date, range_start, range_end, status, attempts) " +
+        "SELECT :jobName, :businessDate, b * :unitSize, b * :unitSize + :unitSize - 1, 'PENDING', 0 " +
+        "FROM generate_series(CAST(:minBucket AS bigint), CAST(:maxBucket AS bigint)) AS b " +
+        "ON CONFLICT (job_name, business_date, range_start) DO NOTHING", nativeQuery = true)
+    int planUnits(@Param("jobName") String jobName,
+                  @Param("businessDate") LocalDate businessDate,
+                  @Param("unitSize") long unitSize,
+                  @Param("minBucket") long minBucket,
+                  @Param("maxBucket") long maxBucket);
+
+    /**
+     * Lock the next claimable unit, skipping units other nodes are claiming right now.
+     */
+    @Query(value = "SELECT id FROM job_work_units " +
+        "WHERE job_name = :jobName AND business_date = :businessDate " +
+        "AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < :now)) " +
+        "ORDER BY range_start LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockNextClaimable(@Param("jobName") String jobName,
+                                 @Param("businessDate") LocalDate businessDate,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * {@link #lockNextClaimable} across all business days, oldest day first.
+     */
+    @Query(value = "SELECT id FROM job_work_units " +
+        "WHERE job_name = :jobName " +
+        "AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < :now)) " +
+        "ORDER BY business_date, range_start LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockNextClaimableOfAnyDay(@Param("jobName") String jobName,
+                                         @Param("now") LocalDateTime now);
+
+    /**
+     * Create the unit, or make it claimable again if it is already done, for work that can
+     * reappear after its unit completed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_work_units (job_name, business_date, range_start, range_end, status, attempts) " +
+        "VALUES (:jobName, :businessDate, :rangeStart, :rangeEnd, 'PENDING', 0) " +
+        "ON CONFLICT (job_name, business_date, range_start) DO UPDATE " +
+        "SET status = 'PENDING', claimed_by = NULL, lease_until = NULL, completed_at = NULL " +
+        "WHERE job_work_units.status = 'DONE'", nativeQuery = true)
+    int planOrReopen(@Param("jobName") String jobName,
+                     @Param("businessDate") LocalDate businessDate,
+                     @Param("rangeStart") long rangeStart,
+                     @Param("rangeEnd") long rangeEnd);
+
+    @Query("SELECT COUNT(u) > 0 FROM JobWorkUnit u WHERE u.jobName = :jobName AND u.status = 'CLAIMED' AND u.leaseUntil < :now")
+    boolean existsExpiredLease(@Param("jobName") String jobName, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JobWorkUnit u SET u.status = 'DONE', u.completedAt = :now WHERE u.id = :id AND u.claimedBy = :nodeId")
+    int complete(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JobWorkUnit u SET u.status = 'PENDING', u.claimedBy = NULL, u.leaseUntil = NULL WHERE u.id = :id AND u.claimedBy = :nodeId")
+    int release(@Param("id") Long id, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("DELETE FROM JobWorkUnit u WHERE u.businessDate < :cutoff")
+    int deleteByBusinessDateBefore(@Param("cutoff") LocalDate cutoff);
+}
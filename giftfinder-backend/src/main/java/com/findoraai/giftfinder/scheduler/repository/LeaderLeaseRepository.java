@@ -0,0 +1,9 @@
+package com.findoraai.giftfinder.scheduler.repository;
+
+import com.findoraai.giftfinder.scheduler.model.LeaderLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaderLeaseRepository extends JpaRepository<LeaderLease, String> {
+}
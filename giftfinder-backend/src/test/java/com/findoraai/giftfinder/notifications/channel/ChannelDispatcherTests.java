@@ -0,0 +1,78 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChannelDispatcherTests {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final ChannelSender emailSender = mock(ChannelSender.class);
+    private ChannelDispatcher dispatcher;
+
+    ChannelDispatcherTests() {
+        environment.setConversionService(new ApplicationConversionService());
+        environment.setProperty("notifications.channels.whatsapp.stub-latency", "PT0S");
+        when(emailSender.channel()).thenReturn(Reminder.NotificationChannel.EMAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void channelWithoutSenderIsDeliveredAsEmail() {
+        dispatcher = new ChannelDispatcher(environment, List.of(emailSender));
+
+        assertThat(dispatcher.deliveryChannel(Reminder.NotificationChannel.WHATSAPP))
+            .isEqualTo(Reminder.NotificationChannel.EMAIL);
+        assertThat(dispatcher.deliveryChannel(Reminder.NotificationChannel.EMAIL))
+            .isEqualTo(Reminder.NotificationChannel.EMAIL);
+    }
+
+    @Test
+    void stubbedChannelKeepsItsMessages() {
+        environment.setProperty("notifications.channels.whatsapp.stub", "true");
+        dispatcher = new ChannelDispatcher(environment, List.of(emailSender));
+
+        assertThat(dispatcher.deliveryChannel(Reminder.NotificationChannel.WHATSAPP))
+            .isEqualTo(Reminder.NotificationChannel.WHATSAPP);
+        assertThat(dispatcher.dispatch(Reminder.NotificationChannel.WHATSAPP, List.of(message())).join())
+            .containsExactly((RuntimeException) null);
+    }
+
+    @Test
+    void messagesQueuedForAChannelWithoutSenderFailPermanently() {
+        dispatcher = new ChannelDispatcher(environment, List.of(emailSender));
+
+        List<RuntimeException> failures = dispatcher.dispatch(Reminder.NotificationChannel.WHATSAPP,
+            List.of(message(), message())).join();
+
+        assertThat(failures).hasSize(2).allSatisfy(failure ->
+            assertThat(failure).isInstanceOf(IllegalArgumentException.class));
+        verify(emailSender, never()).send(any());
+    }
+
+    private static OutboxMessage message() {
+        return OutboxMessage.builder()
+            .id(1L)
+            .userId(1L)
+            .channel(Reminder.NotificationChannel.WHATSAPP)
+            .recipient("user@example.com")
+            .subject("Reminder")
+            .build();
+    }
+}
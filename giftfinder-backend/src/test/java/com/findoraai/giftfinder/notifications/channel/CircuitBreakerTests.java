@@ -0,0 +1,117 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(100);
+
+    private final CircuitBreaker breaker = new CircuitBreaker(3, OPEN_DURATION);
+
+    @Test
+    void opensAfterConsecutiveTransientFailures() {
+        assertThat(breaker.record(0, 2)).isFalse();
+        assertThat(breaker.record(0, 1)).isTrue();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.isAvailable()).isFalse();
+        assertThat(breaker.getRetryAfter()).isPositive().isLessThanOrEqualTo(OPEN_DURATION);
+        assertThat(breaker.getOpenedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deliveryResetsTheFailureCount() {
+        breaker.record(0, 2);
+        breaker.record(1, 0);
+        breaker.record(0, 2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getRetryAfter()).isZero();
+    }
+
+    @Test
+    void permanentFailuresAreNotCounted() {
+        for (int i = 0; i < 10; i++) {
+            breaker.record(0, 0);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenLetsOnlyOneTrialBatchThrough() throws InterruptedException {
+        breaker.record(0, 3);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.isAvailable()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.isAvailable()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void deliveredTrialClosesTheCircuit() throws InterruptedException {
+        breaker.record(0, 3);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+        breaker.tryAcquire();
+
+        assertThat(breaker.record(1, 4)).isFalse();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        // The trial's failures do not carry over
+        assertThat(breaker.record(0, 2)).isFalse();
+    }
+
+    @Test
+    void failedTrialOpensTheCircuitForAnotherPeriod() throws InterruptedException {
+        breaker.record(0, 3);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+        breaker.tryAcquire();
+
+        assertThat(breaker.record(0, 1)).isTrue();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getOpenedCount()).isEqualTo(2);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void trialWithOnlyPermanentFailuresClosesTheCircuit() throws InterruptedException {
+        breaker.record(0, 3);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+        breaker.tryAcquire();
+
+        assertThat(breaker.record(0, 0)).isFalse();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void releasedTrialLeavesTheCircuitHalfOpenForTheNextBatch() throws InterruptedException {
+        breaker.record(0, 3);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+        breaker.tryAcquire();
+
+        breaker.release();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.record(0, 1)).isTrue();
+    }
+
+    @Test
+    void batchFinishingAfterTheCircuitOpenedLeavesItOpen() {
+        breaker.record(0, 3);
+
+        assertThat(breaker.record(0, 5)).isFalse();
+        assertThat(breaker.getOpenedCount()).isEqualTo(1);
+    }
+}
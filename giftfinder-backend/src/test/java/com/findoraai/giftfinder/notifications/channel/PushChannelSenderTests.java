@@ -0,0 +1,64 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.push.PushBus;
+import com.findoraai.giftfinder.notifications.push.PushPresenceTracker;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PushChannelSenderTests {
+
+    private final PushBus pushBus = mock(PushBus.class);
+    private final PushPresenceTracker presenceTracker = mock(PushPresenceTracker.class);
+    private final PushChannelSender sender = new PushChannelSender(pushBus, presenceTracker);
+
+    @Test
+    void onlyMessagesOfConnectedUsersArePublished() {
+        when(presenceTracker.findConnected(List.of(1L, 2L))).thenReturn(Set.of(1L));
+
+        List<RuntimeException> failures = sender.send(List.of(message(1L), message(2L)));
+
+        assertThat(failures.getFirst()).isNull();
+        assertThat(failures.get(1)).isInstanceOfSatisfying(RecipientUnreachableException.class,
+            unreachable -> assertThat(unreachable.getFallback()).isEqualTo(Reminder.NotificationChannel.EMAIL));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PushBus.Delivery>> published = ArgumentCaptor.forClass(List.class);
+        verify(pushBus).publish(published.capture());
+        assertThat(published.getValue()).extracting(PushBus.Delivery::userId).containsExactly(1L);
+    }
+
+    @Test
+    void databaseFailureFailsEveryMessage() {
+        QueryTimeoutException timeout = new QueryTimeoutException("timeout");
+        when(presenceTracker.findConnected(any())).thenThrow(timeout);
+
+        assertThat(sender.send(List.of(message(1L), message(2L)))).containsExactly(timeout, timeout);
+    }
+
+    private static OutboxMessage message(Long userId) {
+        return OutboxMessage.builder()
+            .id(userId)
+            .userId(userId)
+            .notificationType(NotificationLog.NotificationType.REMINDER)
+            .referenceId("reminder-5-7")
+            .channel(Reminder.NotificationChannel.PUSH)
+            .recipient("user@example.com")
+            .subject("Reminder: Birthday in 7 days")
+            .body("<p>Birthday</p>")
+            .eventDate(LocalDate.of(2026, 11, 20))
+            .build();
+    }
+}
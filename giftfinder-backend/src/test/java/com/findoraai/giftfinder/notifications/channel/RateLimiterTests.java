@@ -0,0 +1,78 @@
+package com.findoraai.giftfinder.notifications.channel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+    @Test
+    void noLimitNeverWaits() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(0);
+
+        long elapsed = timeMillis(() -> limiter.acquire(1_000_000));
+
+        assertThat(elapsed).isLessThan(100);
+    }
+
+    @Test
+    void burstOfOneSecondIsImmediate() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20);
+
+        long elapsed = timeMillis(() -> limiter.acquire(20));
+
+        assertThat(elapsed).isLessThan(100);
+    }
+
+    @Test
+    void shortfallIsWaitedFor() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20);
+        limiter.acquire(20);
+
+        long elapsed = timeMillis(() -> limiter.acquire(10));
+
+        assertThat(elapsed).isBetween(400L, 1_000L);
+    }
+
+    @Test
+    void concurrentCallersQueueBehindEachOther() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20);
+        limiter.acquire(20);
+        Thread other = Thread.ofPlatform().start(() -> {
+            try {
+                limiter.acquire(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(50);
+
+        // Waits for its own 10 permits after the other caller's 10
+        long elapsed = timeMillis(() -> limiter.acquire(10));
+        other.join();
+
+        assertThat(elapsed).isBetween(850L, 1_500L);
+    }
+
+    @Test
+    void idleTimeAccruesNoMoreThanOneSecond() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20);
+        Thread.sleep(300);
+
+        long elapsed = timeMillis(() -> limiter.acquire(30));
+
+        assertThat(elapsed).isBetween(400L, 1_000L);
+    }
+
+    private interface Acquisition {
+        void run() throws InterruptedException;
+    }
+
+    private static long timeMillis(Acquisition acquisition) throws InterruptedException {
+        long start = System.nanoTime();
+        acquisition.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,83 @@
+package com.findoraai.giftfinder.notifications.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportantDateTests {
+
+    private static final LocalDate LEAP_DAY = LocalDate.of(2000, 2, 29);
+
+    @Test
+    void oneOffDateIsReturnedAsIs() {
+        ImportantDate date = date(LocalDate.of(2024, 5, 10), false);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 1, 1))).isEqualTo(LocalDate.of(2024, 5, 10));
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2024, 1, 1))).isEqualTo(LocalDate.of(2024, 5, 10));
+    }
+
+    @Test
+    void futureRecurringDateIsItsOwnNextOccurrence() {
+        ImportantDate date = date(LocalDate.of(2030, 5, 10), true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 1, 1))).isEqualTo(LocalDate.of(2030, 5, 10));
+    }
+
+    @Test
+    void recurringDateRollsToThisYearsAnniversaryWhenStillAhead() {
+        ImportantDate date = date(LocalDate.of(1990, 5, 10), true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 3, 1))).isEqualTo(LocalDate.of(2025, 5, 10));
+    }
+
+    @Test
+    void anniversaryOnTheDayItselfCounts() {
+        ImportantDate date = date(LocalDate.of(1990, 5, 10), true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 5, 10))).isEqualTo(LocalDate.of(2025, 5, 10));
+    }
+
+    @Test
+    void recurringDateRollsToNextYearOnceThisYearsAnniversaryPassed() {
+        ImportantDate date = date(LocalDate.of(1990, 5, 10), true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 5, 11))).isEqualTo(LocalDate.of(2026, 5, 10));
+    }
+
+    @Test
+    void leapDayFallsOnFebruary28InCommonYears() {
+        ImportantDate date = date(LEAP_DAY, true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 1, 1))).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 2, 28))).isEqualTo(LocalDate.of(2025, 2, 28));
+    }
+
+    @Test
+    void leapDayIsKeptInLeapYears() {
+        ImportantDate date = date(LEAP_DAY, true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2024, 2, 1))).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    void leapDayAfterFebruary28OfACommonYearReturnsToFebruary29() {
+        ImportantDate date = date(LEAP_DAY, true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2023, 3, 1))).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2025, 3, 1))).isEqualTo(LocalDate.of(2026, 2, 28));
+    }
+
+    @Test
+    void leapDayAfterFebruary29OfALeapYearMovesToNextYear() {
+        ImportantDate date = date(LEAP_DAY, true);
+
+        assertThat(date.occurrenceOnOrAfter(LocalDate.of(2024, 3, 1))).isEqualTo(LocalDate.of(2025, 2, 28));
+    }
+
+    private static ImportantDate date(LocalDate date, boolean recurring) {
+        return ImportantDate.builder().date(date).recurring(recurring).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the application's database with user IDs no real user has.
+ */
+@SpringBootTest
+class PushPresenceTrackerTests {
+
+    private final long first = ThreadLocalRandom.current().nextLong(1L << 40, 1L << 50);
+    private final long second = first + 1;
+
+    @Autowired
+    private PushPresenceTracker tracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM push_presence WHERE user_id IN (?, ?)", first, second);
+    }
+
+    @Test
+    void connectedUserIsFoundUntilDisconnected() {
+        tracker.connected(first);
+        tracker.connected(first);
+
+        assertThat(tracker.findConnected(List.of(first, second))).containsExactly(first);
+
+        tracker.disconnected(first);
+        assertThat(tracker.findConnected(List.of(first, second))).isEmpty();
+    }
+
+    @Test
+    void refreshReplacesThisInstancesUsers() {
+        tracker.connected(first);
+
+        tracker.refresh(List.of(second));
+
+        assertThat(tracker.findConnected(List.of(first, second))).containsExactly(second);
+    }
+
+    @Test
+    void usersOfOtherInstancesAreFoundUntilTheirRowsExpire() {
+        jdbcTemplate.update("INSERT INTO push_presence (user_id, instance_id, expires_at) " +
+            "VALUES (?, 'other', now() + interval '1 minute'), (?, 'dead', now() - interval '1 second')", first, second);
+
+        assertThat(tracker.findConnected(List.of(first, second))).containsExactly(first);
+
+        tracker.refresh(List.of());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM push_presence WHERE user_id IN (?, ?)",
+            Long.class, first, second)).isEqualTo(1);
+    }
+
+    @Test
+    void rowsLiveForTwoHeartbeats() {
+        PushPresenceTracker shortLived = new PushPresenceTracker(jdbcTemplate, Duration.ofSeconds(1));
+        shortLived.connected(first);
+
+        assertThat(tracker.findConnected(List.of(first))).containsExactly(first);
+        assertThat(jdbcTemplate.queryForObject("SELECT expires_at - now() <= interval '2 seconds' " +
+            "FROM push_presence WHERE user_id = ?", Boolean.class, first)).isTrue();
+    }
+}
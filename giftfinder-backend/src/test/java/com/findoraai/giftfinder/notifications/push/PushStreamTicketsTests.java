@@ -0,0 +1,59 @@
+package com.findoraai.giftfinder.notifications.push;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the application's database; tickets of user IDs no real user has are left to expire.
+ */
+@SpringBootTest
+class PushStreamTicketsTests {
+
+    private static final long USER_ID = 1L << 50;
+
+    @Autowired
+    private PushStreamTickets tickets;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ticketIsRedeemedOnlyOnce() {
+        String ticket = tickets.issue(USER_ID);
+
+        assertThat(tickets.redeem(ticket)).contains(USER_ID);
+        assertThat(tickets.redeem(ticket)).isEmpty();
+    }
+
+    @Test
+    void ticketsAreDistinctAndOnlyTheirHashIsStored() {
+        String first = tickets.issue(USER_ID);
+        String second = tickets.issue(USER_ID);
+
+        assertThat(first).isNotEqualTo(second).hasSizeGreaterThanOrEqualTo(43);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM push_stream_tickets WHERE ticket_hash IN (?, ?)",
+            Long.class, first, second)).isZero();
+        tickets.redeem(first);
+        tickets.redeem(second);
+    }
+
+    @Test
+    void expiredTicketIsRejected() throws InterruptedException {
+        PushStreamTickets shortLived = new PushStreamTickets(jdbcTemplate, Duration.ofMillis(100));
+        String ticket = shortLived.issue(USER_ID);
+        Thread.sleep(300);
+
+        assertThat(shortLived.redeem(ticket)).isEmpty();
+    }
+
+    @Test
+    void unknownTicketIsRejected() {
+        assertThat(tickets.redeem("not-a-ticket")).isEmpty();
+    }
+}
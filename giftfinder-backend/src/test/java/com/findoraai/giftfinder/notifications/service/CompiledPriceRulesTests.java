@@ -0,0 +1,104 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledPriceRulesTests {
+
+    @Test
+    void percentDropFiresAtTheThreshold() {
+        CompiledPriceRules rules = new CompiledPriceRules(4, 4);
+        int exact = rules.addProduct(price("100.00"), price("90.00"), null, true, true);
+        int short_ = rules.addProduct(price("100.00"), price("90.01"), null, true, true);
+        int rise = rules.addProduct(price("100.00"), price("120.00"), null, true, true);
+        int first = rules.addProduct(null, price("50.00"), null, true, true);
+        int[] slots = {
+            rules.addRule(exact, PriceAlertRule.RuleType.PERCENT_DROP, price("10.00"), null),
+            rules.addRule(short_, PriceAlertRule.RuleType.PERCENT_DROP, price("10.00"), null),
+            rules.addRule(rise, PriceAlertRule.RuleType.PERCENT_DROP, price("10.00"), null),
+            rules.addRule(first, PriceAlertRule.RuleType.PERCENT_DROP, price("10.00"), null)
+        };
+
+        assertThat(fired(rules)).containsExactly(slots[0]);
+    }
+
+    @Test
+    void targetPriceFiresOnlyWhenCrossed() {
+        CompiledPriceRules rules = new CompiledPriceRules(4, 4);
+        int crossed = rules.addProduct(price("60.00"), price("49.99"), null, true, true);
+        int alreadyBelow = rules.addProduct(price("45.00"), price("40.00"), null, true, true);
+        int restocked = rules.addProduct(price("45.00"), price("45.00"), null, false, true);
+        int soldOut = rules.addProduct(price("60.00"), price("40.00"), null, true, false);
+        int crossedRule = rules.addRule(crossed, PriceAlertRule.RuleType.TARGET_PRICE, null, price("50.00"));
+        rules.addRule(alreadyBelow, PriceAlertRule.RuleType.TARGET_PRICE, null, price("50.00"));
+        int restockedRule = rules.addRule(restocked, PriceAlertRule.RuleType.TARGET_PRICE, null, price("50.00"));
+        rules.addRule(soldOut, PriceAlertRule.RuleType.TARGET_PRICE, null, price("50.00"));
+
+        assertThat(fired(rules)).containsExactly(crossedRule, restockedRule);
+    }
+
+    @Test
+    void allTimeLowNeedsAKnownLowAndAStrictlyLowerPrice() {
+        CompiledPriceRules rules = new CompiledPriceRules(3, 3);
+        int lower = rules.addProduct(price("30.00"), price("19.99"), price("20.00"), true, true);
+        int equal = rules.addProduct(price("30.00"), price("20.00"), price("20.00"), true, true);
+        int unknown = rules.addProduct(null, price("10.00"), null, true, true);
+        int lowerRule = rules.addRule(lower, PriceAlertRule.RuleType.ALL_TIME_LOW, null, null);
+        rules.addRule(equal, PriceAlertRule.RuleType.ALL_TIME_LOW, null, null);
+        rules.addRule(unknown, PriceAlertRule.RuleType.ALL_TIME_LOW, null, null);
+
+        assertThat(fired(rules)).containsExactly(lowerRule);
+    }
+
+    @Test
+    void backInStockFiresOnTheTransitionOnly() {
+        CompiledPriceRules rules = new CompiledPriceRules(3, 3);
+        int restocked = rules.addProduct(price("10.00"), price("10.00"), null, false, true);
+        int stillAvailable = rules.addProduct(price("10.00"), price("10.00"), null, true, true);
+        int soldOut = rules.addProduct(price("10.00"), price("10.00"), null, true, false);
+        int restockedRule = rules.addRule(restocked, PriceAlertRule.RuleType.BACK_IN_STOCK, null, null);
+        rules.addRule(stillAvailable, PriceAlertRule.RuleType.BACK_IN_STOCK, null, null);
+        rules.addRule(soldOut, PriceAlertRule.RuleType.BACK_IN_STOCK, null, null);
+
+        assertThat(fired(rules)).containsExactly(restockedRule);
+    }
+
+    @Test
+    void reportsEveryRuleOfAProductAndGrowsPastItsCapacity() {
+        CompiledPriceRules rules = new CompiledPriceRules(1, 1);
+        for (int i = 0; i < 100; i++) {
+            int product = rules.addProduct(price("100.00"), price("50.00"), price("60.00"), false, true);
+            rules.addRule(product, PriceAlertRule.RuleType.PERCENT_DROP, price("25.00"), null);
+            rules.addRule(product, PriceAlertRule.RuleType.TARGET_PRICE, null, price("55.00"));
+            rules.addRule(product, PriceAlertRule.RuleType.ALL_TIME_LOW, null, null);
+            rules.addRule(product, PriceAlertRule.RuleType.BACK_IN_STOCK, null, null);
+        }
+
+        int[] fired = fired(rules);
+
+        assertThat(fired).hasSize(400);
+        assertThat(rules.productOf(fired[399])).isEqualTo(99);
+        assertThat(rules.typeOf(fired[399])).isEqualTo(PriceAlertRule.RuleType.BACK_IN_STOCK);
+    }
+
+    @Test
+    void convertsPricesToCents() {
+        assertThat(CompiledPriceRules.toCents(price("19.99"))).isEqualTo(1999L);
+        assertThat(CompiledPriceRules.toCents(new BigDecimal("0.005"))).isEqualTo(1L);
+        assertThat(CompiledPriceRules.toCents(null)).isEqualTo(CompiledPriceRules.UNKNOWN);
+    }
+
+    private static int[] fired(CompiledPriceRules rules) {
+        int[] triggered = new int[rules.ruleCount()];
+        return Arrays.copyOf(triggered, rules.evaluate(triggered));
+    }
+
+    private static BigDecimal price(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+}
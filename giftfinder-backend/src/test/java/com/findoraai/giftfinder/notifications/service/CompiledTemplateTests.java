@@ -0,0 +1,99 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledTemplateTests {
+
+    @Test
+    void variablesAreHtmlEscaped() {
+        String rendered = CompiledTemplate.parse("<p>{{name}}</p>")
+            .render(Map.of("name", "<b>Tom & \"Jerry\"'s</b>"));
+
+        assertThat(rendered).isEqualTo("<p>&lt;b&gt;Tom &amp; &quot;Jerry&quot;&#39;s&lt;/b&gt;</p>");
+    }
+
+    @Test
+    void tripleBracesRenderRaw() {
+        String rendered = CompiledTemplate.parse("<p>{{{html}}}</p>").render(Map.of("html", "<b>bold</b>"));
+
+        assertThat(rendered).isEqualTo("<p><b>bold</b></p>");
+    }
+
+    @Test
+    void missingVariablesAndCommentsRenderAsNothing() {
+        String rendered = CompiledTemplate.parse("Hi {{name}}{{! not shown }}!").render(Map.of());
+
+        assertThat(rendered).isEqualTo("Hi !");
+    }
+
+    @Test
+    void sectionRendersOnlyWhenItsValueIsPresent() {
+        CompiledTemplate template = CompiledTemplate.parse("{{#note}}Note: {{note}}{{/note}}");
+
+        assertThat(template.render(Map.of("note", "wrap it"))).isEqualTo("Note: wrap it");
+        assertThat(template.render(Map.of("note", ""))).isEmpty();
+        assertThat(template.render(Map.of("note", false))).isEmpty();
+        assertThat(template.render(Map.of("note", List.of()))).isEmpty();
+        assertThat(template.render(Map.of())).isEmpty();
+    }
+
+    @Test
+    void invertedSectionRendersOnlyWhenItsValueIsAbsent() {
+        CompiledTemplate template = CompiledTemplate.parse("{{^gifts}}No ideas yet{{/gifts}}");
+
+        assertThat(template.render(Map.of())).isEqualTo("No ideas yet");
+        assertThat(template.render(Map.of("gifts", List.of()))).isEqualTo("No ideas yet");
+        assertThat(template.render(Map.of("gifts", List.of("book")))).isEmpty();
+    }
+
+    @Test
+    void nestedSectionsRenderIndependently() {
+        CompiledTemplate template = CompiledTemplate.parse(
+            "{{#date}}{{date}}{{#recipient}} for {{recipient}}{{/recipient}}{{^recipient}} (no one){{/recipient}}{{/date}}");
+
+        assertThat(template.render(Map.of("date", "Birthday", "recipient", "Ann"))).isEqualTo("Birthday for Ann");
+        assertThat(template.render(Map.of("date", "Birthday"))).isEqualTo("Birthday (no one)");
+        assertThat(template.render(Map.of("recipient", "Ann"))).isEmpty();
+    }
+
+    @Test
+    void renderingIntoABufferAppends() {
+        StringBuilder out = new StringBuilder("Subject: ");
+
+        CompiledTemplate.parse("{{title}}").render(Map.of("title", "Reminder"), out);
+
+        assertThat(out).hasToString("Subject: Reminder");
+    }
+
+    @Test
+    void unclosedTagIsRejected() {
+        assertThatThrownBy(() -> CompiledTemplate.parse("Hi {{name"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unclosed tag");
+        assertThatThrownBy(() -> CompiledTemplate.parse("Hi {{{name}}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unclosed tag");
+    }
+
+    @Test
+    void unclosedSectionIsRejected() {
+        assertThatThrownBy(() -> CompiledTemplate.parse("{{#note}}Note"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unclosed section {{#note}}");
+    }
+
+    @Test
+    void mismatchedSectionEndIsRejected() {
+        assertThatThrownBy(() -> CompiledTemplate.parse("{{#a}}{{#b}}{{/a}}{{/b}}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unexpected {{/a}}");
+        assertThatThrownBy(() -> CompiledTemplate.parse("{{/a}}"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
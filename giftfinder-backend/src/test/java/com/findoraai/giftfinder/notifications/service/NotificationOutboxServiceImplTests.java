@@ -0,0 +1,176 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.repository.UserRepository;
+import com.findoraai.giftfinder.notifications.model.NotificationLog;
+import com.findoraai.giftfinder.notifications.model.OutboxMessage;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.repository.OutboxMessageRepository;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxServiceImplTests {
+
+    private final OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+    private final ReminderRepository reminderRepository = mock(ReminderRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final NotificationDigestService digestService = mock(NotificationDigestService.class);
+    private final NotificationOutboxServiceImpl service = new NotificationOutboxServiceImpl(
+        outboxMessageRepository, reminderRepository, userRepository, notificationService, digestService);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "maxAttempts", 8);
+        ReflectionTestUtils.setField(service, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofHours(1));
+        when(outboxMessageRepository.markDead(anyLong(), anyInt(), anyString(), any())).thenReturn(1);
+    }
+
+    @Test
+    void firstFailureRetriesWithinTheInitialBackoff() {
+        Duration delay = retryDelay(reminderMessage(1));
+
+        assertThat(delay).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(31));
+    }
+
+    @Test
+    void backoffDoublesWithEveryAttempt() {
+        Duration delay = retryDelay(reminderMessage(3));
+
+        assertThat(delay).isBetween(Duration.ofSeconds(60), Duration.ofSeconds(121));
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofMinutes(10));
+
+        Duration delay = retryDelay(reminderMessage(7));
+
+        assertThat(delay).isBetween(Duration.ofMinutes(5), Duration.ofMinutes(10).plusSeconds(1));
+    }
+
+    @Test
+    void retriesAreJittered() {
+        long distinct = IntStream.range(0, 20)
+            .mapToObj(i -> retryDelay(reminderMessage(5)).toMillis() / 1000)
+            .distinct()
+            .count();
+
+        assertThat(distinct).isGreaterThan(1);
+    }
+
+    @Test
+    void messageIsDeadOnceItsAttemptsAreUsedUp() {
+        OutboxMessage message = reminderMessage(8);
+
+        service.recordFailure(message, new RuntimeException("SMTP unavailable"));
+
+        verify(outboxMessageRepository).markDead(eq(message.getId()), eq(8), eq("SMTP unavailable"), any());
+        verify(outboxMessageRepository, never()).scheduleRetry(anyLong(), anyInt(), any(), anyString(), any());
+        verify(reminderRepository).transition(eq(message.getReminderId()),
+            eq(Reminder.ReminderStatus.SENDING), eq(Reminder.ReminderStatus.FAILED), any());
+        verify(notificationService).logNotification(any(), eq(NotificationLog.NotificationType.REMINDER),
+            eq("reminder-5-7"), eq(Reminder.NotificationChannel.EMAIL), eq("user@example.com"),
+            eq(NotificationLog.NotificationStatus.FAILED), eq("SMTP unavailable"));
+    }
+
+    @Test
+    void permanentFailureIsDeadOnTheFirstAttempt() {
+        OutboxMessage message = reminderMessage(1);
+
+        service.recordFailure(message, new IllegalArgumentException("Invalid recipient"));
+
+        verify(outboxMessageRepository).markDead(eq(message.getId()), eq(1), eq("Invalid recipient"), any());
+        verify(outboxMessageRepository, never()).scheduleRetry(anyLong(), anyInt(), any(), anyString(), any());
+    }
+
+    @Test
+    void deadMessageWhoseLeaseWasLostLeavesItsReminderAlone() {
+        OutboxMessage message = reminderMessage(8);
+        when(outboxMessageRepository.markDead(anyLong(), anyInt(), anyString(), any())).thenReturn(0);
+
+        service.recordFailure(message, new RuntimeException("SMTP unavailable"));
+
+        verifyNoInteractions(reminderRepository, notificationService);
+    }
+
+    @Test
+    void deadDigestIsHandedToTheDigestService() {
+        OutboxMessage message = OutboxMessage.builder()
+            .id(2L)
+            .userId(1L)
+            .notificationType(NotificationLog.NotificationType.DIGEST)
+            .channel(Reminder.NotificationChannel.EMAIL)
+            .attempts(8)
+            .build();
+
+        service.recordFailure(message, new RuntimeException("SMTP unavailable"));
+
+        verify(digestService).recordDead(eq(message), eq("SMTP unavailable"), any());
+        verifyNoInteractions(reminderRepository, notificationService);
+    }
+
+    @Test
+    void reroutedMessageMovesToTheFallbackChannelWithoutUsingAnAttempt() {
+        OutboxMessage message = reminderMessage(8);
+
+        service.recordRerouted(message, Reminder.NotificationChannel.EMAIL);
+
+        verify(outboxMessageRepository).reroute(eq(message.getId()), eq(8), eq(Reminder.NotificationChannel.EMAIL), any());
+        verifyNoInteractions(reminderRepository, notificationService);
+    }
+
+    @Test
+    void failureWithoutMessageRecordsTheExceptionType() {
+        OutboxMessage message = reminderMessage(8);
+
+        service.recordFailure(message, new IllegalStateException());
+
+        verify(outboxMessageRepository).markDead(eq(message.getId()), eq(8), eq("IllegalStateException"), any());
+    }
+
+    private Duration retryDelay(OutboxMessage message) {
+        LocalDateTime before = LocalDateTime.now();
+        service.recordFailure(message, new RuntimeException("SMTP unavailable"));
+
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxMessageRepository, atLeastOnce()).scheduleRetry(
+            eq(message.getId()), eq(message.getAttempts()), nextAttemptAt.capture(), eq("SMTP unavailable"), any());
+        verify(outboxMessageRepository, never()).markDead(anyLong(), anyInt(), anyString(), any());
+        return Duration.between(before, nextAttemptAt.getValue());
+    }
+
+    private static OutboxMessage reminderMessage(int attempts) {
+        return OutboxMessage.builder()
+            .id(1L)
+            .userId(1L)
+            .reminderId(3L)
+            .notificationType(NotificationLog.NotificationType.REMINDER)
+            .referenceId("reminder-5-7")
+            .channel(Reminder.NotificationChannel.EMAIL)
+            .recipient("user@example.com")
+            .attempts(attempts)
+            .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.event.PriceAlertTriggeredEvent;
+import com.findoraai.giftfinder.notifications.model.PriceAlertRule;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.push.PushBus;
+import com.findoraai.giftfinder.notifications.push.PushEvent;
+import com.findoraai.giftfinder.notifications.repository.PriceAlertRuleRepository;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceAlertNotifierTests {
+
+    private final SavedProductRepository savedProductRepository = mock(SavedProductRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final PushBus pushBus = mock(PushBus.class);
+    private final PriceAlertNotifier notifier = new PriceAlertNotifier(savedProductRepository, notificationService, pushBus);
+
+    private final User user = User.builder().id(1L).email("user@example.com").build();
+    private final SavedProduct product = SavedProduct.builder()
+        .id(10L).user(user).productId("B0042").title("Headphones").currency("USD")
+        .currentPrice(new BigDecimal("80.00")).priceDropThresholdPercent(new BigDecimal("10.00"))
+        .priceTrackingEnabled(true).build();
+
+    @BeforeEach
+    void setUp() {
+        when(savedProductRepository.findById(10L)).thenReturn(Optional.of(product));
+        when(notificationService.queuePriceDropNotification(any(), any(), any(), any(), any(), any(), any(),
+            any(), any(), any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void percentDropKeepsItsHistoricalWordingAndReference() {
+        notifier.onPriceAlert(event(EnumSet.of(PriceAlertRule.RuleType.PERCENT_DROP), "100.00", "80.00", null));
+
+        verify(notificationService).queuePriceDropNotification(eq(user), eq("price-drop-B0042"),
+            eq("Price Drop Alert"), eq("Great news! A product you've been watching has dropped in price by 20.00%."),
+            eq("Headphones"), any(), any(), eq("100.00"), eq("80.00"), eq("USD"), eq("20.00"), eq("20.00"));
+    }
+
+    @Test
+    void backInStockAtTheSamePriceShowsNoSavings() {
+        notifier.onPriceAlert(event(EnumSet.of(PriceAlertRule.RuleType.BACK_IN_STOCK), "80.00", "80.00", null));
+
+        verify(notificationService).queuePriceDropNotification(eq(user), eq("price-alert-B0042-back_in_stock"),
+            eq("Back in Stock"), eq("Great news! A product you've been watching is back in stock."),
+            eq("Headphones"), any(), any(), eq("80.00"), eq("80.00"), eq("USD"), isNull(), isNull());
+        ArgumentCaptor<PushEvent> push = ArgumentCaptor.forClass(PushEvent.class);
+        verify(pushBus).publish(eq(1L), push.capture());
+        assertThat(push.getValue().title()).isEqualTo("Back in Stock: Headphones");
+        assertThat(push.getValue().message()).isEqualTo("Now 80.00 USD");
+    }
+
+    @Test
+    void rulesFiringTogetherMakeOneNotificationHeadedByTheMostNotable() {
+        notifier.onPriceAlert(event(EnumSet.of(PriceAlertRule.RuleType.PERCENT_DROP,
+            PriceAlertRule.RuleType.TARGET_PRICE, PriceAlertRule.RuleType.ALL_TIME_LOW), "100.00", "80.00", "85.00"));
+
+        verify(notificationService).queuePriceDropNotification(eq(user), eq("price-alert-B0042-all_time_low"),
+            eq("All-Time Low Price"),
+            eq("Great news! A product you've been watching is at its lowest price ever, has reached your "
+                + "target price of 85.00 USD and has dropped in price by 20.00%."),
+            any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void skipsAlertsSentInTheLastDay() {
+        when(notificationService.wasRecentlySent(any(), any(), eq("price-drop-B0042"), any())).thenReturn(true);
+
+        notifier.onPriceAlert(event(EnumSet.of(PriceAlertRule.RuleType.PERCENT_DROP), "100.00", "80.00", null));
+
+        verify(notificationService, never()).queuePriceDropNotification(any(), any(), any(), any(), any(), any(),
+            any(), any(), any(), any(), any(), any());
+        verify(pushBus, never()).publish(any(), any());
+    }
+
+    @Test
+    void ruleEngineMergesTheRulesOfAProduct() {
+        PriceAlertRuleRepository ruleRepository = mock(PriceAlertRuleRepository.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        when(ruleRepository.findBySavedProductInAndEnabled(any(), anyBoolean())).thenReturn(List.of(
+            PriceAlertRule.builder().savedProduct(product).type(PriceAlertRule.RuleType.TARGET_PRICE)
+                .targetPrice(new BigDecimal("90.00")).build(),
+            PriceAlertRule.builder().savedProduct(product).type(PriceAlertRule.RuleType.TARGET_PRICE)
+                .targetPrice(new BigDecimal("85.00")).build()));
+        PriceAlertRuleEngine engine = new PriceAlertRuleEngine(ruleRepository, publisher);
+
+        List<PriceAlertTriggeredEvent> events = engine.evaluate(List.of(new PriceAlertRuleEngine.Observation(
+            product, new BigDecimal("100.00"), new BigDecimal("80.00"), new BigDecimal("95.00"), true, true)));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).ruleTypes()).containsExactlyInAnyOrder(
+            PriceAlertRule.RuleType.TARGET_PRICE, PriceAlertRule.RuleType.PERCENT_DROP);
+        assertThat(events.get(0).targetPrice()).isEqualByComparingTo("85.00");
+        verify(publisher).publishEvent(events.get(0));
+    }
+
+    private static PriceAlertTriggeredEvent event(EnumSet<PriceAlertRule.RuleType> types, String previous,
+                                                  String current, String target) {
+        return new PriceAlertTriggeredEvent(10L, types, new BigDecimal(previous), new BigDecimal(current),
+            target != null ? new BigDecimal(target) : null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.dto.PriceHistoryChartResponse;
+import com.findoraai.giftfinder.notifications.dto.PricePointResponse;
+import com.findoraai.giftfinder.notifications.model.SavedProduct;
+import com.findoraai.giftfinder.notifications.repository.PriceHistoryRepository;
+import com.findoraai.giftfinder.notifications.repository.SavedProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceChartServiceImplTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final SavedProductRepository savedProductRepository = mock(SavedProductRepository.class);
+    private final PriceHistoryRepository priceHistoryRepository = mock(PriceHistoryRepository.class);
+    private final PriceChartServiceImpl service = new PriceChartServiceImpl(savedProductRepository, priceHistoryRepository);
+
+    private final User owner = User.builder().id(1L).email("owner@example.com").build();
+    private final SavedProduct product = SavedProduct.builder().id(10L).user(owner).currency("USD").build();
+
+    @BeforeEach
+    void setUp() {
+        when(savedProductRepository.findById(10L)).thenReturn(Optional.of(product));
+    }
+
+    @Test
+    void returnsAllPointsWhenThereAreNoMoreThanRequested() {
+        List<PricePointResponse> history = flatHistory(5, 20.0);
+        givenHistory(history);
+
+        PriceHistoryChartResponse chart = service.getPriceHistory(10L, owner, 5, START, END);
+
+        assertThat(chart.totalPoints()).isEqualTo(5);
+        assertThat(chart.points()).isEqualTo(history);
+    }
+
+    @Test
+    void openRangeIsReturnedWithTheBoundsThatWereQueried() {
+        givenHistory(flatHistory(3, 20.0));
+
+        PriceHistoryChartResponse chart = service.getPriceHistory(10L, owner, 5, null, END);
+
+        assertThat(chart.from()).isEqualTo(LocalDateTime.of(1970, 1, 1, 0, 0));
+        assertThat(chart.to()).isEqualTo(END);
+    }
+
+    @Test
+    void downsamplesToTheRequestedNumberOfPointsKeepingFirstAndLast() {
+        List<PricePointResponse> history = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            history.add(point(i, 50 + 10 * Math.sin(i / 20.0)));
+        }
+        givenHistory(history);
+
+        List<PricePointResponse> points = service.getPriceHistory(10L, owner, 50, START, END).points();
+
+        assertThat(points).hasSize(50);
+        assertThat(points.get(0)).isEqualTo(history.get(0));
+        assertThat(points.get(49)).isEqualTo(history.get(999));
+        assertThat(points).isSortedAccordingTo((a, b) -> a.checkedAt().compareTo(b.checkedAt()));
+        assertThat(history).containsAll(points);
+    }
+
+    @Test
+    void keepsIsolatedSpikesAndDips() {
+        List<PricePointResponse> history = new ArrayList<>(flatHistory(500, 30.0));
+        history.set(123, point(123, 90.0));
+        history.set(377, point(377, 5.0));
+        givenHistory(history);
+
+        List<PricePointResponse> points = service.getPriceHistory(10L, owner, 20, START, END).points();
+
+        assertThat(points).hasSize(20).contains(history.get(123), history.get(377));
+    }
+
+    @Test
+    void rejectsPointCountsOutOfRange() {
+        assertThatThrownBy(() -> service.getPriceHistory(10L, owner, 2, START, END))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getPriceHistory(10L, owner, 2001, START, END))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsProductsOfOtherUsers() {
+        User other = User.builder().id(2L).email("other@example.com").build();
+
+        assertThatThrownBy(() -> service.getPriceHistory(10L, other, 50, START, END))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Saved product does not belong to user");
+    }
+
+    private void givenHistory(List<PricePointResponse> history) {
+        when(priceHistoryRepository.countByProductBetween(eq(product), any(), any())).thenReturn((long) history.size());
+        // Each pass opens a new stream
+        when(priceHistoryRepository.streamPointsBetween(eq(product), any(), any()))
+            .thenAnswer(invocation -> history.stream());
+    }
+
+    private static List<PricePointResponse> flatHistory(int size, double price) {
+        List<PricePointResponse> history = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            history.add(point(i, price));
+        }
+        return history;
+    }
+
+    private static PricePointResponse point(int hour, double price) {
+        return new PricePointResponse(START.plusHours(hour), BigDecimal.valueOf(price));
+    }
+}
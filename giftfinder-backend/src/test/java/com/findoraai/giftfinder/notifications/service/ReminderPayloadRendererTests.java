@@ -0,0 +1,117 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.notifications.model.ImportantDate;
+import com.findoraai.giftfinder.notifications.model.Recipient;
+import com.findoraai.giftfinder.notifications.model.Reminder;
+import com.findoraai.giftfinder.notifications.model.ReminderPayload;
+import com.findoraai.giftfinder.notifications.repository.ReminderPayloadRepository;
+import com.findoraai.giftfinder.notifications.repository.ReminderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderPayloadRendererTests {
+
+    private static final int RENDER_VERSION = 42;
+
+    private final ReminderRepository reminderRepository = mock(ReminderRepository.class);
+    private final ReminderPayloadRepository payloadRepository = mock(ReminderPayloadRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final ReminderPayloadRenderer renderer =
+        new ReminderPayloadRenderer(reminderRepository, payloadRepository, notificationService);
+
+    private User user;
+    private Recipient recipient;
+    private ImportantDate date;
+    private Reminder reminder;
+    private ReminderPayload payload;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("ann@example.com").name("Ann").build();
+        recipient = Recipient.builder().id(2L).user(user).name("Bob").build();
+        date = ImportantDate.builder().id(3L).user(user).recipient(recipient).name("Bob's birthday")
+            .date(LocalDate.of(2026, 11, 20)).build();
+        reminder = Reminder.builder().id(4L).user(user).importantDate(date)
+            .scheduledDate(LocalDate.of(2026, 11, 13)).daysBefore(7).build();
+
+        when(notificationService.getReminderRenderVersion()).thenReturn(RENDER_VERSION);
+        when(notificationService.renderReminderNotification(any(), anyString(), anyString(), anyInt(), any()))
+            .thenReturn(new NotificationService.RenderedNotification("ann@example.com", "Reminder", "body", "fragment"));
+        when(payloadRepository.findUnrenderedReminderIds(any(), eq(RENDER_VERSION), anyInt())).thenReturn(List.of(4L));
+        when(reminderRepository.findWithDetailsByIdIn(List.of(4L))).thenReturn(List.of(reminder));
+        payload = renderPayload();
+    }
+
+    @Test
+    void payloadOfUnchangedReminderIsUsed() {
+        assertThat(renderer.fromPayload(payload, reminder, 7)).hasValueSatisfying(rendered -> {
+            assertThat(rendered.body()).isEqualTo("body");
+            assertThat(rendered.fragment()).isEqualTo("fragment");
+        });
+    }
+
+    @Test
+    void payloadForAnotherDayIsNotUsed() {
+        assertThat(renderer.fromPayload(payload, reminder, 6)).isEmpty();
+    }
+
+    @Test
+    void payloadOfAnOlderRenderVersionIsNotUsed() {
+        when(notificationService.getReminderRenderVersion()).thenReturn(RENDER_VERSION + 1);
+
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+    }
+
+    @Test
+    void payloadIsNotUsedOnceTheUserChanged() {
+        user.setEmail("ann@example.org");
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+
+        user.setEmail("ann@example.com");
+        user.setName("Annie");
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+    }
+
+    @Test
+    void payloadIsNotUsedOnceTheDateOrRecipientChanged() {
+        date.setName("Bob's 40th");
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+
+        date.setName("Bob's birthday");
+        recipient.setName("Robert");
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+
+        recipient.setName("Bob");
+        date.setRecipient(null);
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+    }
+
+    @Test
+    void payloadWithoutSourceHashIsNotUsed() {
+        payload.setSourceHash(null);
+
+        assertThat(renderer.fromPayload(payload, reminder, 7)).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReminderPayload renderPayload() {
+        assertThat(renderer.renderDue(LocalDate.of(2026, 11, 13), 10)).isEqualTo(1);
+        ArgumentCaptor<List<ReminderPayload>> saved = ArgumentCaptor.forClass(List.class);
+        verify(payloadRepository).saveAll(saved.capture());
+        return saved.getValue().getFirst();
+    }
+}
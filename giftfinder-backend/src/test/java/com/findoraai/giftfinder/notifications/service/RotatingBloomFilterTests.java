@@ -0,0 +1,104 @@
+package com.findoraai.giftfinder.notifications.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RotatingBloomFilterTests {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long BUCKET = 6 * HOUR;
+    private static final long WINDOW = 24 * HOUR;
+    private static final long START = 1_000 * BUCKET;
+
+    private final RotatingBloomFilter filter = new RotatingBloomFilter(BUCKET, WINDOW, 1_000, 0.01);
+
+    @Test
+    void keysAddedWithinTheWindowAreFoundAcrossRotations() {
+        // One key an hour for three days, each checked until it leaves the window
+        for (int hour = 0; hour < 72; hour++) {
+            long now = START + hour * HOUR;
+            filter.add("key-" + hour, now, now);
+            for (int earlier = Math.max(0, hour - 24); earlier <= hour; earlier++) {
+                assertThat(filter.mightContain("key-" + earlier, now))
+                    .as("key-%d at hour %d", earlier, hour)
+                    .isTrue();
+            }
+        }
+    }
+
+    @Test
+    void keysExpireOnceTheirBucketLeavesTheWindow() {
+        filter.add("expiring", START, START);
+
+        assertThat(filter.mightContain("expiring", START + WINDOW + BUCKET - 1)).isTrue();
+        assertThat(filter.mightContain("expiring", START + WINDOW + BUCKET)).isFalse();
+    }
+
+    @Test
+    void lateKeysInsideTheWindowAreFound() {
+        long now = START + WINDOW;
+        filter.add("late", START + 1, now);
+
+        assertThat(filter.mightContain("late", now)).isTrue();
+    }
+
+    @Test
+    void keysOlderThanTheWindowAreIgnored() {
+        long now = START + 2 * WINDOW;
+        filter.add("ancient", START, now);
+
+        assertThat(filter.mightContain("ancient", now)).isFalse();
+        assertThat(filter.entryCount()).isZero();
+    }
+
+    @Test
+    void burstBeyondTheExpectedSizeKeepsEveryKeyAndTheFalsePositiveRate() {
+        IntStream.range(0, 10_000).forEach(i -> filter.add("burst-" + i, START, START));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("burst-" + i, START))).isTrue();
+        long falsePositives = IntStream.range(0, 100_000)
+            .filter(i -> filter.mightContain("absent-" + i, START))
+            .count();
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void concurrentAddsAreAllFound() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 5_000;
+                executor.submit(() -> IntStream.range(offset, offset + 5_000)
+                    .forEach(i -> filter.add("concurrent-" + i, START, START)));
+            }
+        }
+
+        assertThat(IntStream.range(0, 40_000).allMatch(i -> filter.mightContain("concurrent-" + i, START))).isTrue();
+    }
+
+    @Test
+    void clearForgetsEveryKey() {
+        filter.add("cleared", START, START);
+
+        filter.clear();
+
+        assertThat(filter.mightContain("cleared", START)).isFalse();
+        assertThat(filter.memoryBytes()).isZero();
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThatThrownBy(() -> new RotatingBloomFilter(0, WINDOW, 1_000, 0.01))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RotatingBloomFilter(BUCKET, BUCKET - 1, 1_000, 0.01))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RotatingBloomFilter(BUCKET, WINDOW, 1_000, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
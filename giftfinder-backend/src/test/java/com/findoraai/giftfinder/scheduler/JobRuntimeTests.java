@@ -0,0 +1,200 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import com.findoraai.giftfinder.scheduler.repository.JobRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobRuntimeTests {
+
+    private static final String JOB = "testJob";
+    private static final String YEARLY = "0 0 0 1 1 *";
+    private static final String EVERY_SECOND = "* * * * * *";
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final JobRunRepository jobRunRepository = mock(JobRunRepository.class);
+    private final JobRuntime runtime = new JobRuntime(environment, jobRunRepository);
+
+    JobRuntimeTests() {
+        environment.setConversionService(new ApplicationConversionService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Test
+    void skipOverlapDropsTriggersWhileRunning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(runtime.trigger(JOB, blocking(started, release, runs))).isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runtime.trigger(JOB, runs::incrementAndGet)).isFalse();
+        release.countDown();
+        awaitFinished(1);
+
+        assertThat(runs).hasValue(1);
+        assertThat(stats().skippedOverlap()).isEqualTo(1);
+    }
+
+    @Test
+    void queueOverlapKeepsUpToMaxQueuedTriggers() throws Exception {
+        environment.setProperty("scheduler.jobs." + JOB + ".overlap", "QUEUE");
+        environment.setProperty("scheduler.jobs." + JOB + ".max-queued", "1");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(runtime.trigger(JOB, blocking(started, release, runs))).isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runtime.trigger(JOB, runs::incrementAndGet)).isTrue();
+        assertThat(runtime.trigger(JOB, runs::incrementAndGet)).isFalse();
+        release.countDown();
+        awaitFinished(2);
+
+        assertThat(runs).hasValue(2);
+        assertThat(stats().skippedOverlap()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedRunPastTheMisfireThresholdIsSkipped() throws Exception {
+        environment.setProperty("scheduler.jobs." + JOB + ".overlap", "QUEUE");
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire", "SKIP");
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire-threshold", "50ms");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        runtime.trigger(JOB, blocking(started, release, runs));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        runtime.trigger(JOB, runs::incrementAndGet);
+        Thread.sleep(200);
+        release.countDown();
+        awaitQueueDrained();
+
+        assertThat(runs).hasValue(1);
+        assertThat(stats().skippedMisfire()).isEqualTo(1);
+    }
+
+    @Test
+    void queuedRunPastTheMisfireThresholdRunsLateByDefault() throws Exception {
+        environment.setProperty("scheduler.jobs." + JOB + ".overlap", "QUEUE");
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire-threshold", "50ms");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        runtime.trigger(JOB, blocking(started, release, runs));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        runtime.trigger(JOB, runs::incrementAndGet);
+        Thread.sleep(200);
+        release.countDown();
+        awaitFinished(2);
+
+        assertThat(runs).hasValue(2);
+        assertThat(stats().ranLate()).isEqualTo(1);
+    }
+
+    @Test
+    void missedCronRunIsTriggeredLateOnStartup() throws Exception {
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire-threshold", "1s");
+        lastRunStartedAt(LocalDateTime.now().minusYears(2));
+        CountDownLatch ran = new CountDownLatch(1);
+
+        runtime.triggerIfMissed(JOB, YEARLY, ran::countDown);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stats().ranLate()).isEqualTo(1);
+    }
+
+    @Test
+    void missedCronRunPastTheMisfireThresholdIsSkippedWithSkipPolicy() {
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire", "SKIP");
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire-threshold", "1s");
+        lastRunStartedAt(LocalDateTime.now().minusYears(2));
+        AtomicInteger runs = new AtomicInteger();
+
+        runtime.triggerIfMissed(JOB, YEARLY, runs::incrementAndGet);
+
+        assertThat(runs).hasValue(0);
+        assertThat(stats().skippedMisfire()).isEqualTo(1);
+    }
+
+    @Test
+    void runMissedWithinTheMisfireThresholdRunsDespiteSkipPolicy() throws Exception {
+        environment.setProperty("scheduler.jobs." + JOB + ".misfire", "SKIP");
+        // Many fire times were missed, but the latest only just now
+        lastRunStartedAt(LocalDateTime.now().minusHours(1));
+        CountDownLatch ran = new CountDownLatch(1);
+
+        runtime.triggerIfMissed(JOB, EVERY_SECOND, ran::countDown);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stats().skippedMisfire()).isZero();
+        assertThat(stats().ranLate()).isZero();
+    }
+
+    @Test
+    void nothingIsTriggeredWhenNoFireTimeWasMissed() {
+        lastRunStartedAt(LocalDateTime.now().minusSeconds(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        runtime.triggerIfMissed(JOB, YEARLY, runs::incrementAndGet);
+
+        assertThat(runs).hasValue(0);
+        assertThat(stats().triggered()).isZero();
+    }
+
+    private void lastRunStartedAt(LocalDateTime startedAt) {
+        when(jobRunRepository.findFirstByJobNameOrderByStartedAtDesc(JOB))
+            .thenReturn(Optional.of(JobRun.builder().jobName(JOB).startedAt(startedAt).build()));
+    }
+
+    private static Runnable blocking(CountDownLatch started, CountDownLatch release, AtomicInteger runs) {
+        return () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private JobRuntime.JobStats stats() {
+        return runtime.getStats().stream()
+            .filter(stats -> stats.jobName().equals(JOB))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private void awaitFinished(long runs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stats().completed() < runs && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitQueueDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((stats().queued() > 0 || stats().running() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
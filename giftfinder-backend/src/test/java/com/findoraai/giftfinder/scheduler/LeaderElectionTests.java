@@ -0,0 +1,74 @@
+package com.findoraai.giftfinder.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LeaderElectionTests {
+
+    @AfterEach
+    void tearDown() {
+        LeaderElection.exitLeadership();
+    }
+
+    @Test
+    void lockKeyIsStableAcrossCalls() {
+        assertThat(LeaderElection.lockKey("NotificationDigestJob.flushDue"))
+            .isEqualTo(LeaderElection.lockKey("NotificationDigestJob.flushDue"));
+    }
+
+    @Test
+    void namesWithTheSameHashCodeGetDistinctLockKeys() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        assertThat(LeaderElection.lockKey("Aa")).isNotEqualTo(LeaderElection.lockKey("BB"));
+    }
+
+    @Test
+    void fencingCheckIsSkippedOutsideSingletonJobs() throws Exception {
+        Connection connection = mock(Connection.class);
+
+        LeaderElection.checkFencingToken(connection);
+
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void currentTokenPassesTheFencingCheck() throws Exception {
+        Connection connection = leaseQuery(true);
+        LeaderElection.enterLeadership("CheckpointedJobRunner.deleteOldRuns", 7L);
+
+        assertThatCode(() -> LeaderElection.checkFencingToken(connection)).doesNotThrowAnyException();
+        assertThat(LeaderElection.currentFencingToken()).hasValue(7L);
+    }
+
+    @Test
+    void supersededTokenFailsTheFencingCheck() throws Exception {
+        Connection connection = leaseQuery(false);
+        LeaderElection.enterLeadership("CheckpointedJobRunner.deleteOldRuns", 7L);
+
+        assertThatThrownBy(() -> LeaderElection.checkFencingToken(connection))
+            .isInstanceOf(LeadershipLostException.class)
+            .hasMessageContaining("CheckpointedJobRunner.deleteOldRuns");
+    }
+
+    private static Connection leaseQuery(boolean current) throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(current);
+        return connection;
+    }
+}
@@ -0,0 +1,70 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.channel.ChannelDispatcher;
+import com.findoraai.giftfinder.notifications.service.NotificationOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxJobTests {
+
+    private final NotificationOutboxService outboxService = mock(NotificationOutboxService.class);
+    private final LeaderElection leaderElection = mock(LeaderElection.class);
+    private final NotificationOutboxJob job = new NotificationOutboxJob(outboxService, mock(ChannelDispatcher.class),
+        mock(JobRuntime.class), leaderElection, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(job, "retention", Period.ofDays(7));
+        ReflectionTestUtils.setField(job, "cleanupBatchSize", 100);
+    }
+
+    @Test
+    void sentMessagesAreDeletedInBatchesUntilAShortOne() {
+        when(outboxService.deleteSentBefore(any(), eq(100))).thenReturn(100, 100, 42);
+
+        job.deleteSentMessages();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxService, times(3)).deleteSentBefore(cutoff.capture(), eq(100));
+        verify(leaderElection, times(3)).checkFencingToken();
+        assertThat(cutoff.getAllValues()).containsOnly(cutoff.getValue());
+        assertThat(cutoff.getValue()).isBetween(
+            LocalDateTime.now().minusDays(7).minusMinutes(1), LocalDateTime.now().minusDays(7));
+    }
+
+    @Test
+    void replacedLeaderStopsDeleting() {
+        when(outboxService.deleteSentBefore(any(), eq(100))).thenReturn(100);
+        doNothing().doThrow(new LeadershipLostException("outbox", 1)).when(leaderElection).checkFencingToken();
+
+        job.deleteSentMessages();
+
+        verify(outboxService, times(1)).deleteSentBefore(any(), eq(100));
+    }
+
+    @Test
+    void nothingIsDeletedWithoutTheFencingToken() {
+        doThrow(new LeadershipLostException("outbox", 1)).when(leaderElection).checkFencingToken();
+
+        job.deleteSentMessages();
+
+        verifyNoInteractions(outboxService);
+    }
+}
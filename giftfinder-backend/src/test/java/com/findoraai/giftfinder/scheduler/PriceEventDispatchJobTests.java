@@ -0,0 +1,59 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.notifications.service.PriceChangeEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceEventDispatchJobTests {
+
+    private final PriceChangeEventService eventService = mock(PriceChangeEventService.class);
+    private final LeaderElection leaderElection = mock(LeaderElection.class);
+    private final PriceEventDispatchJob job = new PriceEventDispatchJob(eventService, List.of(),
+        mock(JobRuntime.class), leaderElection, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(job, "retention", Period.ofDays(30));
+        ReflectionTestUtils.setField(job, "cleanupBatchSize", 500);
+    }
+
+    @Test
+    void consumedEventsAreDeletedInBatchesUntilAShortOne() {
+        when(eventService.deleteConsumedBefore(any(), eq(500))).thenReturn(500, 0);
+
+        job.deleteConsumedEvents();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(eventService, times(2)).deleteConsumedBefore(cutoff.capture(), eq(500));
+        verify(leaderElection, times(2)).checkFencingToken();
+        assertThat(cutoff.getValue()).isBetween(
+            LocalDateTime.now().minusDays(30).minusMinutes(1), LocalDateTime.now().minusDays(30));
+    }
+
+    @Test
+    void replacedLeaderStopsDeleting() {
+        when(eventService.deleteConsumedBefore(any(), eq(500))).thenReturn(500);
+        doNothing().doNothing().doThrow(new LeadershipLostException("priceEvents", 1))
+            .when(leaderElection).checkFencingToken();
+
+        job.deleteConsumedEvents();
+
+        verify(eventService, times(2)).deleteConsumedBefore(any(), eq(500));
+    }
+}
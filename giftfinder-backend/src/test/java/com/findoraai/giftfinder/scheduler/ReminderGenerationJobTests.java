@@ -0,0 +1,125 @@
+package com.findoraai.giftfinder.scheduler;
+
+import com.findoraai.giftfinder.auth.model.User;
+import com.findoraai.giftfinder.auth.repository.UserRepository;
+import com.findoraai.giftfinder.notifications.model.ImportantDate;
+import com.findoraai.giftfinder.notifications.model.NotificationPreferences;
+import com.findoraai.giftfinder.notifications.repository.ImportantDateRepository;
+import com.findoraai.giftfinder.notifications.repository.NotificationPreferencesRepository;
+import com.findoraai.giftfinder.scheduler.model.JobRun;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the application's database; the job's planned units and watermark are reset
+ * before each test, which only makes its next real run plan the whole window again.
+ */
+@SpringBootTest(properties = "scheduler.reminders.cron=0 0 0 1 1 *")
+class ReminderGenerationJobTests {
+
+    @Autowired
+    private ReminderGenerationJob job;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationPreferencesRepository preferencesRepository;
+
+    @Autowired
+    private ImportantDateRepository importantDateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDate today = LocalDate.now();
+    private User user;
+    private ImportantDate date;
+
+    @BeforeEach
+    void setUp() {
+        resetJob();
+        user = userRepository.save(User.builder()
+            .email("generation-" + UUID.randomUUID() + "@example.com")
+            .name("Generation Test")
+            .build());
+        preferencesRepository.save(NotificationPreferences.builder()
+            .user(user)
+            .reminderDaysBefore(List.of(7))
+            .build());
+        date = importantDateRepository.save(ImportantDate.builder()
+            .user(user)
+            .name("Anniversary")
+            .type(ImportantDate.DateType.ANNIVERSARY)
+            .date(today.plusDays(20))
+            .recurring(false)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reminders WHERE user_id = ?", user.getId());
+        importantDateRepository.delete(date);
+        jdbcTemplate.update("DELETE FROM reminder_days_before WHERE preference_id IN " +
+            "(SELECT id FROM notification_preferences WHERE user_id = ?)", user.getId());
+        jdbcTemplate.update("DELETE FROM notification_preferences WHERE user_id = ?", user.getId());
+        userRepository.delete(user);
+        resetJob();
+    }
+
+    @Test
+    void unitsPlannedByAnInterruptedRunAreGeneratedTheNextDay() {
+        // Yesterday's run plans the whole window and dies after its first unit
+        LocalDate yesterday = today.minusDays(1);
+        JobChunkResult first = chunk(run(yesterday, null));
+        assertThat(first.finished()).isFalse();
+        assertThat(remindersOfDate()).isZero();
+
+        // Today's run only plans the newly entered day, but picks up the units left behind too
+        Long cursor = null;
+        JobChunkResult result;
+        do {
+            result = chunk(run(today, cursor));
+            cursor = result.cursor();
+        } while (!result.finished());
+
+        assertThat(remindersOfDate()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM job_work_units WHERE job_name = ? AND status <> 'DONE'",
+            Long.class, job.jobName())).isZero();
+    }
+
+    private JobChunkResult chunk(JobRun run) {
+        return new TransactionTemplate(transactionManager).execute(status -> job.processChunk(run));
+    }
+
+    private static JobRun run(LocalDate businessDate, Long cursor) {
+        return JobRun.builder().businessDate(businessDate).cursor(cursor).build();
+    }
+
+    private long remindersOfDate() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM reminders WHERE important_date_id = ? AND scheduled_date = ?",
+            Long.class, date.getId(), date.getDate().minusDays(7));
+    }
+
+    private void resetJob() {
+        jdbcTemplate.update("DELETE FROM job_work_units WHERE job_name = ?", job.jobName());
+        jdbcTemplate.update("DELETE FROM job_watermarks WHERE job_name = ?", job.jobName());
+    }
+}